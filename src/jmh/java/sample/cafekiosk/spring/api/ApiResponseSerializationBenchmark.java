@@ -0,0 +1,58 @@
+package sample.cafekiosk.spring.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.product.Product;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+/**
+ * 주문 상품 수(items)에 따른 주문 생성 응답(ApiResponse<OrderResponse>) JSON 직렬화 시간.
+ * ObjectMapper 는 스프링 부트와 같은 기본 설정(Jackson2ObjectMapperBuilder)으로 만든다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int items;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<OrderResponse> response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<Product> products = IntStream.range(0, items)
+                .mapToObj(i -> Product.builder()
+                        .productNumber(String.format("%03d", i + 1))
+                        .type(HANDMADE)
+                        .sellingStatus(SELLING)
+                        .name("메뉴 " + i)
+                        .price(1000)
+                        .build())
+                .toList();
+        Order order = Order.create(products, LocalDateTime.of(2023, 3, 1, 10, 0));
+        response = ApiResponse.ok(OrderResponse.of(1L, order));
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+}
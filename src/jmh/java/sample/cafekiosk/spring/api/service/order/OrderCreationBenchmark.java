@@ -0,0 +1,111 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import sample.cafekiosk.spring.CafekioskApplication;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+/**
+ * 주문 상품 수(lineItems)에 따른 주문 생성 시간. (H2 인메모리 DB 에 애플리케이션 컨텍스트를 띄워서 측정)
+ *
+ * 재고 차감 쿼리가 섞이지 않도록 재고가 없는 HANDMADE 상품으로만 주문한다.
+ * 반복(iteration)이 끝날 때마다 주문 1건당 실행된 JDBC statement 수와 INSERT 된 엔티티 수를 출력한다.
+ * (IDENTITY 전략이면 엔티티마다 statement 가 하나씩, 시퀀스 + 배치면 테이블마다 batch_size 단위로 하나씩)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderCreationBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int lineItems;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private OrderRepository orderRepository;
+    private OrderProductRepository orderProductRepository;
+    private Statistics statistics;
+    private OrderCreateServiceRequest request;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(CafekioskApplication.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.jpa.properties.hibernate.show_sql=false",
+                        "--spring.jpa.properties.hibernate.generate_statistics=true",
+                        "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=INFO",
+                        "--logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+                );
+        orderService = context.getBean(OrderService.class);
+        orderRepository = context.getBean(OrderRepository.class);
+        orderProductRepository = context.getBean(OrderProductRepository.class);
+        statistics = context.getBean(EntityManagerFactory.class)
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+
+        List<Product> products = IntStream.rangeClosed(1, lineItems)
+                .mapToObj(i -> Product.builder()
+                        .productNumber(String.format("%03d", i))
+                        .type(HANDMADE)
+                        .sellingStatus(SELLING)
+                        .name("메뉴 " + i)
+                        .price(4000)
+                        .build())
+                .toList();
+        context.getBean(ProductRepository.class).saveAll(products);
+        request = OrderCreateServiceRequest.builder()
+                .productNumbers(products.stream().map(Product::getProductNumber).toList())
+                .build();
+    }
+
+    @Setup(Level.Iteration)
+    public void clearStatistics() {
+        statistics.clear();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printStatementsPerOrder() {
+        long orderCount = orderRepository.count();
+        if (orderCount > 0) {
+            System.out.printf("%n  orders=%d, jdbc statements/order=%.1f, entity inserts/order=%.1f%n",
+                    orderCount,
+                    (double) statistics.getPrepareStatementCount() / orderCount,
+                    (double) statistics.getEntityInsertCount() / orderCount);
+        }
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object createOrder() {
+        return orderService.createOrder(request, LocalDateTime.now());
+    }
+
+}
@@ -0,0 +1,89 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import sample.cafekiosk.spring.domain.order.OrderLineItems;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+
+/**
+ * 주문 생성 hot path 중 DB 를 거치지 않는 부분(상품번호 → 상품 매칭, 재고 대상 상품별 수량 계산)의 시간과 할당량.
+ *
+ * - collections : 기존 방식. Map<String, Product>, 재고 상품번호 List, groupingBy/counting 의 Map<String, Long>, HashSet 복사
+ * - lineItems : OrderLineItems 의 int 배열 해시로 인덱스를 찾고, bindProducts 가 상품번호 순으로 모아 둔 재고 인덱스를 한 번 순회
+ * 주문 상품 수(items) 중 절반은 중복 상품번호이고, 상품의 절반은 재고 대상(BOTTLE) 이다.
+ *
+ * 할당량 비교 : ./gradlew jmh -Pjmh.args="OrderLineItemsBenchmark -prof gc" (gc.alloc.rate.norm = bytes/op)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderLineItemsBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int items;
+
+    private List<String> productNumbers;
+    private List<Product> catalog;
+
+    @Setup
+    public void setUp() {
+        int distinctCount = Math.max(1, items / 2);
+        catalog = IntStream.range(0, distinctCount)
+                .mapToObj(i -> Product.builder()
+                        .productNumber(String.format("%03d", i + 1))
+                        .type(i % 2 == 0 ? ProductType.BOTTLE : ProductType.HANDMADE)
+                        .sellingStatus(SELLING)
+                        .name("메뉴 " + i)
+                        .price(1000)
+                        .build())
+                .toList();
+        productNumbers = IntStream.range(0, items)
+                .mapToObj(i -> catalog.get(i % distinctCount).getProductNumber())
+                .toList();
+    }
+
+    @Benchmark
+    public void collections(Blackhole blackhole) {
+        Map<String, Product> productMap = catalog.stream()
+                .collect(Collectors.toMap(Product::getProductNumber, product -> product));
+        List<Product> products = productNumbers.stream()
+                .map(productMap::get)
+                .collect(Collectors.toList());
+
+        List<String> stockProductNumbers = products.stream()
+                .filter(product -> ProductType.containsStockType(product.getType()))
+                .map(Product::getProductNumber)
+                .collect(Collectors.toList());
+        Map<String, Long> productCountingMap = stockProductNumbers.stream()
+                .collect(Collectors.groupingBy(productNumber -> productNumber, Collectors.counting()));
+        for (String stockProductNumber : new HashSet<>(stockProductNumbers)) {
+            blackhole.consume(productCountingMap.get(stockProductNumber).intValue());
+        }
+        blackhole.consume(products);
+    }
+
+    @Benchmark
+    public void lineItems(Blackhole blackhole) {
+        OrderLineItems lineItems = OrderLineItems.of(productNumbers);
+        lineItems.bindProducts(catalog);
+
+        for (int i = 0; i < lineItems.stockCount(); i++) {
+            blackhole.consume(lineItems.getQuantity(lineItems.getStockIndex(i)));
+        }
+        blackhole.consume(lineItems);
+    }
+
+}
@@ -0,0 +1,133 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.PlatformTransactionManager;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.product.ProductCacheProperties;
+import sample.cafekiosk.spring.api.service.product.ProductCatalogCache;
+import sample.cafekiosk.spring.api.service.stock.StockDeductionMode;
+import sample.cafekiosk.spring.api.service.stock.StockProperties;
+import sample.cafekiosk.spring.api.service.stock.StockReservationEngine;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.withSettings;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+
+/**
+ * 재고 차감 방식(mode)과 주문 상품 수(items)에 따른 OrderService.createOrder 시간. (DB 없이 측정)
+ *
+ * - 상품은 캐시가 켜진 ProductCatalogCache 에서 찾는다. (첫 호출 이후 항상 캐시 적중)
+ * - StockRepository 는 메모리 Map 으로 동작하는 대역(Mockito answer)이고, 주문은 저장하지 않는다.
+ * - 대역은 모두 stubOnly 로 만든다. 기본 mock 은 verify 를 위해 호출을 전부 기록하므로 측정 중 힙이 계속 커진다.
+ * - 주문 상품의 절반은 중복 상품이고, 상품의 절반은 재고 대상(BOTTLE) 이다.
+ * 트랜잭션과 JPA 를 빼고 서비스 계층 자체의 비용만 비교하기 위한 벤치마크이다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderServiceBenchmark {
+
+    @Param({"CONDITIONAL_UPDATE", "RESERVATION", "DIRTY_CHECKING"})
+    private StockDeductionMode mode;
+
+    @Param({"1", "10", "100"})
+    private int items;
+
+    private OrderService orderService;
+    private List<String> productNumbers;
+    private final LocalDateTime registeredDateTime = LocalDateTime.of(2023, 3, 1, 10, 0);
+
+    @Setup
+    public void setUp() {
+        int distinctCount = Math.max(1, items / 2);
+        List<Product> catalog = IntStream.range(0, distinctCount)
+                .mapToObj(i -> Product.builder()
+                        .productNumber(String.format("%03d", i + 1))
+                        .type(i % 2 == 0 ? ProductType.BOTTLE : ProductType.HANDMADE)
+                        .sellingStatus(SELLING)
+                        .name("메뉴 " + i)
+                        .price(1000)
+                        .build())
+                .toList();
+        productNumbers = IntStream.range(0, items)
+                .mapToObj(i -> catalog.get(i % distinctCount).getProductNumber())
+                .toList();
+
+        ProductRepository productRepository = stubOnlyMock(ProductRepository.class);
+        Mockito.when(productRepository.findAllByProductNumberIn(anyList())).thenReturn(catalog);
+
+        Map<String, Stock> stocks = catalog.stream()
+                .filter(product -> ProductType.containsStockType(product.getType()))
+                .collect(Collectors.toMap(Product::getProductNumber, product -> Stock.create(product.getProductNumber(), Integer.MAX_VALUE / 2), (a, b) -> a, ConcurrentHashMap::new));
+        StockRepository stockRepository = createStockRepository(stocks);
+
+        OrderRepository orderRepository = stubOnlyMock(OrderRepository.class);
+        Mockito.when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        orderService = new OrderService(
+                new ProductCatalogCache(productRepository, new ProductCacheProperties(true, 1000)),
+                orderRepository,
+                stockRepository,
+                new StockReservationEngine(stockRepository, stubOnlyMock(PlatformTransactionManager.class)),
+                new StockProperties(mode, new StockProperties.Retry(5, Duration.ofMillis(10), Duration.ofMillis(200), 2.0), Duration.ofSeconds(2)),
+                stubOnlyMock(OrderWriteBehindPipeline.class),
+                new OrderMetrics(new SimpleMeterRegistry()),
+                stubOnlyMock(OrderIdempotencyCache.class)
+        );
+    }
+
+    @Benchmark
+    public OrderResponse createOrder() {
+        OrderCreateServiceRequest request = OrderCreateServiceRequest.builder()
+                .productNumbers(productNumbers)
+                .build();
+        return orderService.createOrder(request, registeredDateTime);
+    }
+
+    private StockRepository createStockRepository(Map<String, Stock> stocks) {
+        StockRepository stockRepository = stubOnlyMock(StockRepository.class);
+        Mockito.when(stockRepository.findAllByProductNumberIn(anyList())).thenAnswer(invocation -> {
+            List<String> productNumbers = invocation.getArgument(0);
+            return productNumbers.stream()
+                    .map(stocks::get)
+                    .toList();
+        });
+        Mockito.when(stockRepository.deductQuantityIfEnough(anyString(), anyInt())).thenAnswer(invocation -> {
+            Stock stock = stocks.get(invocation.<String>getArgument(0));
+            int quantity = invocation.getArgument(1);
+            if (stock.isQuantityLessThan(quantity)) {
+                return 0;
+            }
+            stock.deductQuantity(quantity);
+            return 1;
+        });
+        return stockRepository;
+    }
+
+    private static <T> T stubOnlyMock(Class<T> type) {
+        return Mockito.mock(type, withSettings().stubOnly());
+    }
+
+}
@@ -0,0 +1,153 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import sample.cafekiosk.spring.CafekioskApplication;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.request.OrderSyncServiceRequest;
+import sample.cafekiosk.spring.api.service.order.request.OrderSyncServiceRequest.OfflineOrder;
+import sample.cafekiosk.spring.domain.order.OrderIdempotencyRecordRepository;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.BOTTLE;
+
+/**
+ * 오프라인 주문 orders 건을 올릴 때 일괄 동기화(syncOrders) 한 번과 주문 생성(OrderFacade.createOrder) orders 번의 시간 비교.
+ * (H2 인메모리 DB 에 애플리케이션 컨텍스트를 띄워서 측정)
+ *
+ * - 주문마다 재고가 있는 상품 10개 중 3개를 2잔씩 담고, 매 호출마다 새 Idempotency-Key 를 쓴다.
+ * - 반복(iteration)이 끝날 때마다 주문 1건당 실행된 JDBC statement 수를 출력한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderSyncBenchmark {
+
+    private static final int PRODUCT_COUNT = 10;
+
+    @Param({"10", "100", "500"})
+    private int orders;
+
+    private ConfigurableApplicationContext context;
+    private OrderSyncService orderSyncService;
+    private OrderFacade orderFacade;
+    private OrderRepository orderRepository;
+    private OrderProductRepository orderProductRepository;
+    private OrderIdempotencyRecordRepository orderIdempotencyRecordRepository;
+    private OrderIdempotencyCache orderIdempotencyCache;
+    private Statistics statistics;
+    private long sequence;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(CafekioskApplication.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.jpa.properties.hibernate.show_sql=false",
+                        "--spring.jpa.properties.hibernate.generate_statistics=true",
+                        "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=INFO",
+                        "--logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+                );
+        orderSyncService = context.getBean(OrderSyncService.class);
+        orderFacade = context.getBean(OrderFacade.class);
+        orderRepository = context.getBean(OrderRepository.class);
+        orderProductRepository = context.getBean(OrderProductRepository.class);
+        orderIdempotencyRecordRepository = context.getBean(OrderIdempotencyRecordRepository.class);
+        orderIdempotencyCache = context.getBean(OrderIdempotencyCache.class);
+        statistics = context.getBean(EntityManagerFactory.class)
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+
+        List<Product> products = IntStream.rangeClosed(1, PRODUCT_COUNT)
+                .mapToObj(i -> Product.builder()
+                        .productNumber(String.format("%03d", i))
+                        .type(BOTTLE)
+                        .sellingStatus(SELLING)
+                        .name("메뉴 " + i)
+                        .price(4000)
+                        .build())
+                .toList();
+        context.getBean(ProductRepository.class).saveAll(products);
+        context.getBean(StockRepository.class).saveAll(products.stream()
+                .map(product -> Stock.create(product.getProductNumber(), Integer.MAX_VALUE / 2))
+                .toList());
+    }
+
+    @Setup(Level.Iteration)
+    public void clearStatistics() {
+        statistics.clear();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printStatementsPerOrder() {
+        long orderCount = orderRepository.count();
+        if (orderCount > 0) {
+            System.out.printf("%n  orders=%d, jdbc statements/order=%.1f%n",
+                    orderCount,
+                    (double) statistics.getPrepareStatementCount() / orderCount);
+        }
+        orderIdempotencyCache.invalidateAll();
+        orderIdempotencyRecordRepository.deleteAllInBatch();
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object syncOrders() {
+        List<OfflineOrder> offlineOrders = new ArrayList<>(orders);
+        for (int i = 0; i < orders; i++) {
+            offlineOrders.add(new OfflineOrder(createRequest(i), LocalDateTime.now()));
+        }
+        return orderSyncService.syncOrders(OrderSyncServiceRequest.builder()
+                .orders(offlineOrders)
+                .build());
+    }
+
+    @Benchmark
+    public Object createOrdersOneByOne() {
+        Object last = null;
+        for (int i = 0; i < orders; i++) {
+            last = orderFacade.createOrder(createRequest(i), LocalDateTime.now());
+        }
+        return last;
+    }
+
+    private OrderCreateServiceRequest createRequest(int index) {
+        return OrderCreateServiceRequest.builder()
+                .productQuantities(Map.of(
+                        String.format("%03d", index % PRODUCT_COUNT + 1), 2,
+                        String.format("%03d", (index + 3) % PRODUCT_COUNT + 1), 2,
+                        String.format("%03d", (index + 7) % PRODUCT_COUNT + 1), 2
+                ))
+                .idempotencyKey("benchmark-" + sequence++)
+                .build();
+    }
+
+}
@@ -0,0 +1,90 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import sample.cafekiosk.spring.CafekioskApplication;
+import sample.cafekiosk.spring.api.service.product.request.ProductCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.product.request.ProductImportServiceRequest;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+/**
+ * 상품 productCount 개를 등록하는 데 걸리는 시간. (H2 인메모리 DB 에 애플리케이션 컨텍스트를 띄워서 측정)
+ *
+ * createOneByOne : 기존 신규 상품 등록 API 와 같은 경로(ProductService.createProduct)로 한 건씩 등록
+ * importAll : 상품 일괄 등록 경로(ProductService.importProducts)로 한 번에 등록
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductImportBenchmark {
+
+    @Param({"100", "1000"})
+    private int productCount;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private ProductRepository productRepository;
+    private List<ProductCreateServiceRequest> requests;
+    private ProductImportServiceRequest importRequest;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(CafekioskApplication.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.jpa.properties.hibernate.show_sql=false",
+                        "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=INFO",
+                        "--cafekiosk.product.number.block-size=50"
+                );
+        productService = context.getBean(ProductService.class);
+        productRepository = context.getBean(ProductRepository.class);
+
+        requests = IntStream.range(0, productCount)
+                .mapToObj(i -> ProductCreateServiceRequest.builder()
+                        .type(HANDMADE)
+                        .sellingStatus(SELLING)
+                        .name("메뉴 " + i)
+                        .price(4000)
+                        .build())
+                .toList();
+        importRequest = ProductImportServiceRequest.builder()
+                .rows(IntStream.range(0, productCount)
+                        .mapToObj(i -> ProductImportServiceRequest.Row.valid(i + 1, requests.get(i)))
+                        .toList())
+                .build();
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearProducts() {
+        productRepository.deleteAllInBatch();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void createOneByOne() {
+        requests.forEach(productService::createProduct);
+    }
+
+    @Benchmark
+    public Object importAll() {
+        return productService.importProducts(importRequest);
+    }
+
+}
@@ -0,0 +1,112 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sample.cafekiosk.spring.domain.order.OrderLineItems;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.withSettings;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+
+/**
+ * 스레드 수(1 ~ 64)에 따른 재고 예약/해제 처리량.
+ *
+ * productCount = 1 : 모든 스레드가 하나의 인기 상품(BOTTLE/BAKERY)에 몰리는 경우
+ * productCount = 16 : 여러 상품으로 주문이 분산되는 경우
+ * 주문 경로와 같이 OrderLineItems 로 예약하고, 트랜잭션 롤백(afterCompletion)으로 예약을 해제한다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StockReservationEngineBenchmark {
+
+    @Param({"1", "16"})
+    private int productCount;
+
+    private StockReservationEngine stockReservationEngine;
+    private List<OrderLineItems> orders;
+
+    @Setup
+    public void setUp() {
+        List<Stock> stocks = IntStream.range(0, productCount)
+                .mapToObj(i -> Stock.create(String.format("%03d", i), Integer.MAX_VALUE / 2))
+                .toList();
+
+        StockRepository stockRepository = Mockito.mock(StockRepository.class, withSettings().stubOnly());
+        Mockito.when(stockRepository.findAllByProductNumberIn(anyList())).thenReturn(stocks);
+
+        stockReservationEngine = new StockReservationEngine(stockRepository, Mockito.mock(PlatformTransactionManager.class, withSettings().stubOnly()));
+        orders = stocks.stream()
+                .map(stock -> createLineItems(stock.getProductNumber()))
+                .toList();
+        orders.forEach(this::reserveAndRollback);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void reserveAndRelease_1thread() {
+        reserveAndRelease();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void reserveAndRelease_4threads() {
+        reserveAndRelease();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void reserveAndRelease_16threads() {
+        reserveAndRelease();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void reserveAndRelease_64threads() {
+        reserveAndRelease();
+    }
+
+    private void reserveAndRelease() {
+        reserveAndRollback(orders.get(ThreadLocalRandom.current().nextInt(orders.size())));
+    }
+
+    private void reserveAndRollback(OrderLineItems order) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            stockReservationEngine.reserve(order);
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static OrderLineItems createLineItems(String productNumber) {
+        OrderLineItems lineItems = OrderLineItems.of(List.of(productNumber));
+        lineItems.bindProducts(List.of(Product.builder()
+                .productNumber(productNumber)
+                .type(ProductType.BOTTLE)
+                .sellingStatus(SELLING)
+                .name("메뉴 " + productNumber)
+                .price(1000)
+                .build()));
+        return lineItems;
+    }
+
+}
@@ -0,0 +1,54 @@
+package sample.cafekiosk.spring.domain.order;
+
+import org.openjdk.jmh.annotations.*;
+import sample.cafekiosk.spring.domain.product.Product;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+/**
+ * 주문 상품 수(items)에 따른 주문 엔티티 생성(주문상품 합치기 + 총 금액 계산) 시간.
+ * 주문 상품의 절반은 중복 상품이다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int items;
+
+    private List<Product> products;
+    private final LocalDateTime registeredDateTime = LocalDateTime.of(2023, 3, 1, 10, 0);
+
+    @Setup
+    public void setUp() {
+        int distinctCount = Math.max(1, items / 2);
+        List<Product> catalog = IntStream.range(0, distinctCount)
+                .mapToObj(i -> Product.builder()
+                        .productNumber(String.format("%03d", i + 1))
+                        .type(HANDMADE)
+                        .sellingStatus(SELLING)
+                        .name("메뉴 " + i)
+                        .price(1000 + i)
+                        .build())
+                .toList();
+        products = IntStream.range(0, items)
+                .mapToObj(i -> catalog.get(i % distinctCount))
+                .toList();
+    }
+
+    @Benchmark
+    public int create() {
+        return Order.create(products, registeredDateTime).getTotalPrice();
+    }
+
+}
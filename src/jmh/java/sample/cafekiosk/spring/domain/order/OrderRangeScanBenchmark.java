@@ -0,0 +1,88 @@
+package sample.cafekiosk.spring.domain.order;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import sample.cafekiosk.spring.CafekioskApplication;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 100만 건이 있을 때 기간 + 주문상태 조건 조회(findOrdersBy) 시간. (H2 인메모리 DB 에 애플리케이션 컨텍스트를 띄워서 측정)
+ *
+ * - 주문은 2023-01-01 부터 31초 간격으로 약 1년치, 주문상태는 6가지를 돌아가며 넣는다.
+ * - 하루치 결제완료 주문(약 460건)을 조회한다.
+ * - indexed=false 이면 엔티티 매핑으로 만들어진 (order_status, registered_date_time) 인덱스를 지우고 측정한다.
+ * - 같은 쿼리를 반복하므로 H2 쿼리 결과 캐시는 끈다. (QUERY_CACHE_SIZE=0)
+ * 시작할 때 조회 쿼리의 실행 계획(EXPLAIN)을 출력한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class OrderRangeScanBenchmark {
+
+    private static final int ORDER_COUNT = 1_000_000;
+    private static final LocalDateTime START_DATE_TIME = LocalDateTime.of(2023, 6, 1, 0, 0);
+    private static final LocalDateTime END_DATE_TIME = LocalDateTime.of(2023, 6, 2, 0, 0);
+
+    @Param({"true", "false"})
+    private boolean indexed;
+
+    private ConfigurableApplicationContext context;
+    private OrderRepository orderRepository;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(CafekioskApplication.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.jpa.properties.hibernate.show_sql=false",
+                        "--spring.datasource.url=jdbc:h2:mem:orderRangeScan;QUERY_CACHE_SIZE=0",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=INFO"
+                );
+        orderRepository = context.getBean(OrderRepository.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("""
+                insert into orders(id, order_status, total_price, registered_date_time, created_date_time, modified_date_time)
+                select x,
+                       case mod(x, 6) when 0 then 'INIT' when 1 then 'CANCALED' when 2 then 'PAYMENT_COMPLETED'
+                                      when 3 then 'PAYMENT_FAILED' when 4 then 'RECEIVED' else 'COMPLETED' end,
+                       4000,
+                       dateadd(second, x * 31, timestamp '2023-01-01 00:00:00'),
+                       current_timestamp,
+                       current_timestamp
+                from system_range(1, ?)
+                """, ORDER_COUNT);
+        if (!indexed) {
+            jdbcTemplate.execute("drop index idx_orders_status_registered_date_time");
+        }
+        jdbcTemplate.execute("analyze");
+
+        List<String> plan = jdbcTemplate.queryForList("""
+                explain select * from orders
+                where registered_date_time >= ? and registered_date_time < ? and order_status = ?
+                """, String.class, START_DATE_TIME, END_DATE_TIME, OrderStatus.PAYMENT_COMPLETED.name());
+        System.out.printf("%n  indexed=%s, plan:%n%s%n", indexed, String.join("\n", plan));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Order> findOrdersBy() {
+        return orderRepository.findOrdersBy(START_DATE_TIME, END_DATE_TIME, OrderStatus.PAYMENT_COMPLETED);
+    }
+
+}
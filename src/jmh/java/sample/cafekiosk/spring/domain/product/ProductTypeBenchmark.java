@@ -0,0 +1,27 @@
+package sample.cafekiosk.spring.domain.product;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 상품마다 호출되는 재고 대상 타입 판별 시간.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductTypeBenchmark {
+
+    private final ProductType[] types = ProductType.values();
+    private int next;
+
+    @Benchmark
+    public boolean containsStockType() {
+        next = (next + 1) % types.length;
+        return ProductType.containsStockType(types[next]);
+    }
+
+}
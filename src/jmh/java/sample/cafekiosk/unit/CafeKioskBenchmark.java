@@ -0,0 +1,52 @@
+package sample.cafekiosk.unit;
+
+import org.openjdk.jmh.annotations.*;
+import sample.cafekiosk.unit.beverage.Americano;
+import sample.cafekiosk.unit.beverage.Latte;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 키오스크에 음료 beverages 잔을 담고 총 금액을 계산하는 시간.
+ *
+ * - addAndCalculateTotalPrice: 빈 장바구니에 담고 총 금액을 한 번 계산
+ * - tapAndCalculateTotalPrice: beverages 잔이 담긴 장바구니에서 한 잔을 더하고 빼며 매번 총 금액을 계산 (화면 탭마다 다시 그리는 경우)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CafeKioskBenchmark {
+
+    @Param({"1", "10", "100", "1000", "10000"})
+    private int beverages;
+
+    private final Americano americano = new Americano();
+    private final Latte latte = new Latte();
+    private CafeKiosk filledCafeKiosk;
+
+    @Setup
+    public void setUp() {
+        filledCafeKiosk = new CafeKiosk();
+        filledCafeKiosk.add(americano, beverages);
+    }
+
+    @Benchmark
+    public int addAndCalculateTotalPrice() {
+        CafeKiosk cafeKiosk = new CafeKiosk();
+        cafeKiosk.add(americano, beverages);
+        cafeKiosk.add(latte);
+        return cafeKiosk.calculateTotalPrice();
+    }
+
+    @Benchmark
+    public int tapAndCalculateTotalPrice() {
+        filledCafeKiosk.add(latte);
+        int totalPrice = filledCafeKiosk.calculateTotalPrice();
+        filledCafeKiosk.remove(latte);
+        return totalPrice + filledCafeKiosk.calculateTotalPrice();
+    }
+
+}
@@ -0,0 +1,91 @@
+package sample.cafekiosk.spring.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 엔드포인트 하나의 지연시간 분포(마이크로초)와 성공/실패 건수
+ */
+public class EndpointStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final String name;
+    private final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder successCount = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+    private final Map<String, LongAdder> errorCountsByCause = new ConcurrentHashMap<>();
+
+    public EndpointStats(String name) {
+        this.name = name;
+    }
+
+    public void recordSuccess(long latencyNanos) {
+        recordLatency(latencyNanos);
+        successCount.increment();
+    }
+
+    /**
+     * @param cause 응답 상태 코드 또는 예외 클래스 이름
+     */
+    public void recordError(long latencyNanos, String cause) {
+        recordLatency(latencyNanos);
+        errorCount.increment();
+        errorCountsByCause.computeIfAbsent(cause, key -> new LongAdder()).increment();
+    }
+
+    private void recordLatency(long latencyNanos) {
+        histogram.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getTotalCount() {
+        return successCount.sum() + errorCount.sum();
+    }
+
+    public double getErrorRate() {
+        long total = getTotalCount();
+        return total == 0 ? 0 : (double) errorCount.sum() / total;
+    }
+
+    public double getPercentileMillis(double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public String summary(double seconds) {
+        return String.format("%-24s count=%7d  rps=%8.1f  errors=%6.2f%%  p50=%8.2fms  p99=%8.2fms  p999=%8.2fms  max=%8.2fms",
+                name,
+                getTotalCount(),
+                getTotalCount() / seconds,
+                getErrorRate() * 100,
+                getPercentileMillis(50),
+                getPercentileMillis(99),
+                getPercentileMillis(99.9),
+                histogram.getMaxValue() / 1000.0)
+                + (errorCountsByCause.isEmpty() ? "" : "  " + new TreeMap<>(errorCountsByCause));
+    }
+
+    /**
+     * HdrHistogram 백분위 분포를 밀리초 단위로 남긴다. (HistogramLogAnalyzer 등으로 그래프를 그릴 수 있다.)
+     */
+    public void writeDistribution(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        try (PrintStream out = new PrintStream(Files.newOutputStream(dir.resolve(name + ".hgrm")))) {
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+}
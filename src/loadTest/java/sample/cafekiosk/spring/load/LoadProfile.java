@@ -0,0 +1,42 @@
+package sample.cafekiosk.spring.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * 부하 테스트 설정. gradle 의 -Pload.xxx 값이 시스템 프로퍼티로 넘어온다.
+ *
+ * @param rps          초당 보낼 요청 수 (주문 생성 + 판매 상품 조회)
+ * @param warmup       측정하지 않고 버리는 앞부분 시간
+ * @param duration     측정 시간
+ * @param orderRatio   전체 요청 중 주문 생성 요청의 비율
+ * @param p99Millis    엔드포인트별 p99 지연시간 상한
+ * @param p999Millis   엔드포인트별 p999 지연시간 상한
+ * @param maxErrorRate 엔드포인트별 오류율 상한
+ * @param reportDir    지연시간 분포(.hgrm)를 남길 디렉토리
+ */
+public record LoadProfile(
+        int rps,
+        Duration warmup,
+        Duration duration,
+        double orderRatio,
+        long p99Millis,
+        long p999Millis,
+        double maxErrorRate,
+        Path reportDir
+) {
+
+    public static LoadProfile fromSystemProperties() {
+        return new LoadProfile(
+                Integer.getInteger("load.rps", 100),
+                Duration.ofSeconds(Long.getLong("load.warmup", 5)),
+                Duration.ofSeconds(Long.getLong("load.duration", 20)),
+                Double.parseDouble(System.getProperty("load.orderRatio", "0.3")),
+                Long.getLong("load.p99Millis", 200),
+                Long.getLong("load.p999Millis", 500),
+                Double.parseDouble(System.getProperty("load.maxErrorRate", "0.001")),
+                Path.of(System.getProperty("load.reportDir", "build/reports/load"))
+        );
+    }
+
+}
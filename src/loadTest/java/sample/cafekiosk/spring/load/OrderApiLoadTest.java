@@ -0,0 +1,245 @@
+package sample.cafekiosk.spring.load;
+
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.*;
+import static sample.cafekiosk.spring.domain.product.ProductType.*;
+
+/**
+ * 주문 생성(POST /api/v1/orders/new)과 판매 상품 조회(GET /api/v1/products/selling) 부하 테스트
+ *
+ * - 랜덤 포트로 띄운 내장 서버에 LoadProfile.rps 만큼 고정 간격으로 요청을 보낸다. (open-loop)
+ *   응답을 기다리지 않고 다음 요청을 보내므로, 서버가 느려지면 동시 요청 수가 늘어난다.
+ * - 지연시간은 요청을 보냈어야 할 시각부터 잰다. 클라이언트가 밀려서 늦게 보낸 시간까지 포함되므로
+ *   서버가 멈춘 동안의 지연이 통계에서 빠지지 않는다. (coordinated omission 보정)
+ * - 상품은 앞 순위일수록 자주 주문되고(1/순위 가중치), 주문 하나에는 1~3개 상품이 1~2개씩 담긴다.
+ *   재고 상품(병 음료, 베이커리)은 테스트 중 떨어지지 않을 만큼 재고를 넣어둔다.
+ *
+ * ./gradlew loadTest -Pload.rps=500 -Pload.duration=60
+ */
+@ActiveProfiles("test")
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.jpa.properties.hibernate.show_sql=false",
+                "spring.jpa.properties.hibernate.format_sql=false",
+                "spring.jpa.properties.hibernate.generate_statistics=false",
+                "logging.level.org.springframework.orm.jpa.JpaTransactionManager=INFO",
+                "cafekiosk.product.cache.enabled=true"
+        }
+)
+class OrderApiLoadTest {
+
+    private static final int SELLING_PRODUCT_COUNT = 20;
+    private static final int STOCK_QUANTITY = 10_000_000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    private final LoadProfile profile = LoadProfile.fromSystemProperties();
+    private final Random random = new Random(42);
+
+    private List<String> orderableProductNumbers;
+    private double[] cumulativeWeights;
+
+    @BeforeEach
+    void setUp() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 1; i <= SELLING_PRODUCT_COUNT; i++) {
+            ProductType type = i % 4 == 0 ? BAKERY : i % 4 == 1 ? BOTTLE : HANDMADE;
+            products.add(createProduct(i, type, SELLING));
+        }
+        products.add(createProduct(SELLING_PRODUCT_COUNT + 1, HANDMADE, HOLD));
+        products.add(createProduct(SELLING_PRODUCT_COUNT + 2, BAKERY, STOP_SELLING));
+        productRepository.saveAll(products);
+
+        stockRepository.saveAll(products.stream()
+                .filter(product -> ProductType.containsStockType(product.getType()))
+                .map(product -> Stock.create(product.getProductNumber(), STOCK_QUANTITY))
+                .toList());
+
+        orderableProductNumbers = products.stream()
+                .filter(product -> product.getSellingStatus() == SELLING)
+                .map(Product::getProductNumber)
+                .toList();
+        cumulativeWeights = new double[orderableProductNumbers.size()];
+        double sum = 0;
+        for (int rank = 0; rank < cumulativeWeights.length; rank++) {
+            sum += 1.0 / (rank + 1);
+            cumulativeWeights[rank] = sum;
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        stockRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("주문 생성과 판매 상품 조회를 정해진 RPS 로 보내는 동안 지연시간과 오류율이 임계값을 넘지 않는다.")
+    @Test
+    void orderAndSellingProducts() throws Exception {
+        // given
+        EndpointStats orders = new EndpointStats("orders-new");
+        EndpointStats sellingProducts = new EndpointStats("products-selling");
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        HttpClient client = HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        URI ordersUri = URI.create("http://localhost:" + port + "/api/v1/orders/new");
+        URI sellingProductsUri = URI.create("http://localhost:" + port + "/api/v1/products/selling");
+
+        // when
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / profile.rps();
+        long startedAt = System.nanoTime();
+        long measureFrom = startedAt + profile.warmup().toNanos();
+        long endAt = measureFrom + profile.duration().toNanos();
+        List<CompletableFuture<?>> inFlight = new ArrayList<>();
+
+        for (long i = 0; ; i++) {
+            long scheduledAt = startedAt + i * intervalNanos;
+            if (scheduledAt >= endAt) {
+                break;
+            }
+            long waitNanos = scheduledAt - System.nanoTime();
+            if (waitNanos > 0) {
+                LockSupport.parkNanos(waitNanos);
+            }
+
+            boolean order = random.nextDouble() < profile.orderRatio();
+            EndpointStats stats = order ? orders : sellingProducts;
+            HttpRequest request = order
+                    ? HttpRequest.newBuilder(ordersUri)
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(nextOrderBody()))
+                            .build()
+                    : HttpRequest.newBuilder(sellingProductsUri).GET().build();
+            boolean measured = scheduledAt >= measureFrom;
+
+            inFlight.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        if (!measured) {
+                            return;
+                        }
+                        long latencyNanos = System.nanoTime() - scheduledAt;
+                        if (error != null) {
+                            stats.recordError(latencyNanos, error.getClass().getSimpleName());
+                        } else if (response.statusCode() != 200) {
+                            stats.recordError(latencyNanos, String.valueOf(response.statusCode()));
+                        } else {
+                            stats.recordSuccess(latencyNanos);
+                        }
+                    }));
+        }
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new))
+                .exceptionally(error -> null)
+                .get(1, TimeUnit.MINUTES);
+        executor.shutdown();
+
+        // then
+        double seconds = profile.duration().toMillis() / 1000.0;
+        System.out.printf("%nload: target %d rps (orders %.0f%%), warmup %ds, measured %ds%n",
+                profile.rps(), profile.orderRatio() * 100, profile.warmup().toSeconds(), profile.duration().toSeconds());
+        SoftAssertions softly = new SoftAssertions();
+        for (EndpointStats stats : List.of(orders, sellingProducts)) {
+            System.out.println(stats.summary(seconds));
+            stats.writeDistribution(profile.reportDir());
+
+            softly.assertThat(stats.getErrorRate()).as("%s 오류율", stats.getName())
+                    .isLessThanOrEqualTo(profile.maxErrorRate());
+            softly.assertThat(stats.getPercentileMillis(99)).as("%s p99(ms)", stats.getName())
+                    .isLessThanOrEqualTo(profile.p99Millis());
+            softly.assertThat(stats.getPercentileMillis(99.9)).as("%s p999(ms)", stats.getName())
+                    .isLessThanOrEqualTo(profile.p999Millis());
+        }
+        double throughput = (orders.getTotalCount() + sellingProducts.getTotalCount()) / seconds;
+        System.out.printf("%-24s rps=%8.1f%n", "total", throughput);
+        softly.assertThat(throughput).as("처리량(rps)")
+                .isGreaterThanOrEqualTo(profile.rps() * 0.9);
+        softly.assertAll();
+    }
+
+    /**
+     * 인기 상품일수록 자주 담기도록 1/순위 가중치로 1~3개의 서로 다른 상품을 고르고, 상품마다 1~2개를 담는다.
+     */
+    private String nextOrderBody() {
+        int itemCount = 1 + random.nextInt(3);
+        Set<String> productNumbers = new LinkedHashSet<>();
+        while (productNumbers.size() < itemCount) {
+            productNumbers.add(nextProductNumber());
+        }
+        return productNumbers.stream()
+                .map(productNumber -> String.format("{\"productNumber\":\"%s\",\"quantity\":%d}",
+                        productNumber, random.nextInt(10) < 8 ? 1 : 2))
+                .collect(Collectors.joining(",", "{\"orderItems\":[", "]}"));
+    }
+
+    private String nextProductNumber() {
+        double target = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+        for (int rank = 0; rank < cumulativeWeights.length; rank++) {
+            if (target < cumulativeWeights[rank]) {
+                return orderableProductNumbers.get(rank);
+            }
+        }
+        return orderableProductNumbers.get(orderableProductNumbers.size() - 1);
+    }
+
+    private Product createProduct(int number, ProductType type, ProductSellingStatus sellingStatus) {
+        return Product.builder()
+                .productNumber(String.format("%03d", number))
+                .type(type)
+                .sellingStatus(sellingStatus)
+                .name("메뉴 " + number)
+                .price(1000 + number * 100)
+                .build();
+    }
+
+}
@@ -5,6 +5,10 @@ import org.springframework.validation.BindException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import sample.cafekiosk.spring.api.service.order.IdempotencyKeyConflictException;
+import sample.cafekiosk.spring.api.service.order.OrderQueueFullException;
+import sample.cafekiosk.spring.api.service.stock.StockBusyException;
+import sample.cafekiosk.spring.api.service.stock.StockRetryExhaustedException;
 
 
 @RestControllerAdvice
@@ -19,4 +23,34 @@ public class ApiControllerAdvice {
         );
     }
 
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ApiResponse<Object> illegalArgumentException(IllegalArgumentException exception) {
+        return ApiResponse.of(HttpStatus.BAD_REQUEST, exception.getMessage());
+    }
+
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(IdempotencyKeyConflictException.class)
+    public ApiResponse<Object> idempotencyKeyConflictException(IdempotencyKeyConflictException exception) {
+        return ApiResponse.of(HttpStatus.CONFLICT, exception.getMessage());
+    }
+
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler(OrderQueueFullException.class)
+    public ApiResponse<Object> orderQueueFullException(OrderQueueFullException exception) {
+        return ApiResponse.of(HttpStatus.SERVICE_UNAVAILABLE, exception.getMessage());
+    }
+
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler(StockBusyException.class)
+    public ApiResponse<Object> stockBusyException(StockBusyException exception) {
+        return ApiResponse.of(HttpStatus.SERVICE_UNAVAILABLE, exception.getMessage());
+    }
+
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler(StockRetryExhaustedException.class)
+    public ApiResponse<Object> stockRetryExhaustedException(StockRetryExhaustedException exception) {
+        return ApiResponse.of(HttpStatus.SERVICE_UNAVAILABLE, exception.getMessage());
+    }
+
 }
@@ -2,28 +2,179 @@ package sample.cafekiosk.spring.api.controller.order;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.util.StringUtils;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import sample.cafekiosk.spring.api.ApiResponse;
 import sample.cafekiosk.spring.api.controller.order.request.OrderCreateRequest;
+import sample.cafekiosk.spring.api.controller.order.request.OrderSyncRequest;
+import sample.cafekiosk.spring.api.service.order.OrderExportService;
+import sample.cafekiosk.spring.api.service.order.OrderFacade;
+import sample.cafekiosk.spring.api.service.order.OrderQueryService;
+import sample.cafekiosk.spring.api.service.order.OrderSyncService;
+import sample.cafekiosk.spring.api.service.order.request.OrderExportServiceRequest;
+import sample.cafekiosk.spring.api.service.order.request.OrderSearchServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderPageResponse;
 import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
-import sample.cafekiosk.spring.api.service.order.OrderService;
+import sample.cafekiosk.spring.api.service.order.response.OrderSyncResponse;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
 
 @RequiredArgsConstructor
 @RestController
 public class OrderController {
 
-    private final OrderService orderService;
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
 
+    private final OrderFacade orderFacade;
+    private final OrderQueryService orderQueryService;
+    private final OrderExportService orderExportService;
+    private final OrderExportWriter orderExportWriter;
+    private final OrderSyncService orderSyncService;
+
+    /**
+     * Idempotency-Key 헤더가 있으면 같은 키로 다시 온 요청에는 주문을 새로 만들지 않고 처음 응답을 그대로 돌려준다.
+     */
     @PostMapping("/api/v1/orders/new")
     public ApiResponse<OrderResponse> createOrder(
-            @Valid @RequestBody OrderCreateRequest orderCreateRequest
+            @Valid @RequestBody OrderCreateRequest orderCreateRequest,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
     ) {
         LocalDateTime registeredAt = LocalDateTime.now();
-        return ApiResponse.ok(orderService.createOrder(orderCreateRequest.toServiceRequest(), registeredAt));
+        String key = StringUtils.hasText(idempotencyKey) ? idempotencyKey : null;
+        return ApiResponse.ok(orderFacade.createOrder(orderCreateRequest.toServiceRequest(key), registeredAt));
+    }
+
+    /**
+     * 오프라인 상태에서 받아 둔 주문을 한 번에 올린다. 주문 시각은 키오스크가 보낸 registeredDateTime 을 쓴다.
+     */
+    @PostMapping("/api/v1/orders/sync")
+    public ApiResponse<OrderSyncResponse> syncOrders(@Valid @RequestBody OrderSyncRequest orderSyncRequest) {
+        return ApiResponse.ok(orderSyncService.syncOrders(orderSyncRequest.toServiceRequest()));
+    }
+
+    @GetMapping("/api/v1/orders/{orderId}")
+    public ApiResponse<OrderResponse> getOrder(@PathVariable Long orderId) {
+        return ApiResponse.ok(orderQueryService.getOrder(orderId));
+    }
+
+    /**
+     * 기간 내 원하는 상태의 주문 목록 (최근 주문부터, 종료일 포함)
+     */
+    @GetMapping("/api/v1/orders")
+    public ApiResponse<OrderPageResponse> getOrders(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "PAYMENT_COMPLETED") OrderStatus orderStatus,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        OrderSearchServiceRequest request = OrderSearchServiceRequest.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .orderStatus(orderStatus)
+                .page(page)
+                .size(size)
+                .build();
+        return ApiResponse.ok(orderQueryService.getOrders(request));
+    }
+
+    /**
+     * 기간 내 주문을 주문상품과 함께 CSV / NDJSON 으로 내려받는다. (종료일 포함)
+     * 응답 본문에 바로 써 내려가므로 기간이 길어도 서버 메모리 사용량은 일정하다.
+     * Accept-Encoding 이 gzip 을 허용하면(q > 0) gzip 으로 압축해서 보낸다.
+     * 중간에 끊기면 마지막으로 온전히 받은 주문 id 를 afterId 로 넘겨 이어받는다.
+     */
+    @GetMapping("/api/v1/orders/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "CSV") OrderExportFormat format,
+            @RequestParam(defaultValue = "0") long afterId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        OrderExportServiceRequest request = OrderExportServiceRequest.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .afterId(afterId)
+                .build();
+        boolean gzip = acceptsGzip(acceptEncoding);
+
+        StreamingResponseBody body = outputStream -> {
+            if (gzip) {
+                GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream);
+                orderExportService.exportOrders(request, rows -> orderExportWriter.write(format, rows, gzipOutputStream));
+                gzipOutputStream.finish();
+            } else {
+                orderExportService.exportOrders(request, rows -> orderExportWriter.write(format, rows, outputStream));
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("orders_%s_%s.%s".formatted(startDate, endDate, format.getExtension()))
+                        .build()
+                        .toString());
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    /**
+     * Accept-Encoding 의 q 값까지 본다. (gzip;q=0 은 gzip 거절)
+     * gzip 이 없으면 * 의 q 값을 따른다.
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        Double gzipQuality = null;
+        Double wildcardQuality = null;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].strip().toLowerCase(Locale.ROOT);
+            double quality = qualityOf(parts);
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzipQuality = quality;
+            } else if (coding.equals("*")) {
+                wildcardQuality = quality;
+            }
+        }
+        if (gzipQuality != null) {
+            return gzipQuality > 0;
+        }
+        return wildcardQuality != null && wildcardQuality > 0;
+    }
+
+    private static double qualityOf(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].strip();
+            if (parameter.length() > 2 && parameter.substring(0, 2).equalsIgnoreCase("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).strip());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
     }
 
 }
@@ -0,0 +1,108 @@
+package sample.cafekiosk.spring.api.controller.order;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import sample.cafekiosk.spring.domain.order.OrderExportRow;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 주문 내보내기 행을 CSV / NDJSON 으로 출력한다.
+ *
+ * - CSV: 헤더 다음에 주문상품 1개당 1행. 값에 쉼표, 큰따옴표, 줄바꿈이 있으면 큰따옴표로 감싼다.
+ * - NDJSON: 주문 1건당 1줄. 같은 주문의 행은 연속으로 들어오므로 현재 주문 하나만 모았다가 다음 주문이 나오면 출력한다.
+ * 어느 형식이든 주문 id 오름차순이므로, 끊긴 경우 마지막으로 온전히 받은 주문 id 를 afterId 로 넘겨 이어받을 수 있다.
+ */
+@RequiredArgsConstructor
+@Component
+public class OrderExportWriter {
+
+    private static final String CSV_HEADER = "orderId,registeredDateTime,orderStatus,totalPrice,productNumber,productName,price,quantity";
+
+    private final ObjectMapper objectMapper;
+
+    public void write(OrderExportFormat format, Stream<OrderExportRow> rows, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        switch (format) {
+            case CSV -> writeCsv(rows, writer);
+            case NDJSON -> writeNdjson(rows, writer);
+        }
+        writer.flush();
+    }
+
+    private void writeCsv(Stream<OrderExportRow> rows, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        Iterator<OrderExportRow> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            OrderExportRow row = iterator.next();
+            writer.write(String.join(",",
+                    String.valueOf(row.getOrderId()),
+                    row.getRegisteredDateTime().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME),
+                    row.getOrderStatus().name(),
+                    String.valueOf(row.getTotalPrice()),
+                    escapeCsv(row.getProductNumber()),
+                    escapeCsv(row.getProductName()),
+                    String.valueOf(row.getPrice()),
+                    String.valueOf(row.getQuantity())
+            ));
+            writer.write('\n');
+        }
+    }
+
+    private void writeNdjson(Stream<OrderExportRow> rows, Writer writer) throws IOException {
+        ExportedOrder current = null;
+        Iterator<OrderExportRow> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            OrderExportRow row = iterator.next();
+            if (current != null && !current.orderId().equals(row.getOrderId())) {
+                writeJsonLine(current, writer);
+                current = null;
+            }
+            if (current == null) {
+                current = ExportedOrder.of(row);
+            }
+            current.products().add(new ExportedProduct(row.getProductNumber(), row.getProductName(), row.getPrice(), row.getQuantity()));
+        }
+        if (current != null) {
+            writeJsonLine(current, writer);
+        }
+    }
+
+    private void writeJsonLine(ExportedOrder order, Writer writer) throws IOException {
+        writer.write(objectMapper.writeValueAsString(order));
+        writer.write('\n');
+    }
+
+    private static String escapeCsv(String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    private record ExportedOrder(Long orderId, LocalDateTime registeredDateTime, OrderStatus orderStatus, int totalPrice,
+                                 List<ExportedProduct> products) {
+
+        private static ExportedOrder of(OrderExportRow row) {
+            return new ExportedOrder(row.getOrderId(), row.getRegisteredDateTime(), row.getOrderStatus(), row.getTotalPrice(), new ArrayList<>());
+        }
+    }
+
+    private record ExportedProduct(String productNumber, String name, int price, int quantity) {
+    }
+
+}
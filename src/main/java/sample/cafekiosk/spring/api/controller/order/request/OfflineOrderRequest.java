@@ -0,0 +1,68 @@
+package sample.cafekiosk.spring.api.controller.order.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.api.service.order.request.OrderSyncServiceRequest;
+import sample.cafekiosk.spring.domain.order.OrderIdempotencyRecord;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 키오스크가 오프라인 상태에서 받아 둔 주문 한 건
+ *
+ * idempotencyKey : 키오스크가 주문마다 만든 키. 업로드를 다시 시도해도 같은 주문이 두 번 생성되지 않는다.
+ * registeredDateTime : 키오스크에서 주문을 받은 시각. 주문 등록 시각으로 그대로 저장된다.
+ */
+@Getter
+@NoArgsConstructor
+public class OfflineOrderRequest {
+
+    @NotBlank(message = "주문 Idempotency-Key 는 필수입니다.")
+    @Size(max = OrderIdempotencyRecord.MAX_KEY_LENGTH, message = "주문 Idempotency-Key 는 100자 이하여야 합니다.")
+    private String idempotencyKey;
+
+    @NotNull(message = "주문 일시는 필수입니다.")
+    private LocalDateTime registeredDateTime;
+
+    private List<String> productNumbers;
+
+    @Valid
+    private List<OrderItemRequest> orderItems;
+
+    @Builder
+    public OfflineOrderRequest(String idempotencyKey, LocalDateTime registeredDateTime, List<String> productNumbers, List<OrderItemRequest> orderItems) {
+        this.idempotencyKey = idempotencyKey;
+        this.registeredDateTime = registeredDateTime;
+        this.productNumbers = productNumbers;
+        this.orderItems = orderItems;
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "상품 번호 리스트는 필수입니다.")
+    public boolean isProductsPresent() {
+        return toOrderCreateRequest().isProductsPresent();
+    }
+
+    public OrderSyncServiceRequest.OfflineOrder toOfflineOrder() {
+        return new OrderSyncServiceRequest.OfflineOrder(
+                toOrderCreateRequest().toServiceRequest(idempotencyKey),
+                registeredDateTime
+        );
+    }
+
+    private OrderCreateRequest toOrderCreateRequest() {
+        return OrderCreateRequest.builder()
+                .productNumbers(productNumbers)
+                .orderItems(orderItems)
+                .build();
+    }
+
+}
@@ -1,28 +1,57 @@
 package sample.cafekiosk.spring.api.controller.order.request;
 
-import jakarta.validation.constraints.NotEmpty;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.domain.order.OrderLineItems;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+/**
+ * 상품번호 리스트(productNumbers) 또는 상품번호별 수량(orderItems)으로 주문한다.
+ * 단체 주문처럼 같은 상품을 여러 잔 주문할 때는 orderItems 로 수량을 직접 보내는 편이 요청이 작다.
+ */
 @Getter
 @NoArgsConstructor
 public class OrderCreateRequest {
 
-    @NotEmpty(message = "상품 번호 리스트는 필수입니다.")
     private List<String> productNumbers;
 
+    @Valid
+    private List<OrderItemRequest> orderItems;
+
     @Builder
-    public OrderCreateRequest(List<String> productNumbers) {
+    public OrderCreateRequest(List<String> productNumbers, List<OrderItemRequest> orderItems) {
         this.productNumbers = productNumbers;
+        this.orderItems = orderItems;
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "상품 번호 리스트는 필수입니다.")
+    public boolean isProductsPresent() {
+        return (productNumbers != null && !productNumbers.isEmpty())
+                || (orderItems != null && !orderItems.isEmpty());
     }
 
     public OrderCreateServiceRequest toServiceRequest() {
+        return toServiceRequest(null);
+    }
+
+    public OrderCreateServiceRequest toServiceRequest(String idempotencyKey) {
+        Map<String, Integer> productQuantities = new LinkedHashMap<>();
+        if (orderItems != null) {
+            orderItems.forEach(item -> productQuantities.merge(item.getProductNumber(), item.getQuantity(), OrderLineItems::addQuantity));
+        }
         return OrderCreateServiceRequest.builder()
                 .productNumbers(productNumbers)
+                .productQuantities(productQuantities)
+                .idempotencyKey(idempotencyKey)
                 .build();
     }
 }
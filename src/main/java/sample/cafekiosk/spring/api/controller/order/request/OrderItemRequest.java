@@ -0,0 +1,29 @@
+package sample.cafekiosk.spring.api.controller.order.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class OrderItemRequest {
+
+    public static final int MAX_QUANTITY = 1000;
+
+    @NotBlank(message = "상품 번호는 필수입니다.")
+    private String productNumber;
+
+    @Positive(message = "주문 수량은 양수여야 합니다.")
+    @Max(value = MAX_QUANTITY, message = "주문 수량은 " + MAX_QUANTITY + "개 이하여야 합니다.")
+    private int quantity;
+
+    @Builder
+    public OrderItemRequest(String productNumber, int quantity) {
+        this.productNumber = productNumber;
+        this.quantity = quantity;
+    }
+
+}
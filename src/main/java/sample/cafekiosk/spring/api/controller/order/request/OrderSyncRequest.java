@@ -0,0 +1,40 @@
+package sample.cafekiosk.spring.api.controller.order.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.api.service.order.request.OrderSyncServiceRequest;
+
+import java.util.List;
+
+/**
+ * 오프라인 주문 일괄 업로드 요청 (한 번에 최대 1,000건)
+ */
+@Getter
+@NoArgsConstructor
+public class OrderSyncRequest {
+
+    public static final int MAX_ORDER_COUNT = 1_000;
+
+    @Valid
+    @NotEmpty(message = "동기화할 주문은 1건 이상이어야 합니다.")
+    @Size(max = MAX_ORDER_COUNT, message = "한 번에 동기화할 수 있는 주문은 1,000건 이하입니다.")
+    private List<OfflineOrderRequest> orders;
+
+    @Builder
+    public OrderSyncRequest(List<OfflineOrderRequest> orders) {
+        this.orders = orders;
+    }
+
+    public OrderSyncServiceRequest toServiceRequest() {
+        return OrderSyncServiceRequest.builder()
+                .orders(orders.stream()
+                        .map(OfflineOrderRequest::toOfflineOrder)
+                        .toList())
+                .build();
+    }
+
+}
@@ -2,22 +2,37 @@ package sample.cafekiosk.spring.api.controller.product;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 import sample.cafekiosk.spring.api.ApiResponse;
 import sample.cafekiosk.spring.api.controller.product.dto.request.ProductCreateRequest;
 import sample.cafekiosk.spring.api.service.product.ProductService;
+import sample.cafekiosk.spring.api.service.product.SellingMenuProvider;
+import sample.cafekiosk.spring.api.service.product.request.ProductImportServiceRequest;
+import sample.cafekiosk.spring.api.service.product.response.ProductImportResponse;
 import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+import sample.cafekiosk.spring.api.service.product.response.SellingMenuSnapshot;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RequiredArgsConstructor
 @RestController
 public class ProductController {
 
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
     private final ProductService productService;
+    private final SellingMenuProvider sellingMenuProvider;
+    private final ProductImportReader productImportReader;
 
     @PostMapping("/api/v1/products/new")
     public ApiResponse<ProductResponse> createProduct(
@@ -26,10 +41,55 @@ public class ProductController {
         return ApiResponse.ok(productService.createProduct(productCreateRequest.toServiceRequest()));
     }
 
+    /**
+     * 상품 일괄 등록 (JSON 배열 / NDJSON / CSV)
+     * 모든 행이 올바르면 200, 잘못된 행이 있으면 아무것도 등록하지 않고 400 과 함께 행별 결과를 응답한다.
+     */
+    @PostMapping(value = "/api/v1/products/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<ProductImportResponse>> importProducts(
+            @RequestBody List<ProductCreateRequest> productCreateRequests
+    ) {
+        return importProducts(productImportReader.fromJson(productCreateRequests));
+    }
+
+    @PostMapping(value = "/api/v1/products/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ApiResponse<ProductImportResponse>> importNdjsonProducts(InputStream body) throws IOException {
+        return importProducts(productImportReader.fromNdjson(body));
+    }
+
+    @PostMapping(value = "/api/v1/products/import", consumes = TEXT_CSV_VALUE)
+    public ResponseEntity<ApiResponse<ProductImportResponse>> importCsvProducts(InputStream body) throws IOException {
+        return importProducts(productImportReader.fromCsv(body));
+    }
+
+    private ResponseEntity<ApiResponse<ProductImportResponse>> importProducts(ProductImportServiceRequest request) {
+        ProductImportResponse response = productService.importProducts(request);
+        if (response.isRejected()) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.of(HttpStatus.BAD_REQUEST, "잘못된 상품이 있어 등록하지 않았습니다.", response));
+        }
+        return ResponseEntity.ok(ApiResponse.ok(response));
+    }
+
+    /**
+     * 미리 직렬화된 메뉴 스냅샷을 그대로 내려준다.
+     * 키오스크가 이전에 받은 ETag 를 If-None-Match 로 보내면 본문 없이 304 를 응답한다.
+     */
     @GetMapping("/api/v1/products/selling")
-    public ApiResponse<List<ProductResponse>> getSellingProducts() {
-        return ApiResponse.ok(productService.getSellingProducts());
+    public ResponseEntity<byte[]> getSellingProducts(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        SellingMenuSnapshot snapshot = sellingMenuProvider.getSnapshot();
+        if (snapshot.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(snapshot.etag())
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.body());
     }
 
 }
-
@@ -0,0 +1,195 @@
+package sample.cafekiosk.spring.api.controller.product;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import sample.cafekiosk.spring.api.controller.product.dto.request.ProductCreateRequest;
+import sample.cafekiosk.spring.api.service.product.request.ProductImportServiceRequest;
+import sample.cafekiosk.spring.api.service.product.request.ProductImportServiceRequest.Row;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 상품 일괄 등록 본문(JSON 배열, NDJSON, CSV)을 행 단위로 읽어 ProductCreateRequest 와 같은 규칙으로 검증한다.
+ *
+ * NDJSON / CSV 는 한 줄씩 읽으므로 본문 전체를 문자열로 올리지 않는다.
+ * CSV 는 첫 줄이 헤더(type,sellingStatus,name,price)이고, 값에 쉼표가 있으면 큰따옴표로 감싼다.
+ * 행 번호는 1부터 시작하며, CSV 는 헤더를 제외한 데이터 행 기준이다. (헤더가 잘못되면 0번 행의 오류로 돌려준다)
+ * 한 번에 등록할 수 있는 상품은 MAX_ROW_COUNT 개까지이고, 넘으면 나머지 본문을 읽지 않고 IllegalArgumentException(400) 으로 거절한다.
+ */
+@RequiredArgsConstructor
+@Component
+public class ProductImportReader {
+
+    public static final int MAX_ROW_COUNT = 1_000;
+
+    private static final List<String> CSV_HEADER = List.of("type", "sellingStatus", "name", "price");
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    public ProductImportServiceRequest fromJson(List<ProductCreateRequest> requests) {
+        checkRowCount(requests.size());
+        List<Row> rows = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            rows.add(validate(i + 1, requests.get(i)));
+        }
+        return ProductImportServiceRequest.builder()
+                .rows(rows)
+                .build();
+    }
+
+    public ProductImportServiceRequest fromNdjson(InputStream body) throws IOException {
+        List<Row> rows = new ArrayList<>();
+        try (BufferedReader reader = newReader(body)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                checkRowCount(rows.size() + 1);
+                rows.add(readJsonLine(rows.size() + 1, line));
+            }
+        }
+        return ProductImportServiceRequest.builder()
+                .rows(rows)
+                .build();
+    }
+
+    public ProductImportServiceRequest fromCsv(InputStream body) throws IOException {
+        List<Row> rows = new ArrayList<>();
+        try (BufferedReader reader = newReader(body)) {
+            String header = reader.readLine();
+            if (header == null || !CSV_HEADER.equals(splitCsvLine(header.strip()))) {
+                return ProductImportServiceRequest.builder()
+                        .rows(List.of(Row.invalid(0, "CSV 헤더는 " + String.join(",", CSV_HEADER) + " 이어야 합니다.")))
+                        .build();
+            }
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                checkRowCount(rows.size() + 1);
+                rows.add(readCsvLine(rows.size() + 1, line));
+            }
+        }
+        return ProductImportServiceRequest.builder()
+                .rows(rows)
+                .build();
+    }
+
+    private static void checkRowCount(int rowCount) {
+        if (rowCount > MAX_ROW_COUNT) {
+            throw new IllegalArgumentException("한 번에 등록할 수 있는 상품은 1,000개 이하입니다.");
+        }
+    }
+
+    private Row readJsonLine(int rowNumber, String line) {
+        try {
+            return validate(rowNumber, objectMapper.readValue(line, ProductCreateRequest.class));
+        } catch (JsonProcessingException e) {
+            return Row.invalid(rowNumber, "JSON 형식이 올바르지 않습니다.");
+        }
+    }
+
+    private Row readCsvLine(int rowNumber, String line) {
+        List<String> values = splitCsvLine(line);
+        if (values.size() != CSV_HEADER.size()) {
+            return Row.invalid(rowNumber, "CSV 컬럼 수가 올바르지 않습니다.");
+        }
+
+        ProductType type;
+        ProductSellingStatus sellingStatus;
+        int price;
+        try {
+            type = values.get(0).isEmpty() ? null : ProductType.valueOf(values.get(0));
+        } catch (IllegalArgumentException e) {
+            return Row.invalid(rowNumber, "상품 타입이 올바르지 않습니다.");
+        }
+        try {
+            sellingStatus = values.get(1).isEmpty() ? null : ProductSellingStatus.valueOf(values.get(1));
+        } catch (IllegalArgumentException e) {
+            return Row.invalid(rowNumber, "상품 판매상태가 올바르지 않습니다.");
+        }
+        try {
+            price = Integer.parseInt(values.get(3));
+        } catch (NumberFormatException e) {
+            return Row.invalid(rowNumber, "상품 가격은 숫자여야 합니다.");
+        }
+
+        return validate(rowNumber, ProductCreateRequest.builder()
+                .type(type)
+                .sellingStatus(sellingStatus)
+                .name(values.get(2))
+                .price(price)
+                .build());
+    }
+
+    private Row validate(int rowNumber, ProductCreateRequest request) {
+        if (request == null) {
+            return Row.invalid(rowNumber, "상품 정보가 비어 있습니다.");
+        }
+
+        Set<ConstraintViolation<ProductCreateRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                    .map(ConstraintViolation::getMessage)
+                    .findFirst()
+                    .orElseThrow();
+            return Row.invalid(rowNumber, message);
+        }
+        return Row.valid(rowNumber, request.toServiceRequest());
+    }
+
+    /**
+     * 큰따옴표로 감싼 값 안의 쉼표와 "" (이스케이프된 큰따옴표)를 처리하는 최소한의 CSV 분리.
+     */
+    private static List<String> splitCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString().strip());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString().strip());
+        return values;
+    }
+
+    private static BufferedReader newReader(InputStream body) {
+        return new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,274 @@
+package sample.cafekiosk.spring.api.service.mail;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.client.mail.MailSendClient;
+import sample.cafekiosk.spring.domain.history.mail.MailSendHistory;
+import sample.cafekiosk.spring.domain.history.mail.MailSendHistoryRepository;
+import sample.cafekiosk.spring.domain.mail.MailQueue;
+import sample.cafekiosk.spring.domain.mail.MailQueueRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 발송 대기 메일(MailQueue) 발송기
+ *
+ * - 폴링 스레드 하나가 발송 대상 메일을 batchSize 개까지 claimToken 으로 가져오고(SENDING),
+ *   workerThreads 개의 스레드가 나눠서 메일 서버로 보낸다.
+ * - 배치 하나의 결과는 한 트랜잭션에 기록한다. 성공한 메일은 MailSendHistory 를 한 번에 저장하고 대기열에서 지우며,
+ *   실패한 메일은 지수 백오프로 다음 시도 시각을 정하거나 maxAttempts 번 실패했으면 DEAD 로 남긴다.
+ * - 새 메일이 커밋되면 wakeUp() 으로 바로 깨우고, 그렇지 않으면 pollInterval 마다 재시도할 메일을 확인한다.
+ *
+ * 메일을 보낸 뒤 결과를 기록하기 전에 프로세스가 죽으면 claimTimeout 뒤에 다시 보내므로, 같은 메일이 두 번 갈 수 있다. (at-least-once)
+ */
+@Slf4j
+@Component
+public class MailOutboxDispatcher implements SmartLifecycle, DisposableBean {
+
+    private final MailQueueRepository mailQueueRepository;
+    private final MailSendHistoryRepository mailSendHistoryRepository;
+    private final MailSendClient mailSendClient;
+    private final MailOutboxProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService senders;
+    private final Counter retryCounter;
+    private final Counter deadLetterCounter;
+
+    private final Semaphore wakeUps = new Semaphore(0);
+
+    private volatile boolean running;
+    private Thread poller;
+
+    public MailOutboxDispatcher(MailQueueRepository mailQueueRepository,
+                                MailSendHistoryRepository mailSendHistoryRepository,
+                                MailSendClient mailSendClient,
+                                MailOutboxProperties properties,
+                                MeterRegistry meterRegistry,
+                                PlatformTransactionManager transactionManager) {
+        this.mailQueueRepository = mailQueueRepository;
+        this.mailSendHistoryRepository = mailSendHistoryRepository;
+        this.mailSendClient = mailSendClient;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.senders = Executors.newFixedThreadPool(properties.workerThreads(), new SenderThreadFactory());
+        this.retryCounter = meterRegistry.counter("cafekiosk.mail.outbox.retries");
+        this.deadLetterCounter = meterRegistry.counter("cafekiosk.mail.outbox.dead.letters");
+    }
+
+    /**
+     * 발송 대기 메일이 생겼음을 알린다. (메일을 저장한 트랜잭션이 커밋된 뒤 호출)
+     */
+    public void wakeUp() {
+        wakeUps.release();
+    }
+
+    /**
+     * 지금 보낼 수 있는 메일이 없을 때까지 배치를 반복해서 보내고, 시도한 메일 수를 반환한다.
+     */
+    public int dispatchAll() {
+        int total = 0;
+        int dispatched;
+        while ((dispatched = dispatchBatch()) > 0) {
+            total += dispatched;
+        }
+        return total;
+    }
+
+    private int dispatchBatch() {
+        List<MailQueue> mails = transactionTemplate.execute(status -> claim(LocalDateTime.now()));
+        if (mails == null || mails.isEmpty()) {
+            return 0;
+        }
+
+        List<SendResult> results = send(mails);
+        transactionTemplate.executeWithoutResult(status -> complete(results, LocalDateTime.now()));
+        return mails.size();
+    }
+
+    private List<MailQueue> claim(LocalDateTime now) {
+        mailQueueRepository.releaseExpiredClaims(now.minus(properties.claimTimeout()));
+        List<Long> ids = mailQueueRepository.findSendableIds(now, PageRequest.of(0, properties.batchSize()));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        String claimToken = UUID.randomUUID().toString();
+        mailQueueRepository.claim(ids, claimToken, now);
+        return mailQueueRepository.findAllByClaimToken(claimToken);
+    }
+
+    private List<SendResult> send(List<MailQueue> mails) {
+        List<CompletableFuture<SendResult>> futures = mails.stream()
+                .map(mail -> CompletableFuture.supplyAsync(() -> sendOne(mail), senders))
+                .toList();
+        return futures.stream()
+                .map(CompletableFuture::join)
+                .toList();
+    }
+
+    private SendResult sendOne(MailQueue mail) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        SendResult result;
+        try {
+            boolean sent = mailSendClient.sendEmail(mail.getFromEmail(), mail.getToEmail(), mail.getSubject(), mail.getContent());
+            result = sent ? SendResult.success(mail) : SendResult.failure(mail, "메일 서버가 발송을 거절했습니다.");
+        } catch (RuntimeException e) {
+            result = SendResult.failure(mail, e.toString());
+        }
+        sample.stop(meterRegistry.timer("cafekiosk.mail.send", "result", result.error() == null ? "success" : "failure"));
+        return result;
+    }
+
+    private void complete(List<SendResult> results, LocalDateTime now) {
+        List<MailSendHistory> histories = new ArrayList<>();
+        List<Long> sentIds = new ArrayList<>();
+        Map<Long, String> errorsById = new HashMap<>();
+        for (SendResult result : results) {
+            if (result.error() == null) {
+                histories.add(result.mail().toHistory());
+                sentIds.add(result.mail().getId());
+            } else {
+                errorsById.put(result.mail().getId(), result.error());
+            }
+        }
+
+        mailSendHistoryRepository.saveAll(histories);
+        if (!sentIds.isEmpty()) {
+            mailQueueRepository.deleteAllByIdInBatch(sentIds);
+        }
+        if (errorsById.isEmpty()) {
+            return;
+        }
+
+        MailOutboxProperties.Retry retry = properties.retry();
+        for (MailQueue mail : mailQueueRepository.findAllById(errorsById.keySet())) {
+            LocalDateTime retryAt = now.plus(retry.backoff(mail.getAttemptCount() + 1));
+            mail.recordFailure(errorsById.get(mail.getId()), retryAt, retry.maxAttempts());
+            if (mail.isDead()) {
+                deadLetterCounter.increment();
+                log.error("메일을 {}번 보내지 못해 발송을 포기합니다. mailId={}, to={}, error={}",
+                        mail.getAttemptCount(), mail.getId(), mail.getToEmail(), mail.getLastError());
+            } else {
+                retryCounter.increment();
+            }
+        }
+    }
+
+    private void runPoller() {
+        while (running) {
+            try {
+                if (dispatchBatch() < properties.batchSize()) {
+                    wakeUps.tryAcquire(properties.pollInterval().toMillis(), TimeUnit.MILLISECONDS);
+                    wakeUps.drainPermits();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("메일 발송 대기열을 처리하지 못했습니다.", e);
+                try {
+                    Thread.sleep(properties.pollInterval().toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private record SendResult(MailQueue mail, String error) {
+
+        private static SendResult success(MailQueue mail) {
+            return new SendResult(mail, null);
+        }
+
+        private static SendResult failure(MailQueue mail, String error) {
+            return new SendResult(mail, error);
+        }
+
+    }
+
+    private static class SenderThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "mail-sender-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!properties.enabled() || running) {
+            return;
+        }
+
+        running = true;
+        poller = new Thread(this::runPoller, "mail-outbox");
+        poller.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        wakeUp();
+        try {
+            poller.join(properties.shutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (poller.isAlive()) {
+            log.warn("종료 대기 시간 안에 메일 발송을 마치지 못했습니다. 발송 중이던 메일은 claimTimeout 뒤에 다시 보냅니다.");
+            poller.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 웹 서버(graceful shutdown)보다 늦게 멈추도록 더 낮은 phase 를 사용한다.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    @Override
+    public void destroy() {
+        senders.shutdownNow();
+    }
+
+}
@@ -0,0 +1,53 @@
+package sample.cafekiosk.spring.api.service.mail;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * cafekiosk.mail.outbox.* 설정
+ *
+ * enabled : 백그라운드에서 발송 대기 메일을 보낼지 여부. (false 면 MailOutboxDispatcher.dispatchAll() 을 직접 호출해야 보내진다)
+ * workerThreads : 메일 서버에 동시에 보내는 스레드 수
+ * batchSize : 한 번에 가져와서 보내고, 결과를 한 트랜잭션에 기록할 최대 메일 수
+ * pollInterval : 새 메일 알림이 없을 때 발송 대상을 다시 확인하는 주기 (재시도 대기 중인 메일도 이 주기로 확인)
+ * claimTimeout : SENDING 상태로 이 시간 넘게 남아 있으면 발송기가 죽은 것으로 보고 다시 보낸다.
+ * retry : 발송 실패 시 재시도 정책. maxAttempts 번 실패하면 DEAD 로 남긴다.
+ * shutdownTimeout : 종료 시 보내고 있는 메일을 기다리는 최대 시간
+ */
+@ConfigurationProperties(prefix = "cafekiosk.mail.outbox")
+public record MailOutboxProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("8") int workerThreads,
+        @DefaultValue("50") int batchSize,
+        @DefaultValue("1s") Duration pollInterval,
+        @DefaultValue("5m") Duration claimTimeout,
+        @DefaultValue Retry retry,
+        @DefaultValue("30s") Duration shutdownTimeout
+) {
+
+    /**
+     * @param maxAttempts 최초 발송을 포함한 최대 시도 횟수
+     * @param initialBackoff 첫 재시도까지 기다리는 시간
+     * @param maxBackoff 재시도 대기 시간의 상한
+     * @param multiplier 재시도마다 대기 시간을 늘리는 배수
+     */
+    public record Retry(
+            @DefaultValue("5") int maxAttempts,
+            @DefaultValue("10s") Duration initialBackoff,
+            @DefaultValue("10m") Duration maxBackoff,
+            @DefaultValue("2.0") double multiplier
+    ) {
+
+        /**
+         * attempt 번째 실패 후 다음 시도까지 기다릴 시간 (지수 백오프)
+         */
+        public Duration backoff(int attempt) {
+            double backoff = initialBackoff.toMillis() * Math.pow(multiplier, attempt - 1);
+            return Duration.ofMillis((long) Math.min(backoff, maxBackoff.toMillis()));
+        }
+
+    }
+
+}
@@ -1,10 +1,19 @@
 package sample.cafekiosk.spring.api.service.mail;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import sample.cafekiosk.spring.client.mail.MailSendClient;
 import sample.cafekiosk.spring.domain.history.mail.MailSendHistory;
 import sample.cafekiosk.spring.domain.history.mail.MailSendHistoryRepository;
+import sample.cafekiosk.spring.domain.mail.MailQueue;
+import sample.cafekiosk.spring.domain.mail.MailQueueRepository;
+
+import java.time.LocalDateTime;
 
 @RequiredArgsConstructor
 @Service
@@ -12,9 +21,46 @@ public class MailService {
 
     private final MailSendClient mailSendClient;
     private final MailSendHistoryRepository mailSendHistoryRepository;
+    private final MeterRegistry meterRegistry;
+    private final MailQueueRepository mailQueueRepository;
+    private final MailOutboxDispatcher mailOutboxDispatcher;
+
+    /**
+     * 메일을 발송 대기열에 넣고 바로 돌아온다. 발송과 재시도, 발송 이력 저장은 MailOutboxDispatcher 가 한다.
+     *
+     * 호출한 쪽의 트랜잭션에 함께 저장되므로, 그 트랜잭션이 롤백되면 메일도 보내지 않는다.
+     * 커밋된 뒤에 발송기를 깨운다.
+     */
+    @Transactional
+    public Long enqueueMail(String from, String to, String subject, String content) {
+        MailQueue mail = mailQueueRepository.save(MailQueue.create(from, to, subject, content, LocalDateTime.now()));
 
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    mailOutboxDispatcher.wakeUp();
+                }
+            });
+        } else {
+            mailOutboxDispatcher.wakeUp();
+        }
+        return mail.getId();
+    }
+
+    /**
+     * 호출한 스레드에서 바로 메일을 보낸다. (재시도 없음)
+     * 메일 발송 시간을 cafekiosk.mail.send 로 잰다. 발송 결과가 false 이거나 예외가 나면 result=failure 로 남는다.
+     */
     public boolean sendMail(String from, String to, String subject, String content) {
-        boolean result = mailSendClient.sendEmail(from, to, subject, content);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        boolean result = false;
+        try {
+            result = mailSendClient.sendEmail(from, to, subject, content);
+        } finally {
+            sample.stop(meterRegistry.timer("cafekiosk.mail.send", "result", result ? "success" : "failure"));
+        }
+
         if (result) {
             mailSendHistoryRepository.save(MailSendHistory.builder()
                 .fromEmail(from)
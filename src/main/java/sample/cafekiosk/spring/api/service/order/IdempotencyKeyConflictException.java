@@ -0,0 +1,13 @@
+package sample.cafekiosk.spring.api.service.order;
+
+/**
+ * 같은 Idempotency-Key 로 다른 내용의 주문이 오거나, 먼저 온 같은 요청이 inFlightTimeout 안에 끝나지 않은 경우
+ * 오프라인 주문 동기화 도중 같은 키의 주문이 먼저 커밋된 경우에도 발생한다. (같은 요청을 다시 보내면 된다)
+ */
+public class IdempotencyKeyConflictException extends RuntimeException {
+
+    public IdempotencyKeyConflictException(String message) {
+        super(message);
+    }
+
+}
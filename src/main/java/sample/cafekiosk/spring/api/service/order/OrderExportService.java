@@ -0,0 +1,43 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sample.cafekiosk.spring.api.service.order.request.OrderExportServiceRequest;
+import sample.cafekiosk.spring.domain.order.OrderExportRow;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+
+import java.io.IOException;
+import java.util.stream.Stream;
+
+/**
+ * 기간 내 주문을 주문상품 단위 행으로 내보낸다.
+ *
+ * 결과를 List 로 모으지 않고 DB 커서에서 읽는 대로 rowWriter 에 넘기므로, 기간이 길어도 메모리 사용량이 늘지 않는다.
+ * 커서는 트랜잭션 안에서만 읽을 수 있으므로 rowWriter 는 이 메서드 안에서 행을 모두 소비해야 한다.
+ */
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@Service
+public class OrderExportService {
+
+    private final OrderRepository orderRepository;
+
+    public void exportOrders(OrderExportServiceRequest request, RowWriter rowWriter) throws IOException {
+        try (Stream<OrderExportRow> rows = orderRepository.streamExportRowsBy(
+                request.getStartDateTime(),
+                request.getEndDateTime(),
+                request.getAfterId()
+        )) {
+            rowWriter.write(rows);
+        }
+    }
+
+    @FunctionalInterface
+    public interface RowWriter {
+
+        void write(Stream<OrderExportRow> rows) throws IOException;
+
+    }
+
+}
@@ -0,0 +1,112 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.stock.StockConflictException;
+import sample.cafekiosk.spring.api.service.stock.StockContentionMetrics;
+import sample.cafekiosk.spring.api.service.stock.StockDeductionMode;
+import sample.cafekiosk.spring.api.service.stock.StockProperties;
+import sample.cafekiosk.spring.api.service.stock.StockRetryExhaustedException;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * OrderService 의 트랜잭션 바깥에서 주문 생성을 감싸는 역할.
+ *
+ * OPTIMISTIC 모드에서 재고 충돌(StockConflictException)이 발생하면 트랜잭션이 롤백된 뒤
+ * 재시도 정책(cafekiosk.stock.retry)에 따라 주문 전체를 새 트랜잭션으로 다시 시도한다.
+ * (롤백된 트랜잭션 안에서는 재시도할 수 없기 때문에 @Transactional 이 붙은 OrderService 와 분리)
+ *
+ * 주문 생성 시간(OrderMetrics)도 커밋과 재시도가 포함되도록 여기서 잰다.
+ * write-behind 모드의 대기열 자리도 트랜잭션(재고 행 잠금)을 시작하기 전에 여기서 시도마다 확보한다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class OrderFacade {
+
+    private final OrderService orderService;
+    private final StockProperties stockProperties;
+    private final StockContentionMetrics stockContentionMetrics;
+    private final OrderMetrics orderMetrics;
+    private final OrderIdempotencyCache orderIdempotencyCache;
+    private final OrderWriteBehindPipeline orderWriteBehindPipeline;
+
+    /**
+     * Idempotency-Key 가 있으면 OrderIdempotencyCache 를 거친다. 이미 처리된 키에 돌려준 응답은 주문 생성 지표에 다시 세지 않는다.
+     */
+    public OrderResponse createOrder(OrderCreateServiceRequest request, LocalDateTime registeredDateTime) {
+        if (request.getIdempotencyKey() == null) {
+            return createMeasuredOrder(request, registeredDateTime);
+        }
+        return orderIdempotencyCache.execute(request, () -> createMeasuredOrder(request, registeredDateTime));
+    }
+
+    private OrderResponse createMeasuredOrder(OrderCreateServiceRequest request, LocalDateTime registeredDateTime) {
+        Timer.Sample sample = orderMetrics.startCreate();
+        try {
+            OrderResponse order = createOrderWithRetry(request, registeredDateTime);
+            orderMetrics.recordCreate(sample, null);
+            orderMetrics.recordCreated(order);
+            return order;
+        } catch (RuntimeException e) {
+            orderMetrics.recordCreate(sample, e);
+            throw e;
+        }
+    }
+
+    private OrderResponse createOrderWithRetry(OrderCreateServiceRequest request, LocalDateTime registeredDateTime) {
+        if (stockProperties.deductionMode() != StockDeductionMode.OPTIMISTIC) {
+            return createOrderOnce(request, registeredDateTime);
+        }
+
+        StockProperties.Retry retry = stockProperties.retry();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return createOrderOnce(request, registeredDateTime);
+            } catch (StockConflictException e) {
+                stockContentionMetrics.recordConflict(e.getProductNumbers());
+                if (attempt >= retry.maxAttempts()) {
+                    stockContentionMetrics.recordFailure(e.getProductNumbers());
+                    log.warn("재고 충돌로 주문 재시도 횟수({})를 모두 소진했습니다. {}", attempt, e.getProductNumbers());
+                    throw new StockRetryExhaustedException(e);
+                }
+
+                stockContentionMetrics.recordRetry(e.getProductNumbers());
+                backoff(retry.backoffMillisBound(attempt));
+            }
+        }
+    }
+
+    /**
+     * 주문 트랜잭션에 넘기지 못한 대기열 자리(재고 부족 등)는 try-with-resources 로 돌려준다.
+     */
+    private OrderResponse createOrderOnce(OrderCreateServiceRequest request, LocalDateTime registeredDateTime) {
+        if (!orderWriteBehindPipeline.isEnabled()) {
+            return orderService.createOrder(request, registeredDateTime);
+        }
+
+        try (OrderWriteBehindPipeline.QueueSlot queueSlot = orderWriteBehindPipeline.reserveSlot()) {
+            return orderService.createOrder(request, registeredDateTime, queueSlot);
+        }
+    }
+
+    private void backoff(long bound) {
+        if (bound <= 0) {
+            return;
+        }
+
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(bound + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("주문 재시도 대기 중 인터럽트가 발생했습니다.", e);
+        }
+    }
+
+}
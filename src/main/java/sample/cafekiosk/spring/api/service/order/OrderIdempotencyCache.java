@@ -0,0 +1,208 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.domain.order.OrderIdempotencyRecord;
+import sample.cafekiosk.spring.domain.order.OrderIdempotencyRecordRepository;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 별 주문 응답 캐시
+ *
+ * - 처리한 키의 응답은 메모리(LRU, cacheSize)에 두고 같은 키의 재요청에는 주문을 다시 만들지 않고 그 응답을 돌려준다.
+ * - 같은 키의 요청이 동시에 오면 먼저 온 요청만 주문을 만들고, 나머지는 그 결과(성공 응답 또는 예외)를 기다린다.
+ * - 응답은 OrderService 가 주문 트랜잭션 안에서 OrderIdempotencyRecord 로도 저장한다. (record)
+ *   새 키는 DB 를 조회하지 않고 바로 주문을 만들고, 메모리에 없는 이미 처리된 키(재시작, 다른 서버, LRU 제거)는
+ *   unique 제약 위반으로 주문이 롤백된 뒤 DB 에 저장된 응답을 돌려준다.
+ * - 실패한 주문은 기록하지 않으므로 같은 키로 다시 시도할 수 있다.
+ * - 메모리의 응답도 처리 시각을 함께 두고 retention 이 지나면 없는 키로 본다. (DB 에서 삭제된 키를 이 서버만 계속 재사용하지 않도록)
+ */
+@Slf4j
+@Component
+public class OrderIdempotencyCache {
+
+    private final OrderIdempotencyRecordRepository orderIdempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final OrderIdempotencyProperties properties;
+    private final Clock clock;
+
+    private final LinkedHashMap<String, CompletedRequest> completedRequests;
+    private final Map<String, InFlightRequest> inFlightRequests = new HashMap<>();
+
+    @Autowired
+    public OrderIdempotencyCache(OrderIdempotencyRecordRepository orderIdempotencyRecordRepository,
+                                 ObjectMapper objectMapper,
+                                 OrderIdempotencyProperties properties) {
+        this(orderIdempotencyRecordRepository, objectMapper, properties, Clock.systemDefaultZone());
+    }
+
+    public OrderIdempotencyCache(OrderIdempotencyRecordRepository orderIdempotencyRecordRepository,
+                                 ObjectMapper objectMapper,
+                                 OrderIdempotencyProperties properties,
+                                 Clock clock) {
+        this.orderIdempotencyRecordRepository = orderIdempotencyRecordRepository;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.clock = clock;
+        this.completedRequests = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompletedRequest> eldest) {
+                return size() > properties.cacheSize();
+            }
+        };
+    }
+
+    public OrderResponse execute(OrderCreateServiceRequest request, Supplier<OrderResponse> createOrder) {
+        String idempotencyKey = request.getIdempotencyKey();
+        if (idempotencyKey.length() > OrderIdempotencyRecord.MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key 는 %d자 이하여야 합니다.".formatted(OrderIdempotencyRecord.MAX_KEY_LENGTH));
+        }
+        String requestHash = request.getRequestHash();
+
+        InFlightRequest owned = null;
+        InFlightRequest inFlight;
+        synchronized (this) {
+            CompletedRequest completed = completedRequests.get(idempotencyKey);
+            if (completed != null && completed.isRecordedBefore(LocalDateTime.now(clock).minus(properties.retention()))) {
+                completedRequests.remove(idempotencyKey);
+                completed = null;
+            }
+            if (completed != null) {
+                return completed.responseFor(requestHash);
+            }
+            inFlight = inFlightRequests.get(idempotencyKey);
+            if (inFlight == null) {
+                owned = new InFlightRequest(requestHash, new CompletableFuture<>());
+                inFlightRequests.put(idempotencyKey, owned);
+            }
+        }
+        if (owned == null) {
+            return await(inFlight, requestHash);
+        }
+
+        try {
+            CompletedRequest completed = createOrLoad(idempotencyKey, requestHash, createOrder);
+            synchronized (this) {
+                completedRequests.put(idempotencyKey, completed);
+                inFlightRequests.remove(idempotencyKey);
+            }
+            OrderResponse response = completed.responseFor(requestHash);
+            owned.future().complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                inFlightRequests.remove(idempotencyKey);
+            }
+            owned.future().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 주문 트랜잭션 안에서 호출해 응답을 주문과 함께 커밋한다.
+     */
+    public void record(OrderCreateServiceRequest request, OrderResponse response) {
+        orderIdempotencyRecordRepository.save(OrderIdempotencyRecord.create(
+                request.getIdempotencyKey(),
+                request.getRequestHash(),
+                response.id(),
+                writeResponse(response)
+        ));
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${cafekiosk.order.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpiredRecords() {
+        int deletedCount = orderIdempotencyRecordRepository.deleteAllCreatedBefore(LocalDateTime.now().minus(properties.retention()));
+        if (deletedCount > 0) {
+            log.info("보관 기간이 지난 주문 Idempotency-Key {}건을 삭제했습니다.", deletedCount);
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        completedRequests.clear();
+    }
+
+    private CompletedRequest createOrLoad(String idempotencyKey, String requestHash, Supplier<OrderResponse> createOrder) {
+        try {
+            OrderResponse response = createOrder.get();
+            return new CompletedRequest(requestHash, response, LocalDateTime.now(clock));
+        } catch (DataIntegrityViolationException e) {
+            return orderIdempotencyRecordRepository.findByIdempotencyKey(idempotencyKey)
+                    .map(record -> new CompletedRequest(record.getRequestHash(), readResponse(record.getResponseBody()), record.getCreatedDateTime()))
+                    .orElseThrow(() -> e);
+        }
+    }
+
+    private OrderResponse await(InFlightRequest inFlight, String requestHash) {
+        if (!inFlight.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyConflictException("같은 Idempotency-Key 로 다른 주문이 처리되고 있습니다.");
+        }
+
+        try {
+            return inFlight.future().get(properties.inFlightTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IdempotencyKeyConflictException("같은 Idempotency-Key 의 주문을 아직 처리하고 있습니다. 잠시 후 다시 시도해주세요.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("주문 처리 결과를 기다리는 중 인터럽트가 발생했습니다.", e);
+        }
+    }
+
+    private String writeResponse(OrderResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("주문 응답을 저장할 수 없습니다.", e);
+        }
+    }
+
+    private OrderResponse readResponse(String responseBody) {
+        try {
+            return objectMapper.readValue(responseBody, OrderResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("저장된 주문 응답을 읽을 수 없습니다.", e);
+        }
+    }
+
+    private record InFlightRequest(String requestHash, CompletableFuture<OrderResponse> future) {
+    }
+
+    private record CompletedRequest(String requestHash, OrderResponse response, LocalDateTime recordedDateTime) {
+
+        private boolean isRecordedBefore(LocalDateTime dateTime) {
+            return recordedDateTime.isBefore(dateTime);
+        }
+
+        private OrderResponse responseFor(String requestHash) {
+            if (!this.requestHash.equals(requestHash)) {
+                throw new IdempotencyKeyConflictException("같은 Idempotency-Key 로 이미 다른 주문이 처리되었습니다.");
+            }
+            return response;
+        }
+    }
+
+}
@@ -0,0 +1,21 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * cafekiosk.order.idempotency.* 설정
+ *
+ * cacheSize : 메모리에 보관하는 최근 주문 응답 수 (초과 시 가장 오래 사용되지 않은 키부터 제거하고, 이후에는 DB 에 저장된 응답을 쓴다)
+ * inFlightTimeout : 같은 키의 주문이 처리 중일 때 그 결과를 기다리는 최대 시간
+ * retention : DB 에 저장된 응답을 보관하는 기간. 이 기간이 지난 키는 새 요청으로 처리된다.
+ */
+@ConfigurationProperties(prefix = "cafekiosk.order.idempotency")
+public record OrderIdempotencyProperties(
+        @DefaultValue("10000") int cacheSize,
+        @DefaultValue("10s") Duration inFlightTimeout,
+        @DefaultValue("24h") Duration retention
+) {
+}
@@ -0,0 +1,91 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import sample.cafekiosk.spring.api.service.order.response.OrderProductResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.stock.StockDeductionMode;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 생성 지표 (Micrometer)
+ *
+ * - cafekiosk.order.create : 주문 생성 시간. 커밋과 OPTIMISTIC 재시도까지 포함한다. (exception 태그로 실패 원인 구분)
+ * - cafekiosk.order.line.items : 주문 하나에 담긴 상품 종류 수
+ * - cafekiosk.order.product.quantity : 상품 타입별 주문 수량
+ * - cafekiosk.stock.deduction : 재고 차감 시간 (mode 태그)
+ * - cafekiosk.stock.shortage : 재고 부족으로 거절된 주문 수 (mode 태그)
+ *
+ * 주문마다 기록하는 지표는 생성자에서 미리 등록해두고, 태그 조합이 정해지지 않은 주문 생성 시간만 호출할 때 찾는다.
+ */
+@Component
+public class OrderMetrics {
+
+    private static final String CREATE_TIMER = "cafekiosk.order.create";
+
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary lineItems;
+    private final Map<ProductType, Counter> quantitiesByType = new EnumMap<>(ProductType.class);
+    private final Map<StockDeductionMode, Timer> stockDeductionTimers = new EnumMap<>(StockDeductionMode.class);
+    private final Map<StockDeductionMode, Counter> stockShortageCounters = new EnumMap<>(StockDeductionMode.class);
+
+    public OrderMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.lineItems = DistributionSummary.builder("cafekiosk.order.line.items")
+                .description("주문 하나에 담긴 상품 종류 수")
+                .register(meterRegistry);
+        for (ProductType type : ProductType.values()) {
+            quantitiesByType.put(type, Counter.builder("cafekiosk.order.product.quantity")
+                    .description("상품 타입별 주문 수량")
+                    .tag("type", type.name())
+                    .register(meterRegistry));
+        }
+        for (StockDeductionMode mode : StockDeductionMode.values()) {
+            stockDeductionTimers.put(mode, Timer.builder("cafekiosk.stock.deduction")
+                    .description("주문 하나의 재고 차감 시간")
+                    .tag("mode", mode.name())
+                    .register(meterRegistry));
+            stockShortageCounters.put(mode, Counter.builder("cafekiosk.stock.shortage")
+                    .description("재고 부족으로 거절된 주문 수")
+                    .tag("mode", mode.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    public Timer.Sample startCreate() {
+        return Timer.start(meterRegistry);
+    }
+
+    /**
+     * @param error 주문 생성에 실패한 경우 그 예외, 성공한 경우 null
+     */
+    public void recordCreate(Timer.Sample sample, Throwable error) {
+        sample.stop(Timer.builder(CREATE_TIMER)
+                .description("주문 생성 시간")
+                .tag("exception", error == null ? "none" : error.getClass().getSimpleName())
+                .register(meterRegistry));
+    }
+
+    public void recordCreated(OrderResponse order) {
+        lineItems.record(order.products().size());
+        for (OrderProductResponse product : order.products()) {
+            quantitiesByType.get(product.type()).increment(product.quantity());
+        }
+    }
+
+    public void recordStockDeduction(StockDeductionMode mode, long elapsedNanos) {
+        stockDeductionTimers.get(mode).record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordStockShortage(StockDeductionMode mode) {
+        stockShortageCounters.get(mode).increment();
+    }
+
+}
@@ -0,0 +1,58 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sample.cafekiosk.spring.api.service.order.request.OrderSearchServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderPageResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 주문 조회 (주문 내역, 영수증 재출력 등)
+ *
+ * 주문 + 주문상품 + 상품을 fetch join 으로 읽으므로 주문상품 수와 상관없이 쿼리 수가 일정하다.
+ * - 단건 조회: 1번
+ * - 목록 조회: 주문 id 페이지 1번 + 전체 건수 1번 + 해당 주문들의 주문상품/상품 1번
+ */
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@Service
+public class OrderQueryService {
+
+    private final OrderRepository orderRepository;
+
+    public OrderResponse getOrder(Long orderId) {
+        Order order = orderRepository.findWithProductsById(orderId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 주문입니다."));
+        return OrderResponse.of(order);
+    }
+
+    public OrderPageResponse getOrders(OrderSearchServiceRequest request) {
+        Page<Long> orderIds = orderRepository.findIdsBy(
+                request.getStartDateTime(),
+                request.getEndDateTime(),
+                request.getOrderStatus(),
+                PageRequest.of(request.getPage(), request.getSize())
+        );
+
+        List<OrderResponse> orders = List.of();
+        if (orderIds.hasContent()) {
+            Map<Long, Order> orderMap = orderRepository.findAllWithProductsByIdIn(orderIds.getContent()).stream()
+                    .collect(Collectors.toMap(Order::getId, Function.identity()));
+            orders = orderIds.getContent().stream()
+                    .map(orderId -> OrderResponse.of(orderMap.get(orderId)))
+                    .toList();
+        }
+        return new OrderPageResponse(orders, request.getPage(), request.getSize(), orderIds.getTotalElements());
+    }
+
+}
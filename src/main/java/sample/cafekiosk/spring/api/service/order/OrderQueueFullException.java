@@ -0,0 +1,13 @@
+package sample.cafekiosk.spring.api.service.order;
+
+/**
+ * write-behind 대기열이 가득 찼거나 애플리케이션이 종료 중이라 주문을 받을 수 없는 경우.
+ * 주문 트랜잭션이 롤백되므로 차감한 재고도 함께 되돌려진다.
+ */
+public class OrderQueueFullException extends RuntimeException {
+
+    public OrderQueueFullException(String message) {
+        super(message);
+    }
+
+}
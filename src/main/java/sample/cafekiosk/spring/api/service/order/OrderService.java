@@ -1,22 +1,28 @@
 package sample.cafekiosk.spring.api.service.order;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
 import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.product.ProductCatalogCache;
+import sample.cafekiosk.spring.api.service.stock.StockBusyException;
+import sample.cafekiosk.spring.api.service.stock.StockConflictException;
+import sample.cafekiosk.spring.api.service.stock.StockDeductionMode;
+import sample.cafekiosk.spring.api.service.stock.StockProperties;
+import sample.cafekiosk.spring.api.service.stock.StockReservationEngine;
 import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderLineItems;
 import sample.cafekiosk.spring.domain.order.OrderRepository;
-import sample.cafekiosk.spring.domain.product.Product;
-import sample.cafekiosk.spring.domain.product.ProductRepository;
-import sample.cafekiosk.spring.domain.product.ProductType;
 import sample.cafekiosk.spring.domain.stock.Stock;
 import sample.cafekiosk.spring.domain.stock.StockRepository;
 
 import java.time.LocalDateTime;
-import java.util.HashSet;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 
 @Transactional
@@ -24,67 +30,149 @@ import java.util.stream.Collectors;
 @Service
 public class OrderService {
 
-    private final ProductRepository productRepository;
+    private final ProductCatalogCache productCatalogCache;
     private final OrderRepository orderRepository;
     private final StockRepository stockRepository;
+    private final StockReservationEngine stockReservationEngine;
+    private final StockProperties stockProperties;
+    private final OrderWriteBehindPipeline orderWriteBehindPipeline;
+    private final OrderMetrics orderMetrics;
+    private final OrderIdempotencyCache orderIdempotencyCache;
 
     public OrderResponse createOrder(OrderCreateServiceRequest request, LocalDateTime registeredDateTime) {
-        List<String> productNumbers = request.getProductNumbers();
-        List<Product> products = findProductsBy(productNumbers);
-
-        deductStockQuantities(products);
+        return createOrder(request, registeredDateTime, null);
+    }
 
-        Order order = Order.create(products, registeredDateTime);
-        Order savedOrder = orderRepository.save(order);
+    /**
+     * write-behind 모드(cafekiosk.order.write-behind.enabled)에서는 재고만 이 트랜잭션에서 차감하고,
+     * 주문은 ID 만 할당받아 응답한 뒤 OrderWriteBehindPipeline 이 커밋 이후에 모아서 저장한다.
+     * 이때 대기열 자리(queueSlot)는 트랜잭션 바깥에서 OrderFacade 가 미리 확보해서 넘긴다.
+     * Idempotency-Key 가 있는 주문은 응답도 이 트랜잭션에서 함께 기록한다.
+     */
+    public OrderResponse createOrder(OrderCreateServiceRequest request, LocalDateTime registeredDateTime,
+                                     OrderWriteBehindPipeline.QueueSlot queueSlot) {
+        OrderLineItems lineItems = request.getLineItems();
+        lineItems.bindProducts(productCatalogCache.findAllByProductNumberIn(lineItems.getProductNumbers()));
+
+        deductStockQuantities(lineItems);
+
+        Order order = Order.create(lineItems, registeredDateTime);
+        OrderResponse response;
+        if (orderWriteBehindPipeline.isEnabled()) {
+            if (queueSlot == null) {
+                throw new IllegalStateException("write-behind 모드에서는 대기열 자리를 확보한 뒤 주문을 생성해야 합니다.");
+            }
+            response = OrderResponse.of(orderWriteBehindPipeline.submit(order, queueSlot), order);
+        } else {
+            response = OrderResponse.of(orderRepository.save(order));
+        }
 
-        return OrderResponse.of(savedOrder);
+        if (request.getIdempotencyKey() != null) {
+            orderIdempotencyCache.record(request, response);
+        }
+        return response;
     }
 
     /**
      * 재고감소 --> 동시성 문제에 대한 고민 필요.
      * Optimistic Lock 혹은 Pessimistic Lock 혹은 ... 고민 필요.
+     *
+     * CONDITIONAL_UPDATE : 재고 엔티티를 조회하지 않고 상품별 조건부 UPDATE 의 결과 row 수로 재고 부족을 판단한다.
+     * RESERVATION : 메모리 카운터에서 CAS 로 예약하고, Stock 테이블에는 StockReservationEngine 이 비동기로 반영한다.
+     * OPTIMISTIC : Stock 의 @Version 으로 충돌을 감지하고 StockConflictException 을 던진다. (재시도는 OrderFacade 가 담당)
+     * PESSIMISTIC : 재고 행을 상품번호 순서로 잠근 뒤 차감한다. lockTimeout 안에 잠그지 못하면 StockBusyException 을 던진다.
+     *
+     * 재고 대상 상품은 lineItems 가 상품번호 순으로 정렬해 둔 재고 인덱스를 한 번 순회하며 고르고, 수량도 lineItems 의 int 수량을 그대로 쓴다.
+     * 행 잠금을 잡는 모드(CONDITIONAL_UPDATE, PESSIMISTIC)는 모든 주문이 상품번호 순서로 재고 행을 변경하므로 교착 상태가 생기지 않는다.
+     * 재고 차감 시간과 재고 부족으로 거절된 주문 수는 차감 방식별로 OrderMetrics 에 남긴다.
      */
-    private void deductStockQuantities(List<Product> products) {
-        List<String> stockProductNumbers = extractStockProductNumbers(products);
-
-        Map<String, Stock> stockMap = createStockMapBy(stockProductNumbers);
-        Map<String, Long> productCountingMap = createCountingMapBy(stockProductNumbers);
-
-        for (String stockProductNumber : new HashSet<>(stockProductNumbers)) {
-            Stock stock = stockMap.get(stockProductNumber);
-            int quantity = productCountingMap.get(stockProductNumber).intValue();
+    private void deductStockQuantities(OrderLineItems lineItems) {
+        StockDeductionMode mode = stockProperties.deductionMode();
+        long startedAt = System.nanoTime();
+        try {
+            switch (mode) {
+                case CONDITIONAL_UPDATE -> deductStockQuantitiesIfEnough(lineItems);
+                case RESERVATION -> stockReservationEngine.reserve(lineItems);
+                case DIRTY_CHECKING -> deductStockEntityQuantities(lineItems);
+                case OPTIMISTIC -> deductVersionedStockQuantities(lineItems);
+                case PESSIMISTIC -> deductLockedStockQuantities(lineItems);
+            }
+        } catch (IllegalArgumentException e) {
+            orderMetrics.recordStockShortage(mode);
+            throw e;
+        } finally {
+            orderMetrics.recordStockDeduction(mode, System.nanoTime() - startedAt);
+        }
+    }
 
-            if (stock.isQuantityLessThan(quantity)) {
+    private void deductStockQuantitiesIfEnough(OrderLineItems lineItems) {
+        for (int i = 0; i < lineItems.stockCount(); i++) {
+            int index = lineItems.getStockIndex(i);
+            int deductedCount = stockRepository.deductQuantityIfEnough(lineItems.getProductNumber(index), lineItems.getQuantity(index));
+            if (deductedCount == 0) {
                 throw new IllegalArgumentException("재고가 부족한 상품이 있습니다.");
             }
-            stock.deductQuantity(quantity);
         }
     }
 
-    private List<Product> findProductsBy(List<String> productNumbers) {
-        Map<String, Product> productMap = productRepository.findAllByProductNumberIn(productNumbers).stream()
-                .collect(Collectors.toMap(Product::getProductNumber, product -> product));
+    private void deductLockedStockQuantities(OrderLineItems lineItems) {
+        List<String> stockProductNumbers = extractStockProductNumbers(lineItems);
+        List<Stock> stocks;
+        try {
+            stocks = stockRepository.lockAllByProductNumbersInOrder(stockProductNumbers, stockProperties.lockTimeout());
+        } catch (PessimisticLockingFailureException e) {
+            throw new StockBusyException(e);
+        }
+        deductQuantities(lineItems, stockProductNumbers, stocks);
+    }
+
+    private void deductVersionedStockQuantities(OrderLineItems lineItems) {
+        List<Stock> stocks = deductStockEntityQuantities(lineItems);
 
-        return productNumbers.stream()
-                .map(productMap::get)
-                .collect(Collectors.toList());
+        try {
+            stockRepository.flush();
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new StockConflictException(findConflictedProductNumbers(stocks, e.getIdentifier()), e);
+        } catch (ConcurrencyFailureException e) {
+            throw new StockConflictException(stocks.stream().map(Stock::getProductNumber).toList(), e);
+        }
     }
 
-    private List<String> extractStockProductNumbers(List<Product> products) {
-        return products.stream()
-                .filter(product -> ProductType.containsStockType(product.getType()))
-                .map(Product::getProductNumber)
+    private List<String> findConflictedProductNumbers(List<Stock> stocks, Object stockId) {
+        return stocks.stream()
+                .filter(stock -> stock.getId().equals(stockId))
+                .map(Stock::getProductNumber)
                 .collect(Collectors.toList());
     }
 
-    private Map<String, Stock> createStockMapBy(List<String> stockProductNumbers) {
-        return stockRepository.findAllByProductNumberIn(stockProductNumbers).stream()
-                .collect(Collectors.toMap(Stock::getProductNumber, stock -> stock));
+    private List<Stock> deductStockEntityQuantities(OrderLineItems lineItems) {
+        List<String> stockProductNumbers = extractStockProductNumbers(lineItems);
+        List<Stock> stocks = stockRepository.findAllByProductNumberIn(stockProductNumbers);
+        deductQuantities(lineItems, stockProductNumbers, stocks);
+        return stocks;
     }
 
-    private Map<String, Long> createCountingMapBy(List<String> stockProductNumbers) {
-        return stockProductNumbers.stream()
-                .collect(Collectors.groupingBy(productNumber -> productNumber, Collectors.counting()));
+    private void deductQuantities(OrderLineItems lineItems, List<String> stockProductNumbers, List<Stock> stocks) {
+        if (stocks.size() < stockProductNumbers.size()) {
+            throw new IllegalArgumentException("재고가 부족한 상품이 있습니다.");
+        }
+
+        for (Stock stock : stocks) {
+            int quantity = lineItems.getQuantity(lineItems.indexOf(stock.getProductNumber()));
+
+            if (stock.isQuantityLessThan(quantity)) {
+                throw new IllegalArgumentException("재고가 부족한 상품이 있습니다.");
+            }
+            stock.deductQuantity(quantity);
+        }
+    }
+
+    private List<String> extractStockProductNumbers(OrderLineItems lineItems) {
+        List<String> stockProductNumbers = new ArrayList<>(lineItems.stockCount());
+        for (int i = 0; i < lineItems.stockCount(); i++) {
+            stockProductNumbers.add(lineItems.getProductNumber(lineItems.getStockIndex(i)));
+        }
+        return stockProductNumbers;
     }
 
 }
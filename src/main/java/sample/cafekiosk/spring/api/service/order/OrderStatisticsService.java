@@ -3,43 +3,98 @@ package sample.cafekiosk.spring.api.service.order;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import sample.cafekiosk.spring.api.service.mail.MailService;
-import sample.cafekiosk.spring.domain.order.Order;
 import sample.cafekiosk.spring.domain.order.OrderRepository;
 import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.order.ProductSalesSummary;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.sales.HourlySalesRepository;
+import sample.cafekiosk.spring.domain.sales.SalesSummary;
 
 import java.time.LocalDate;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @RequiredArgsConstructor
 @Service
 public class OrderStatisticsService {
 
+    private static final int TOP_SELLER_COUNT = 3;
+
+    private final HourlySalesRepository hourlySalesRepository;
     private final OrderRepository orderRepository;
     private final MailService mailService;
 
-    public boolean sendOrderStatisticsMail(LocalDate orderDate, String email) {
-        List<Order> orders = orderRepository.findOrdersBy(
+    /**
+     * 결제완료 주문 엔티티를 읽지 않는다.
+     *
+     * - 주문 수 / 매출 합계 : 결제완료 시점에 누적해 둔 시간대별 매출 집계(HourlySales)를 합산한다.
+     * - 판매 상품 수 / 상품 타입별 판매 수 / 많이 팔린 상품 : 상품별 판매 수량 집계 쿼리 한 번으로 구한다.
+     *
+     * 주문 수와 관계없이 실행되는 쿼리 수가 일정하다.
+     * 메일은 발송 대기열에 넣고 바로 돌아오며, 발송에 실패하면 MailOutboxDispatcher 가 재시도한다.
+     *
+     * @return 발송 대기열에 넣은 메일 ID
+     */
+    public Long sendOrderStatisticsMail(LocalDate orderDate, String email) {
+        SalesSummary salesSummary = hourlySalesRepository.summarizeBy(orderDate);
+        List<ProductSalesSummary> productSalesSummaries = orderRepository.summarizeProductSalesBy(
                 orderDate.atStartOfDay(),
                 orderDate.plusDays(1).atStartOfDay(),
                 OrderStatus.PAYMENT_COMPLETED
         );
 
-        int totalAmount = orders.stream()
-                .mapToInt(Order::getTotalPrice)
-                .sum();
-
-        boolean result = mailService.sendMail(
+        return mailService.enqueueMail(
                 "no-reply@cafekiosk.com",
                 email,
                 String.format("[매출 통계] %s", orderDate),
-                String.format("총 매출 합계는 %s원입니다.", totalAmount)
+                createContent(salesSummary, productSalesSummaries)
         );
+    }
+
+    private String createContent(SalesSummary salesSummary, List<ProductSalesSummary> productSalesSummaries) {
+        long itemCount = productSalesSummaries.stream()
+                .mapToLong(ProductSalesSummary::getItemCount)
+                .sum();
+
+        return String.join("\n",
+                String.format("총 매출 합계는 %s원입니다.", salesSummary.getTotalAmount()),
+                String.format("주문 수: %d건, 판매 상품 수: %d개", salesSummary.getOrderCount(), itemCount),
+                String.format("상품 타입별 판매 수: %s", formatItemCountsByType(productSalesSummaries)),
+                String.format("많이 팔린 상품: %s", formatTopSellers(productSalesSummaries))
+        );
+    }
+
+    private String formatItemCountsByType(List<ProductSalesSummary> productSalesSummaries) {
+        Map<ProductType, Long> itemCountsByType = productSalesSummaries.stream()
+                .collect(Collectors.groupingBy(
+                        ProductSalesSummary::getType,
+                        () -> new EnumMap<>(ProductType.class),
+                        Collectors.summingLong(ProductSalesSummary::getItemCount)
+                ));
+        if (itemCountsByType.isEmpty()) {
+            return "없음";
+        }
+
+        return itemCountsByType.entrySet().stream()
+                .map(entry -> String.format("%s %d개", entry.getKey().getText(), entry.getValue()))
+                .collect(Collectors.joining(", "));
+    }
 
-        if (!result) {
-            throw new IllegalArgumentException("매출 통계 메일 전송에 실패했습니다.");
+    private String formatTopSellers(List<ProductSalesSummary> productSalesSummaries) {
+        if (productSalesSummaries.isEmpty()) {
+            return "없음";
         }
 
-        return true;
+        int topSellerCount = Math.min(TOP_SELLER_COUNT, productSalesSummaries.size());
+        return IntStream.range(0, topSellerCount)
+                .mapToObj(i -> {
+                    ProductSalesSummary summary = productSalesSummaries.get(i);
+                    return String.format("%d. %s(%s) %d개", i + 1, summary.getName(), summary.getProductNumber(), summary.getItemCount());
+                })
+                .collect(Collectors.joining(", "));
     }
 
 }
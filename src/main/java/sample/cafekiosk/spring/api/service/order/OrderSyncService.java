@@ -0,0 +1,254 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sample.cafekiosk.spring.api.service.order.request.OrderSyncServiceRequest;
+import sample.cafekiosk.spring.api.service.order.request.OrderSyncServiceRequest.OfflineOrder;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderSyncResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderSyncResponse.OrderResult;
+import sample.cafekiosk.spring.api.service.product.ProductCatalogCache;
+import sample.cafekiosk.spring.api.service.stock.StockBusyException;
+import sample.cafekiosk.spring.api.service.stock.StockDeductionMode;
+import sample.cafekiosk.spring.api.service.stock.StockProperties;
+import sample.cafekiosk.spring.api.service.stock.StockReservationEngine;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderIdempotencyRecord;
+import sample.cafekiosk.spring.domain.order.OrderIdempotencyRecordRepository;
+import sample.cafekiosk.spring.domain.order.OrderLineItems;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 오프라인 주문 일괄 동기화
+ *
+ * 연결이 끊겼던 키오스크가 쌓아 둔 주문을 한 트랜잭션에서 처리한다. 주문을 한 건씩 createOrder 로 보내는 것과 비교하면
+ * - 이미 처리된 Idempotency-Key 는 한 번의 IN 조회로 걸러낸다.
+ * - 모든 주문의 상품을 한 번에 조회하고, 재고 행도 상품번호 순서로 한 번씩만 잠근다. (RESERVATION 모드는 메모리 예약)
+ * - 재고가 남아 있는지는 메모리에서 키오스크 주문 시각 순서로 판단하고, 차감은 상품별로 합친 수량을 UPDATE 한 번으로 반영한다.
+ * - 주문, 주문상품, Idempotency-Key 기록은 JDBC batch 로 INSERT 된다.
+ *
+ * 재고 부족이나 존재하지 않는 상품이 있는 주문만 REJECTED 로 돌려주고 나머지 주문은 생성한다.
+ * 재고 행을 lockTimeout 안에 잠그지 못하면 전체 요청이 StockBusyException 으로 실패하며, 같은 요청을 다시 보내면 된다.
+ * 중복 확인 이후 같은 키의 주문이 createOrder 로 먼저 커밋되면 Idempotency-Key 기록의 unique 제약 위반으로 전체 요청이 롤백되고
+ * IdempotencyKeyConflictException(409) 으로 실패한다. 같은 요청을 다시 보내면 그 키는 DUPLICATE 로 처리된다.
+ * write-behind 모드와 관계없이 주문은 이 트랜잭션에서 바로 저장한다. (이미 batch 로 저장하므로)
+ */
+@Transactional
+@RequiredArgsConstructor
+@Service
+public class OrderSyncService {
+
+    private static final String STOCK_SHORTAGE_MESSAGE = "재고가 부족한 상품이 있습니다.";
+
+    private final ProductCatalogCache productCatalogCache;
+    private final OrderRepository orderRepository;
+    private final StockRepository stockRepository;
+    private final StockReservationEngine stockReservationEngine;
+    private final StockProperties stockProperties;
+    private final OrderIdempotencyCache orderIdempotencyCache;
+    private final OrderIdempotencyRecordRepository orderIdempotencyRecordRepository;
+    private final OrderMetrics orderMetrics;
+
+    public OrderSyncResponse syncOrders(OrderSyncServiceRequest request) {
+        List<OfflineOrder> orders = request.getOrders();
+        OrderResult[] results = new OrderResult[orders.size()];
+
+        int[] firstIndexes = markDuplicates(orders, results);
+        List<Integer> pendingIndexes = bindProducts(orders, firstIndexes, results);
+        pendingIndexes.sort(Comparator.comparing(index -> orders.get(index).registeredDateTime()));
+
+        List<Integer> acceptedIndexes = deductStockQuantities(orders, pendingIndexes, results);
+        createOrders(orders, acceptedIndexes, results);
+
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null) {
+                results[i] = resultOfSameKey(orders.get(i), orders.get(firstIndexes[i]), results[firstIndexes[i]]);
+            }
+        }
+        return OrderSyncResponse.of(Arrays.asList(results));
+    }
+
+    /**
+     * 이미 저장된 키는 DUPLICATE 로 결과를 채우고, 요청 안에서 같은 키가 반복되면 처음 나온 주문의 인덱스를 가리키게 한다.
+     */
+    private int[] markDuplicates(List<OfflineOrder> orders, OrderResult[] results) {
+        Set<String> idempotencyKeys = new LinkedHashSet<>();
+        orders.forEach(order -> idempotencyKeys.add(order.idempotencyKey()));
+        Map<String, OrderIdempotencyRecord> records = new HashMap<>();
+        orderIdempotencyRecordRepository.findAllByIdempotencyKeyIn(idempotencyKeys)
+                .forEach(record -> records.put(record.getIdempotencyKey(), record));
+
+        Map<String, Integer> firstIndexByKey = new HashMap<>();
+        int[] firstIndexes = new int[orders.size()];
+        for (int i = 0; i < orders.size(); i++) {
+            OfflineOrder order = orders.get(i);
+            int index = i;
+            firstIndexes[i] = firstIndexByKey.computeIfAbsent(order.idempotencyKey(), key -> index);
+
+            OrderIdempotencyRecord record = records.get(order.idempotencyKey());
+            if (record != null) {
+                results[i] = record.getRequestHash().equals(order.request().getRequestHash())
+                        ? OrderResult.duplicate(order.idempotencyKey(), record.getOrderId())
+                        : OrderResult.rejected(order.idempotencyKey(), "같은 Idempotency-Key 로 이미 다른 주문이 처리되었습니다.");
+            }
+        }
+        return firstIndexes;
+    }
+
+    /**
+     * 아직 결과가 없는 주문의 상품을 한 번에 조회해서 붙이고, 상품을 모두 찾은 주문의 인덱스를 돌려준다.
+     */
+    private List<Integer> bindProducts(List<OfflineOrder> orders, int[] firstIndexes, OrderResult[] results) {
+        List<Integer> pendingIndexes = new ArrayList<>();
+        Set<String> productNumbers = new LinkedHashSet<>();
+        for (int i = 0; i < orders.size(); i++) {
+            if (results[i] == null && firstIndexes[i] == i) {
+                pendingIndexes.add(i);
+                productNumbers.addAll(orders.get(i).request().getProductNumbers());
+            }
+        }
+        List<Product> products = productCatalogCache.findAllByProductNumberIn(List.copyOf(productNumbers));
+
+        List<Integer> boundIndexes = new ArrayList<>(pendingIndexes.size());
+        for (int index : pendingIndexes) {
+            OfflineOrder order = orders.get(index);
+            try {
+                order.request().getLineItems().bindProducts(products);
+                boundIndexes.add(index);
+            } catch (IllegalArgumentException e) {
+                results[index] = OrderResult.rejected(order.idempotencyKey(), e.getMessage());
+            }
+        }
+        return boundIndexes;
+    }
+
+    /**
+     * pendingIndexes 순서(키오스크 주문 시각 순)로 재고를 차감하고, 재고가 충분했던 주문의 인덱스를 돌려준다.
+     */
+    private List<Integer> deductStockQuantities(List<OfflineOrder> orders, List<Integer> pendingIndexes, OrderResult[] results) {
+        if (stockProperties.deductionMode() == StockDeductionMode.RESERVATION) {
+            return reserveStockQuantities(orders, pendingIndexes, results);
+        }
+
+        Set<String> stockProductNumbers = new LinkedHashSet<>();
+        for (int index : pendingIndexes) {
+            OrderLineItems lineItems = lineItemsOf(orders.get(index));
+            for (int i = 0; i < lineItems.stockCount(); i++) {
+                stockProductNumbers.add(lineItems.getProductNumber(lineItems.getStockIndex(i)));
+            }
+        }
+        List<Stock> stocks;
+        try {
+            stocks = stockRepository.lockAllByProductNumbersInOrder(List.copyOf(stockProductNumbers), stockProperties.lockTimeout());
+        } catch (PessimisticLockingFailureException e) {
+            throw new StockBusyException(e);
+        }
+
+        Map<String, Integer> remainingQuantities = new HashMap<>();
+        stocks.forEach(stock -> remainingQuantities.put(stock.getProductNumber(), stock.getQuantity()));
+
+        List<Integer> acceptedIndexes = new ArrayList<>(pendingIndexes.size());
+        for (int index : pendingIndexes) {
+            OrderLineItems lineItems = lineItemsOf(orders.get(index));
+            if (!isEnough(remainingQuantities, lineItems)) {
+                results[index] = OrderResult.rejected(orders.get(index).idempotencyKey(), STOCK_SHORTAGE_MESSAGE);
+                continue;
+            }
+            for (int i = 0; i < lineItems.stockCount(); i++) {
+                int stockIndex = lineItems.getStockIndex(i);
+                remainingQuantities.merge(lineItems.getProductNumber(stockIndex), -lineItems.getQuantity(stockIndex), Integer::sum);
+            }
+            acceptedIndexes.add(index);
+        }
+
+        for (Stock stock : stocks) {
+            int deductedQuantity = stock.getQuantity() - remainingQuantities.get(stock.getProductNumber());
+            if (deductedQuantity > 0) {
+                stock.deductQuantity(deductedQuantity);
+            }
+        }
+        return acceptedIndexes;
+    }
+
+    private List<Integer> reserveStockQuantities(List<OfflineOrder> orders, List<Integer> pendingIndexes, OrderResult[] results) {
+        List<Integer> acceptedIndexes = new ArrayList<>(pendingIndexes.size());
+        for (int index : pendingIndexes) {
+            try {
+                stockReservationEngine.reserve(lineItemsOf(orders.get(index)));
+                acceptedIndexes.add(index);
+            } catch (IllegalArgumentException e) {
+                results[index] = OrderResult.rejected(orders.get(index).idempotencyKey(), e.getMessage());
+            }
+        }
+        return acceptedIndexes;
+    }
+
+    private boolean isEnough(Map<String, Integer> remainingQuantities, OrderLineItems lineItems) {
+        for (int i = 0; i < lineItems.stockCount(); i++) {
+            int index = lineItems.getStockIndex(i);
+            Integer remainingQuantity = remainingQuantities.get(lineItems.getProductNumber(index));
+            if (remainingQuantity == null || remainingQuantity < lineItems.getQuantity(index)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void createOrders(List<OfflineOrder> orders, List<Integer> acceptedIndexes, OrderResult[] results) {
+        List<Order> createdOrders = acceptedIndexes.stream()
+                .map(index -> Order.create(orders.get(index).request().getLineItems(), orders.get(index).registeredDateTime()))
+                .toList();
+        List<Order> savedOrders = orderRepository.saveAll(createdOrders);
+
+        List<OrderResponse> responses = new ArrayList<>(acceptedIndexes.size());
+        try {
+            for (int i = 0; i < acceptedIndexes.size(); i++) {
+                OrderResponse response = OrderResponse.of(savedOrders.get(i));
+                orderIdempotencyCache.record(orders.get(acceptedIndexes.get(i)).request(), response);
+                responses.add(response);
+            }
+            orderIdempotencyRecordRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw new IdempotencyKeyConflictException("같은 Idempotency-Key 의 주문이 동시에 처리되었습니다. 잠시 후 같은 요청을 다시 보내주세요.");
+        }
+
+        for (int i = 0; i < acceptedIndexes.size(); i++) {
+            OrderResponse response = responses.get(i);
+            orderMetrics.recordCreated(response);
+            results[acceptedIndexes.get(i)] = OrderResult.accepted(orders.get(acceptedIndexes.get(i)).idempotencyKey(), response.id());
+        }
+    }
+
+    /**
+     * 요청 안에서 같은 키가 반복된 주문은 처음 나온 주문의 결과를 따른다.
+     */
+    private OrderResult resultOfSameKey(OfflineOrder order, OfflineOrder firstOrder, OrderResult firstResult) {
+        if (!order.request().getRequestHash().equals(firstOrder.request().getRequestHash())) {
+            return OrderResult.rejected(order.idempotencyKey(), "같은 Idempotency-Key 로 이미 다른 주문이 처리되었습니다.");
+        }
+        if (firstResult.status() == OrderSyncResponse.Status.REJECTED) {
+            return OrderResult.rejected(order.idempotencyKey(), firstResult.message());
+        }
+        return OrderResult.duplicate(order.idempotencyKey(), firstResult.orderId());
+    }
+
+    private OrderLineItems lineItemsOf(OfflineOrder order) {
+        return order.request().getLineItems();
+    }
+
+}
@@ -0,0 +1,394 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderDeadLetter;
+import sample.cafekiosk.spring.domain.order.OrderDeadLetterRepository;
+import sample.cafekiosk.spring.domain.order.OrderJdbcRepository;
+import sample.cafekiosk.spring.domain.order.OrderJdbcRepository.IdentifiedOrder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 주문 write-behind 저장 파이프라인 (cafekiosk.order.write-behind.enabled=true 인 경우에만 사용)
+ *
+ * - submit() 은 주문 ID 를 미리 할당받아 바로 돌려주고, 주문 트랜잭션(재고 차감)이 커밋되면 대기열에 넣는다.
+ *   롤백되면 대기열에 넣지 않는다.
+ * - 백그라운드 스레드 하나가 대기열에 쌓인 주문을 maxBatchSize 개까지 모아 한 트랜잭션으로 커밋한다. (group commit)
+ * - 대기열 자리(QueueSlot)는 OrderFacade 가 주문 트랜잭션을 시작하기 전에 reserveSlot() 으로 Semaphore 에서 확보하고 저장이 끝나야 돌려준다.
+ *   자리가 없으면 offerTimeout 만큼 기다린 뒤 OrderQueueFullException 으로 거절한다. (backpressure)
+ *   재고 행 잠금이나 커넥션을 쥔 채로 기다리지 않도록 트랜잭션 바깥에서만 기다린다.
+ * - 종료(SIGTERM) 시에는 웹 서버가 요청을 더 받지 않게 된 뒤 멈추며, 새 주문을 거절하고 남은 주문을 shutdownTimeout 동안 모두 저장한다.
+ * - 배치 저장이 실패하면 한 건씩 다시 저장하고, 그래도 실패한 주문은 OrderDeadLetter 로 남긴다.
+ *   dead letter 도 저장하지 못하면(DB 장애) 대기열 자리를 쥔 채 retryBackoff 뒤에 다시 시도한다. (응답한 주문을 버리지 않는다)
+ *   dead letter 는 replayDeadLetters 가 주기적으로 원래 주문 ID 로 다시 저장한다.
+ *
+ * 응답한 주문은 저장되기 전까지 메모리에만 있으므로, 프로세스가 강제 종료(kill -9, 장애)되면 유실될 수 있다.
+ */
+@Slf4j
+@Component
+public class OrderWriteBehindPipeline implements SmartLifecycle {
+
+    private final OrderJdbcRepository orderJdbcRepository;
+    private final OrderDeadLetterRepository orderDeadLetterRepository;
+    private final OrderWriteBehindProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    private final BlockingQueue<IdentifiedOrder> queue = new LinkedBlockingQueue<>();
+    private final Semaphore capacity;
+
+    private final LongAdder persistedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder deadLetterCount = new LongAdder();
+    private final LongAdder retryCount = new LongAdder();
+    private final LongAdder commitCount = new LongAdder();
+    private final LongAdder totalCommitNanos = new LongAdder();
+    private final AtomicLong maxCommitNanos = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public OrderWriteBehindPipeline(OrderJdbcRepository orderJdbcRepository,
+                                    OrderDeadLetterRepository orderDeadLetterRepository,
+                                    OrderWriteBehindProperties properties,
+                                    PlatformTransactionManager transactionManager) {
+        this.orderJdbcRepository = orderJdbcRepository;
+        this.orderDeadLetterRepository = orderDeadLetterRepository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.capacity = new Semaphore(properties.queueCapacity());
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    /**
+     * 대기열 자리를 확보한다. 주문 트랜잭션을 시작하기 전에 호출하고, submit 에 넘기지 못한 자리는 close 로 돌려준다.
+     */
+    public QueueSlot reserveSlot() {
+        if (!running) {
+            rejectedCount.increment();
+            throw new OrderQueueFullException("주문을 받을 수 없는 상태입니다. 잠시 후 다시 시도해주세요.");
+        }
+        acquireCapacity();
+        return new QueueSlot();
+    }
+
+    /**
+     * 주문 ID 를 할당하고 저장을 예약한다. 진행 중인 트랜잭션이 있으면 커밋된 뒤에 대기열에 넣는다.
+     * 대기열 자리는 여기서 주문으로 넘어가며, 트랜잭션이 롤백되면 돌려준다.
+     */
+    public long submit(Order order, QueueSlot slot) {
+        IdentifiedOrder identifiedOrder = new IdentifiedOrder(orderJdbcRepository.nextOrderId(), order);
+        slot.handOver();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        enqueue(identifiedOrder);
+                    } else {
+                        capacity.release();
+                    }
+                }
+            });
+        } else {
+            enqueue(identifiedOrder);
+        }
+        return identifiedOrder.id();
+    }
+
+    private void acquireCapacity() {
+        boolean acquired;
+        try {
+            acquired = capacity.tryAcquire(properties.offerTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            rejectedCount.increment();
+            throw new OrderQueueFullException("주문이 몰려 접수하지 못했습니다. 잠시 후 다시 시도해주세요.");
+        }
+    }
+
+    /**
+     * 저장 스레드가 이미 종료됐으면 대기열 대신 dead letter 로 남긴다.
+     */
+    private void enqueue(IdentifiedOrder identifiedOrder) {
+        if (worker == null || !worker.isAlive()) {
+            try {
+                saveDeadLetter(identifiedOrder, "주문 저장 스레드가 종료되었습니다.");
+            } catch (RuntimeException e) {
+                failedCount.increment();
+                log.error("주문 저장 스레드가 종료되어 주문을 저장하지 못했습니다. orderId={}", identifiedOrder.id(), e);
+            } finally {
+                capacity.release();
+            }
+            return;
+        }
+        queue.add(identifiedOrder);
+    }
+
+    private void runWorker() {
+        List<IdentifiedOrder> batch = new ArrayList<>(properties.maxBatchSize());
+        while (running || hasPendingOrders()) {
+            List<IdentifiedOrder> retries = List.of();
+            try {
+                IdentifiedOrder first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, properties.maxBatchSize() - 1);
+                retries = persist(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.error("주문 저장 스레드가 중단되었습니다. 저장하지 못한 주문 수={}", queue.size());
+                return;
+            } finally {
+                capacity.release(batch.size() - retries.size());
+                batch.clear();
+            }
+
+            if (!retries.isEmpty()) {
+                queue.addAll(retries);
+                retryCount.add(retries.size());
+                try {
+                    Thread.sleep(properties.retryBackoff().toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    log.error("주문 저장 스레드가 중단되었습니다. 저장하지 못한 주문 수={}", queue.size());
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 주문 트랜잭션이 아직 끝나지 않아 대기열에 들어오지 않은 주문까지 포함한다.
+     */
+    private boolean hasPendingOrders() {
+        return capacity.availablePermits() < properties.queueCapacity();
+    }
+
+    /**
+     * @return 주문도 dead letter 도 저장하지 못해 다시 시도해야 하는 주문
+     */
+    private List<IdentifiedOrder> persist(List<IdentifiedOrder> batch) {
+        long start = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status -> orderJdbcRepository.insertAll(batch));
+            recordCommit(System.nanoTime() - start);
+            persistedCount.add(batch.size());
+            return List.of();
+        } catch (RuntimeException e) {
+            log.warn("주문 {}건을 한 번에 저장하지 못해 한 건씩 다시 저장합니다.", batch.size(), e);
+        }
+
+        List<IdentifiedOrder> retries = new ArrayList<>();
+        for (IdentifiedOrder identifiedOrder : batch) {
+            if (!persistOne(identifiedOrder)) {
+                retries.add(identifiedOrder);
+            }
+        }
+        return retries;
+    }
+
+    /**
+     * @return 주문이나 dead letter 중 하나를 저장했으면 true
+     */
+    private boolean persistOne(IdentifiedOrder identifiedOrder) {
+        long start = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status -> orderJdbcRepository.insertAll(List.of(identifiedOrder)));
+            recordCommit(System.nanoTime() - start);
+            persistedCount.increment();
+            return true;
+        } catch (RuntimeException e) {
+            log.error("주문을 저장하지 못해 dead letter 로 남깁니다. orderId={}", identifiedOrder.id(), e);
+            try {
+                saveDeadLetter(identifiedOrder, e.toString());
+                return true;
+            } catch (RuntimeException deadLetterException) {
+                log.error("dead letter 도 저장하지 못해 {}ms 뒤에 다시 저장합니다. orderId={}",
+                        properties.retryBackoff().toMillis(), identifiedOrder.id(), deadLetterException);
+                return false;
+            }
+        }
+    }
+
+    private void saveDeadLetter(IdentifiedOrder identifiedOrder, String error) {
+        transactionTemplate.executeWithoutResult(status ->
+                orderDeadLetterRepository.save(OrderDeadLetter.create(identifiedOrder, error)));
+        deadLetterCount.increment();
+    }
+
+    /**
+     * dead letter 로 남은 주문을 원래 주문 ID 로 다시 저장하고, 저장한 주문 수를 돌려준다.
+     * 이미 저장된 주문(저장은 됐지만 실패로 보고된 경우)이면 dead letter 만 지운다.
+     * write-behind 모드가 아니거나 파이프라인이 멈춘 동안에는 dead letter 테이블을 조회하지 않는다.
+     */
+    @Scheduled(fixedDelayString = "${cafekiosk.order.write-behind.dead-letter-replay-interval-ms:60000}")
+    public int replayDeadLetters() {
+        if (!properties.enabled() || !running) {
+            return 0;
+        }
+
+        int replayedCount = 0;
+        for (OrderDeadLetter deadLetter : orderDeadLetterRepository.findAllByOrderByIdAsc(PageRequest.of(0, properties.maxBatchSize()))) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    orderJdbcRepository.insertDeadLetter(deadLetter);
+                    orderDeadLetterRepository.deleteById(deadLetter.getId());
+                });
+                replayedCount++;
+            } catch (DuplicateKeyException e) {
+                log.warn("이미 저장된 주문의 dead letter 를 지웁니다. orderId={}", deadLetter.getOrderId());
+                orderDeadLetterRepository.deleteById(deadLetter.getId());
+            } catch (RuntimeException e) {
+                log.warn("dead letter 주문을 다시 저장하지 못했습니다. orderId={}", deadLetter.getOrderId(), e);
+            }
+        }
+        if (replayedCount > 0) {
+            log.info("dead letter 주문 {}건을 다시 저장했습니다.", replayedCount);
+        }
+        return replayedCount;
+    }
+
+    private void recordCommit(long elapsedNanos) {
+        commitCount.increment();
+        totalCommitNanos.add(elapsedNanos);
+        maxCommitNanos.accumulateAndGet(elapsedNanos, Math::max);
+    }
+
+    public WriteBehindStats getStats() {
+        long commits = commitCount.sum();
+        return new WriteBehindStats(
+                queue.size(),
+                properties.queueCapacity() - capacity.availablePermits(),
+                persistedCount.sum(),
+                rejectedCount.sum(),
+                failedCount.sum(),
+                deadLetterCount.sum(),
+                retryCount.sum(),
+                commits,
+                commits == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalCommitNanos.sum() / commits),
+                TimeUnit.NANOSECONDS.toMicros(maxCommitNanos.get())
+        );
+    }
+
+    /**
+     * reserveSlot 으로 확보한 대기열 자리. submit 에 넘기기 전에 close 되면 자리를 돌려준다.
+     * 한 요청 스레드 안에서만 사용한다.
+     */
+    public final class QueueSlot implements AutoCloseable {
+
+        private boolean handedOver;
+        private boolean released;
+
+        private QueueSlot() {
+        }
+
+        private void handOver() {
+            if (handedOver || released) {
+                throw new IllegalStateException("이미 사용한 대기열 자리입니다.");
+            }
+            handedOver = true;
+        }
+
+        @Override
+        public void close() {
+            if (handedOver || released) {
+                return;
+            }
+            released = true;
+            capacity.release();
+        }
+    }
+
+    /**
+     * @param queueDepth 대기열에서 저장을 기다리는 주문 수
+     * @param pendingCount 아직 저장되지 않은 전체 주문 수 (커밋 전 주문, 저장 중인 주문 포함)
+     * @param failedCount 주문도 dead letter 도 저장하지 못하고 버린 주문 수 (저장 스레드가 종료된 뒤 들어온 주문)
+     * @param deadLetterCount dead letter 로 남긴 주문 수
+     * @param retryCount 주문도 dead letter 도 저장하지 못해 대기열에 되돌린 횟수
+     * @param averageCommitMicros 배치 한 번을 커밋하는 데 걸린 평균 시간
+     */
+    public record WriteBehindStats(
+            int queueDepth,
+            int pendingCount,
+            long persistedCount,
+            long rejectedCount,
+            long failedCount,
+            long deadLetterCount,
+            long retryCount,
+            long commitCount,
+            long averageCommitMicros,
+            long maxCommitMicros
+    ) {
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!properties.enabled() || running) {
+            return;
+        }
+
+        running = true;
+        worker = new Thread(this::runWorker, "order-write-behind");
+        worker.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        try {
+            worker.join(properties.shutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive()) {
+            log.error("종료 대기 시간 안에 주문을 모두 저장하지 못했습니다. 저장하지 못한 주문 수={}", getStats().pendingCount());
+            worker.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 웹 서버(graceful shutdown)보다 늦게 멈추도록 더 낮은 phase 를 사용한다.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+}
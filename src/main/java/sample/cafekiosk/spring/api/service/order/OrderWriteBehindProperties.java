@@ -0,0 +1,27 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * cafekiosk.order.write-behind.* 설정
+ *
+ * enabled : 주문을 응답한 뒤 백그라운드에서 저장할지 여부 (기본값 false : 주문 트랜잭션 안에서 바로 저장)
+ * queueCapacity : 저장을 기다릴 수 있는 최대 주문 수. 가득 차면 새 주문을 거절한다.
+ * maxBatchSize : 한 트랜잭션에 함께 커밋할 최대 주문 수
+ * offerTimeout : 대기열이 가득 찼을 때 자리가 나기를 기다리는 최대 시간
+ * shutdownTimeout : 종료 시 남은 주문을 모두 저장할 때까지 기다리는 최대 시간
+ * retryBackoff : 주문도 dead letter 도 저장하지 못해 대기열에 되돌린 뒤 다시 저장하기까지 기다리는 시간
+ */
+@ConfigurationProperties(prefix = "cafekiosk.order.write-behind")
+public record OrderWriteBehindProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("10000") int queueCapacity,
+        @DefaultValue("200") int maxBatchSize,
+        @DefaultValue("100ms") Duration offerTimeout,
+        @DefaultValue("30s") Duration shutdownTimeout,
+        @DefaultValue("1s") Duration retryBackoff
+) {
+}
@@ -3,18 +3,71 @@ package sample.cafekiosk.spring.api.service.order.request;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.domain.order.OrderLineItems;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 @Getter
 @NoArgsConstructor
 public class OrderCreateServiceRequest {
 
-    private List<String> productNumbers;
+    /**
+     * 상품번호별 주문 수량 (요청에 나온 순서 유지)
+     */
+    private OrderLineItems lineItems;
 
+    /**
+     * 단말기가 재전송하는 같은 주문을 구분하는 키 (없으면 매 요청을 새 주문으로 처리)
+     */
+    private String idempotencyKey;
+
+    /**
+     * @param productNumbers    상품번호 리스트. 같은 상품번호가 여러 번 있으면 그 횟수가 수량이 된다.
+     * @param productQuantities 상품번호별 수량. productNumbers 와 함께 오면 수량을 더한다.
+     */
     @Builder
-    private OrderCreateServiceRequest(List<String> productNumbers) {
-        this.productNumbers = productNumbers;
+    private OrderCreateServiceRequest(List<String> productNumbers, Map<String, Integer> productQuantities, String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+        int expectedSize = (productNumbers == null ? 0 : productNumbers.size())
+                + (productQuantities == null ? 0 : productQuantities.size());
+        this.lineItems = new OrderLineItems(expectedSize);
+        if (productNumbers != null) {
+            for (String productNumber : productNumbers) {
+                lineItems.add(productNumber, 1);
+            }
+        }
+        if (productQuantities != null) {
+            productQuantities.forEach(lineItems::add);
+        }
+    }
+
+    public List<String> getProductNumbers() {
+        return lineItems.getProductNumbers();
+    }
+
+    /**
+     * 상품번호별 수량으로 만든 SHA-256 해시. 상품 순서나 productNumbers / productQuantities 중 어느 쪽으로 보냈는지는 구분하지 않는다.
+     */
+    public String getRequestHash() {
+        Map<String, Integer> sortedQuantities = new TreeMap<>();
+        for (int i = 0; i < lineItems.size(); i++) {
+            sortedQuantities.put(lineItems.getProductNumber(i), lineItems.getQuantity(i));
+        }
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            sortedQuantities.forEach((productNumber, quantity) ->
+                    digest.update((productNumber + ":" + quantity + "\n").getBytes(StandardCharsets.UTF_8)));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
 }
@@ -0,0 +1,39 @@
+package sample.cafekiosk.spring.api.service.order.request;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Getter
+public class OrderExportServiceRequest {
+
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final long afterId;
+
+    /**
+     * @param startDate 시작일 (포함)
+     * @param endDate   종료일 (포함)
+     * @param afterId   이 주문 id 다음 주문부터 내보낸다. (이어받기, 처음이면 0)
+     */
+    @Builder
+    private OrderExportServiceRequest(LocalDate startDate, LocalDate endDate, long afterId) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("시작일은 종료일보다 늦을 수 없습니다.");
+        }
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.afterId = afterId;
+    }
+
+    public LocalDateTime getStartDateTime() {
+        return startDate.atStartOfDay();
+    }
+
+    public LocalDateTime getEndDateTime() {
+        return endDate.plusDays(1).atStartOfDay();
+    }
+
+}
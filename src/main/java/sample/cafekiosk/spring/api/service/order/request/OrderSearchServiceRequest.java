@@ -0,0 +1,50 @@
+package sample.cafekiosk.spring.api.service.order.request;
+
+import lombok.Builder;
+import lombok.Getter;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Getter
+public class OrderSearchServiceRequest {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final OrderStatus orderStatus;
+    private final int page;
+    private final int size;
+
+    /**
+     * @param startDate 시작일 (포함)
+     * @param endDate   종료일 (포함)
+     * @param page      0 부터 시작하는 페이지 번호
+     * @param size      페이지 크기 (최대 100)
+     */
+    @Builder
+    private OrderSearchServiceRequest(LocalDate startDate, LocalDate endDate, OrderStatus orderStatus, int page, int size) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("시작일은 종료일보다 늦을 수 없습니다.");
+        }
+        if (page < 0 || size < 1) {
+            throw new IllegalArgumentException("페이지 번호는 0 이상, 페이지 크기는 1 이상이어야 합니다.");
+        }
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.orderStatus = orderStatus;
+        this.page = page;
+        this.size = Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    public LocalDateTime getStartDateTime() {
+        return startDate.atStartOfDay();
+    }
+
+    public LocalDateTime getEndDateTime() {
+        return endDate.plusDays(1).atStartOfDay();
+    }
+
+}
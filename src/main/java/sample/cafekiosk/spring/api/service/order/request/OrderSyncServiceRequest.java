@@ -0,0 +1,29 @@
+package sample.cafekiosk.spring.api.service.order.request;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 오프라인 주문 일괄 동기화 요청. 주문마다 Idempotency-Key 와 키오스크에서 받은 시각을 가진다.
+ */
+@Getter
+public class OrderSyncServiceRequest {
+
+    private final List<OfflineOrder> orders;
+
+    @Builder
+    private OrderSyncServiceRequest(List<OfflineOrder> orders) {
+        this.orders = List.copyOf(orders);
+    }
+
+    public record OfflineOrder(OrderCreateServiceRequest request, LocalDateTime registeredDateTime) {
+
+        public String idempotencyKey() {
+            return request.getIdempotencyKey();
+        }
+    }
+
+}
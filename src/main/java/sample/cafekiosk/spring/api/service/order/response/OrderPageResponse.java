@@ -0,0 +1,11 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import java.util.List;
+
+public record OrderPageResponse(
+        List<OrderResponse> orders,
+        int page,
+        int size,
+        long totalCount
+) {
+}
@@ -0,0 +1,24 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import sample.cafekiosk.spring.domain.orderproduct.OrderProduct;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+public record OrderProductResponse(
+        String productNumber,
+        ProductType type,
+        String name,
+        int price,
+        int quantity
+) {
+    public static OrderProductResponse of(OrderProduct orderProduct) {
+        Product product = orderProduct.getProduct();
+        return new OrderProductResponse(
+                product.getProductNumber(),
+                product.getType(),
+                product.getName(),
+                product.getPrice(),
+                orderProduct.getQuantity()
+        );
+    }
+}
@@ -1,6 +1,5 @@
 package sample.cafekiosk.spring.api.service.order.response;
 
-import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
 import sample.cafekiosk.spring.domain.order.Order;
 
 import java.time.LocalDateTime;
@@ -11,15 +10,19 @@ public record OrderResponse(
         Long id,
         int totalPrice,
         LocalDateTime registeredDateTime,
-        List<ProductResponse> products
+        List<OrderProductResponse> products
 ) {
     public static OrderResponse of(Order order) {
+        return of(order.getId(), order);
+    }
+
+    public static OrderResponse of(Long id, Order order) {
         return new OrderResponse(
-                order.getId(),
+                id,
                 order.getTotalPrice(),
                 order.getRegisteredDateTime(),
                 order.getOrderProducts().stream()
-                        .map(orderProduct -> ProductResponse.of(orderProduct.getProduct()))
+                        .map(OrderProductResponse::of)
                         .collect(Collectors.toList())
         );
     }
@@ -0,0 +1,58 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * 오프라인 주문 일괄 동기화 결과 (orders 는 요청 순서와 같다)
+ *
+ * - ACCEPTED : 이번 요청으로 주문이 생성되었다.
+ * - DUPLICATE : 같은 Idempotency-Key 의 주문이 이미 있다. (orderId 는 먼저 생성된 주문)
+ * - REJECTED : 재고 부족, 존재하지 않는 상품 등으로 주문을 생성하지 않았다. 같은 키로 다시 보낼 수 있다.
+ */
+public record OrderSyncResponse(
+        int totalCount,
+        int acceptedCount,
+        int duplicateCount,
+        int rejectedCount,
+        List<OrderResult> orders
+) {
+
+    public static OrderSyncResponse of(List<OrderResult> orders) {
+        return new OrderSyncResponse(
+                orders.size(),
+                countBy(orders, Status.ACCEPTED),
+                countBy(orders, Status.DUPLICATE),
+                countBy(orders, Status.REJECTED),
+                orders
+        );
+    }
+
+    private static int countBy(List<OrderResult> orders, Status status) {
+        return (int) orders.stream()
+                .filter(order -> order.status() == status)
+                .count();
+    }
+
+    public enum Status {
+        ACCEPTED, DUPLICATE, REJECTED
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record OrderResult(String idempotencyKey, Status status, Long orderId, String message) {
+
+        public static OrderResult accepted(String idempotencyKey, Long orderId) {
+            return new OrderResult(idempotencyKey, Status.ACCEPTED, orderId, null);
+        }
+
+        public static OrderResult duplicate(String idempotencyKey, Long orderId) {
+            return new OrderResult(idempotencyKey, Status.DUPLICATE, orderId, null);
+        }
+
+        public static OrderResult rejected(String idempotencyKey, String message) {
+            return new OrderResult(idempotencyKey, Status.REJECTED, null, message);
+        }
+    }
+
+}
@@ -0,0 +1,17 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * cafekiosk.product.cache.* 설정
+ *
+ * enabled : false 이면 캐시를 거치지 않고 항상 DB 를 조회한다.
+ * maxSize : 상품번호로 캐싱할 수 있는 최대 상품 수 (초과 시 가장 오래 사용되지 않은 상품부터 제거)
+ */
+@ConfigurationProperties(prefix = "cafekiosk.product.cache")
+public record ProductCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1000") int maxSize
+) {
+}
@@ -0,0 +1,139 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 상품 카탈로그 Read-Through 캐시
+ *
+ * - 상품번호 → 상품, 판매상태 집합 → 상품 목록 두 가지 키로 캐싱한다.
+ * - 상품번호 캐시는 maxSize 를 넘으면 가장 오래 사용되지 않은 상품부터 제거한다. (LRU)
+ * - ProductCatalogChangedEvent 가 커밋되면 전체를 무효화한다.
+ *   DB 조회 도중 무효화된 경우에는 조회 결과를 캐시에 넣지 않는다. (generation 비교)
+ *
+ * 캐싱된 상품은 준영속 상태이므로 값을 읽는 용도로만 사용해야 한다.
+ */
+@Component
+public class ProductCatalogCache {
+
+    private final ProductRepository productRepository;
+    private final ProductCacheProperties properties;
+
+    private final LinkedHashMap<String, Product> productsByNumber;
+    private final Map<Set<ProductSellingStatus>, List<Product>> productsBySellingStatuses = new HashMap<>();
+
+    private long generation;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    public ProductCatalogCache(ProductRepository productRepository, ProductCacheProperties properties) {
+        this.productRepository = productRepository;
+        this.properties = properties;
+        this.productsByNumber = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Product> eldest) {
+                if (size() > properties.maxSize()) {
+                    evictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public List<Product> findAllByProductNumberIn(List<String> productNumbers) {
+        if (!properties.enabled()) {
+            return productRepository.findAllByProductNumberIn(productNumbers);
+        }
+
+        List<Product> products = new ArrayList<>();
+        List<String> missingProductNumbers = new ArrayList<>();
+        long loadedGeneration;
+        synchronized (this) {
+            for (String productNumber : productNumbers) {
+                Product product = productsByNumber.get(productNumber);
+                if (product == null) {
+                    missingProductNumbers.add(productNumber);
+                } else {
+                    products.add(product);
+                }
+            }
+            hitCount += products.size();
+            missCount += missingProductNumbers.size();
+            loadedGeneration = generation;
+        }
+        if (missingProductNumbers.isEmpty()) {
+            return products;
+        }
+
+        List<Product> loadedProducts = productRepository.findAllByProductNumberIn(missingProductNumbers);
+        synchronized (this) {
+            if (loadedGeneration == generation) {
+                loadedProducts.forEach(product -> productsByNumber.put(product.getProductNumber(), product));
+            }
+        }
+        products.addAll(loadedProducts);
+        return products;
+    }
+
+    public List<Product> findAllBySellingStatusIn(List<ProductSellingStatus> sellingStatuses) {
+        if (!properties.enabled()) {
+            return productRepository.findAllBySellingStatusIn(sellingStatuses);
+        }
+
+        Set<ProductSellingStatus> key = sellingStatuses.isEmpty()
+                ? EnumSet.noneOf(ProductSellingStatus.class)
+                : EnumSet.copyOf(sellingStatuses);
+        long loadedGeneration;
+        synchronized (this) {
+            List<Product> products = productsBySellingStatuses.get(key);
+            if (products != null) {
+                hitCount++;
+                return products;
+            }
+            missCount++;
+            loadedGeneration = generation;
+        }
+
+        List<Product> loadedProducts = List.copyOf(productRepository.findAllBySellingStatusIn(sellingStatuses));
+        synchronized (this) {
+            if (loadedGeneration == generation) {
+                productsBySellingStatuses.put(key, loadedProducts);
+            }
+        }
+        return loadedProducts;
+    }
+
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(ProductCatalogChangedEvent event) {
+        invalidateAll();
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        productsByNumber.clear();
+        productsBySellingStatuses.clear();
+    }
+
+    public synchronized CacheStats getStats() {
+        return new CacheStats(hitCount, missCount, evictionCount, productsByNumber.size());
+    }
+
+    public record CacheStats(long hitCount, long missCount, long evictionCount, int size) {
+    }
+
+}
@@ -0,0 +1,15 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import java.util.List;
+
+/**
+ * 상품 카탈로그(상품 등록, 판매상태 변경 등)가 바뀌었음을 알리는 이벤트.
+ * 상품을 변경하는 곳에서는 반드시 이 이벤트를 발행해야 캐시가 무효화된다.
+ */
+public record ProductCatalogChangedEvent(
+        List<String> productNumbers
+) {
+    public static ProductCatalogChangedEvent of(String... productNumbers) {
+        return new ProductCatalogChangedEvent(List.of(productNumbers));
+    }
+}
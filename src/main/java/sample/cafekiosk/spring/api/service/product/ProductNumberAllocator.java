@@ -0,0 +1,142 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.domain.product.ProductNumberSequence;
+import sample.cafekiosk.spring.domain.product.ProductNumberSequenceRepository;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.LongStream;
+
+/**
+ * 상품번호 할당기 (hi/lo)
+ *
+ * - 상품번호 시퀀스 테이블에서 blockSize 만큼의 번호 블록을 잠금과 함께 가져오고(hi), 블록 안의 번호는 AtomicLong 으로 나눠준다(lo).
+ * - 블록을 가져오는 트랜잭션은 호출한 쪽과 별도로 커밋되므로, 주문/상품 등록이 롤백되어도 같은 번호가 다시 나가지 않는다. (번호 사이에 빈 번호는 생길 수 있음)
+ * - 블록을 가져오는 동안 다른 스레드는 모니터에서 기다리므로, 커넥션을 쥔 트랜잭션 안에서 호출하면 안 된다.
+ *   (기다리는 스레드들이 커넥션 풀을 모두 쥐고 있으면 블록을 가져올 커넥션을 얻지 못한다)
+ * - 시퀀스가 아직 없으면 현재 가장 큰 상품번호 다음 번호부터 시작한다.
+ * - 상품번호는 최소 3자리로 표기하고 999 를 넘으면 자릿수가 늘어난다. (001, 002, ..., 999, 1000)
+ */
+@Component
+public class ProductNumberAllocator {
+
+    private static final String SEQUENCE_NAME = "product";
+
+    private final ProductNumberSequenceRepository productNumberSequenceRepository;
+    private final ProductRepository productRepository;
+    private final ProductNumberProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicReference<Block> currentBlock = new AtomicReference<>(Block.EMPTY);
+
+    public ProductNumberAllocator(ProductNumberSequenceRepository productNumberSequenceRepository,
+                                  ProductRepository productRepository,
+                                  ProductNumberProperties properties,
+                                  PlatformTransactionManager transactionManager) {
+        this.productNumberSequenceRepository = productNumberSequenceRepository;
+        this.productRepository = productRepository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public String allocate() {
+        return format(allocateRange(1));
+    }
+
+    /**
+     * count 개의 연속된 상품번호를 한 번에 할당한다. (상품 일괄 등록용)
+     */
+    public List<String> allocate(int count) {
+        long start = allocateRange(count);
+        return LongStream.range(start, start + count)
+                .mapToObj(ProductNumberAllocator::format)
+                .toList();
+    }
+
+    private long allocateRange(int count) {
+        if (count > properties.blockSize()) {
+            return fetchBlock(count).start;
+        }
+
+        while (true) {
+            Block block = currentBlock.get();
+            long start = block.tryTake(count);
+            if (start >= 0) {
+                return start;
+            }
+
+            synchronized (this) {
+                if (currentBlock.get() == block) {
+                    currentBlock.set(fetchBlock(properties.blockSize()));
+                }
+            }
+        }
+    }
+
+    private Block fetchBlock(int size) {
+        try {
+            return transactionTemplate.execute(status -> allocateBlock(size));
+        } catch (DataIntegrityViolationException e) {
+            // 다른 서버가 동시에 시퀀스를 처음 만든 경우. 만들어진 시퀀스에서 다시 할당받는다.
+            return transactionTemplate.execute(status -> allocateBlock(size));
+        }
+    }
+
+    private Block allocateBlock(int size) {
+        ProductNumberSequence sequence = productNumberSequenceRepository.findForUpdate(SEQUENCE_NAME)
+                .orElseGet(() -> productNumberSequenceRepository.saveAndFlush(
+                        ProductNumberSequence.create(SEQUENCE_NAME, findInitialValue())
+                ));
+
+        long start = sequence.allocate(size);
+        return new Block(start, start + size);
+    }
+
+    private long findInitialValue() {
+        Long maxProductNumber = productRepository.getMaxProductNumber();
+        return maxProductNumber == null ? 1 : maxProductNumber + 1;
+    }
+
+    private static String format(long productNumber) {
+        return String.format("%03d", productNumber);
+    }
+
+    private static class Block {
+
+        private static final Block EMPTY = new Block(0, 0);
+
+        private final long start;
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.start = start;
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+
+        /**
+         * 블록에 count 개의 번호가 남아 있으면 할당하고 첫 번째 번호를, 남아 있지 않으면 -1 을 반환한다.
+         */
+        private long tryTake(int count) {
+            while (true) {
+                long current = next.get();
+                if (current + count > end) {
+                    return -1;
+                }
+                if (next.compareAndSet(current, current + count)) {
+                    return current;
+                }
+            }
+        }
+    }
+
+}
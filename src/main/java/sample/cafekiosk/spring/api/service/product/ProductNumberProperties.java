@@ -0,0 +1,15 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * cafekiosk.product.number.* 설정
+ *
+ * blockSize : 상품번호 시퀀스 테이블에서 한 번에 가져와 메모리에서 나눠줄 번호 개수
+ */
+@ConfigurationProperties(prefix = "cafekiosk.product.number")
+public record ProductNumberProperties(
+        @DefaultValue("50") int blockSize
+) {
+}
@@ -1,15 +1,22 @@
 package sample.cafekiosk.spring.api.service.product;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import sample.cafekiosk.spring.api.service.product.request.ProductCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.product.request.ProductImportServiceRequest;
+import sample.cafekiosk.spring.api.service.product.response.ProductImportResponse;
 import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
 import sample.cafekiosk.spring.domain.product.Product;
 import sample.cafekiosk.spring.domain.product.ProductRepository;
 
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.*;
 
@@ -26,30 +33,64 @@ import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.*;
 public class ProductService {
 
     private final ProductRepository productRepository;
+    private final ProductCatalogCache productCatalogCache;
+    private final ProductNumberAllocator productNumberAllocator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
 
-    // 동시성 이슈
+    /**
+     * 상품번호는 ProductNumberAllocator 가 블록 단위로 미리 할당받은 번호를 사용하므로 동시에 등록해도 중복되지 않는다.
+     * 상품번호 블록을 새로 받아올 때 별도 커넥션이 필요하므로, 커넥션을 쥔 트랜잭션 밖에서 번호를 먼저 받고 저장만 트랜잭션으로 묶는다.
+     * (동시 등록 수가 커넥션 풀 크기만큼 되어도 블록을 받아오는 스레드가 커넥션을 기다리며 멈추지 않는다)
+     * 상품번호 블록을 새로 받아오는 시간도 포함되도록 등록 시간을 cafekiosk.product.create 로 잰다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ProductResponse createProduct(ProductCreateServiceRequest request) {
-        String nextProductNumber = createNextProductNumber();
+        return meterRegistry.timer("cafekiosk.product.create").record(() -> {
+            String nextProductNumber = productNumberAllocator.allocate();
 
-        Product product = request.toEntity(nextProductNumber);
-        Product savedProduct = productRepository.save(product);
+            return transactionTemplate.execute(status -> {
+                Product savedProduct = productRepository.save(request.toEntity(nextProductNumber));
+                eventPublisher.publishEvent(ProductCatalogChangedEvent.of(savedProduct.getProductNumber()));
 
-        return ProductResponse.of(savedProduct);
+                return ProductResponse.of(savedProduct);
+            });
+        });
     }
 
-    private String createNextProductNumber() {
-        String latestProductNumber = productRepository.getLatestProductNumber();
-        if (latestProductNumber == null) {
-            return "001";
+    /**
+     * 상품 일괄 등록
+     *
+     * 모든 행이 올바른 경우에만 상품번호를 한 번에 할당받아 저장한다. (hibernate.jdbc.batch_size 단위로 INSERT 가 묶인다)
+     * 잘못된 행이 하나라도 있으면 아무것도 저장하지 않고 행별 실패 사유를 돌려준다.
+     * 상품번호는 createProduct 와 같이 트랜잭션 밖에서 먼저 할당받는다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ProductImportResponse importProducts(ProductImportServiceRequest request) {
+        List<ProductImportServiceRequest.Row> rows = request.getRows();
+        if (request.hasErrors()) {
+            return ProductImportResponse.rejected(rows);
         }
+        if (rows.isEmpty()) {
+            return ProductImportResponse.imported(rows, List.of());
+        }
+
+        List<String> productNumbers = productNumberAllocator.allocate(rows.size());
+        List<ProductCreateServiceRequest> productRequests = request.getProducts();
+        List<Product> products = IntStream.range(0, rows.size())
+                .mapToObj(i -> productRequests.get(i).toEntity(productNumbers.get(i)))
+                .toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            productRepository.saveAll(products);
+            eventPublisher.publishEvent(new ProductCatalogChangedEvent(productNumbers));
+        });
 
-        int latestProductNumberInt = Integer.parseInt(latestProductNumber);
-        int nextProductNumber = latestProductNumberInt + 1;
-        return String.format("%03d", nextProductNumber);
+        return ProductImportResponse.imported(rows, products);
     }
 
     public List<ProductResponse> getSellingProducts() {
-        List<Product> products = productRepository.findAllBySellingStatusIn(forDisplay());
+        List<Product> products = productCatalogCache.findAllBySellingStatusIn(forDisplay());
 
         return products.stream()
                 .map(ProductResponse::of)
@@ -0,0 +1,66 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+import sample.cafekiosk.spring.api.ApiResponse;
+import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+import sample.cafekiosk.spring.api.service.product.response.SellingMenuSnapshot;
+
+import java.util.List;
+
+/**
+ * 판매 상품 메뉴 스냅샷 제공자
+ *
+ * - 카탈로그가 바뀐 뒤 처음 요청될 때 한 번만 ApiResponse 를 JSON 으로 직렬화하고, 이후 요청은 같은 바이트를 그대로 내려준다.
+ * - 카탈로그 캐시(ProductCatalogCache)가 먼저 무효화된 뒤에 스냅샷을 무효화해야 이전 카탈로그로 스냅샷을 다시 만들지 않는다.
+ */
+@RequiredArgsConstructor
+@Component
+public class SellingMenuProvider {
+
+    private final ProductService productService;
+    private final ObjectMapper objectMapper;
+
+    private volatile SellingMenuSnapshot snapshot;
+    private long version;
+
+    public SellingMenuSnapshot getSnapshot() {
+        SellingMenuSnapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        return rebuild();
+    }
+
+    @Order(1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCatalogChanged(ProductCatalogChangedEvent event) {
+        version++;
+        snapshot = null;
+    }
+
+    private synchronized SellingMenuSnapshot rebuild() {
+        if (snapshot != null) {
+            return snapshot;
+        }
+
+        List<ProductResponse> products = productService.getSellingProducts();
+        byte[] body = serialize(ApiResponse.ok(products));
+        snapshot = new SellingMenuSnapshot(version, body, "\"" + DigestUtils.md5DigestAsHex(body) + "\"");
+        return snapshot;
+    }
+
+    private byte[] serialize(ApiResponse<List<ProductResponse>> response) {
+        try {
+            return objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("판매 상품 메뉴를 직렬화하지 못했습니다.", e);
+        }
+    }
+
+}
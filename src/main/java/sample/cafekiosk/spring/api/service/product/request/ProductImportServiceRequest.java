@@ -0,0 +1,48 @@
+package sample.cafekiosk.spring.api.service.product.request;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 상품 일괄 등록 요청
+ *
+ * 컨트롤러에서 파싱/검증을 마친 행 목록. 파싱이나 검증에 실패한 행은 product 대신 errorMessage 를 가진다.
+ */
+@Getter
+public class ProductImportServiceRequest {
+
+    private final List<Row> rows;
+
+    @Builder
+    private ProductImportServiceRequest(List<Row> rows) {
+        this.rows = List.copyOf(rows);
+    }
+
+    public boolean hasErrors() {
+        return rows.stream().anyMatch(Row::hasError);
+    }
+
+    public List<ProductCreateServiceRequest> getProducts() {
+        return rows.stream()
+                .map(Row::product)
+                .toList();
+    }
+
+    public record Row(int rowNumber, ProductCreateServiceRequest product, String errorMessage) {
+
+        public static Row valid(int rowNumber, ProductCreateServiceRequest product) {
+            return new Row(rowNumber, product, null);
+        }
+
+        public static Row invalid(int rowNumber, String errorMessage) {
+            return new Row(rowNumber, null, errorMessage);
+        }
+
+        public boolean hasError() {
+            return errorMessage != null;
+        }
+    }
+
+}
@@ -0,0 +1,53 @@
+package sample.cafekiosk.spring.api.service.product.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import sample.cafekiosk.spring.api.service.product.request.ProductImportServiceRequest;
+import sample.cafekiosk.spring.domain.product.Product;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * 상품 일괄 등록 결과
+ *
+ * 한 행이라도 잘못되면 아무것도 등록하지 않고(rejected), 행마다 등록된 상품번호 또는 실패 사유를 돌려준다.
+ */
+public record ProductImportResponse(
+        int totalCount,
+        int successCount,
+        int failureCount,
+        List<RowResult> rows
+) {
+
+    public static ProductImportResponse imported(List<ProductImportServiceRequest.Row> rows, List<Product> products) {
+        List<RowResult> results = IntStream.range(0, rows.size())
+                .mapToObj(i -> RowResult.success(rows.get(i).rowNumber(), products.get(i).getProductNumber()))
+                .toList();
+        return new ProductImportResponse(rows.size(), rows.size(), 0, results);
+    }
+
+    public static ProductImportResponse rejected(List<ProductImportServiceRequest.Row> rows) {
+        List<RowResult> results = rows.stream()
+                .map(row -> RowResult.failure(row.rowNumber(), row.hasError() ? row.errorMessage() : "다른 행의 오류로 등록하지 않았습니다."))
+                .toList();
+        int failureCount = (int) rows.stream().filter(ProductImportServiceRequest.Row::hasError).count();
+        return new ProductImportResponse(rows.size(), 0, failureCount, results);
+    }
+
+    public boolean isRejected() {
+        return failureCount > 0;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record RowResult(int rowNumber, boolean success, String productNumber, String message) {
+
+        private static RowResult success(int rowNumber, String productNumber) {
+            return new RowResult(rowNumber, true, productNumber, null);
+        }
+
+        private static RowResult failure(int rowNumber, String message) {
+            return new RowResult(rowNumber, false, null, message);
+        }
+    }
+
+}
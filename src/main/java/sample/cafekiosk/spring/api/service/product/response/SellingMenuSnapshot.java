@@ -0,0 +1,29 @@
+package sample.cafekiosk.spring.api.service.product.response;
+
+import java.util.Arrays;
+
+/**
+ * 판매 상품 메뉴의 불변 스냅샷.
+ * 응답 JSON(ApiResponse) 을 미리 직렬화한 바이트와 그 내용으로 만든 ETag 를 함께 가진다.
+ */
+public record SellingMenuSnapshot(
+        long version,
+        byte[] body,
+        String etag
+) {
+
+    /**
+     * If-None-Match 헤더에 현재 스냅샷의 ETag 가 포함되어 있는지 확인한다.
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(etag));
+    }
+
+}
@@ -0,0 +1,70 @@
+package sample.cafekiosk.spring.api.service.sales;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sample.cafekiosk.spring.domain.order.HourlySalesSummary;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.sales.HourlySales;
+import sample.cafekiosk.spring.domain.sales.HourlySalesRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 시간대별 매출 집계를 원본 주문으로부터 다시 만든다.
+ *
+ * 집계가 주문과 어긋난 경우(직접 수정한 데이터, 이벤트 없이 바뀐 주문 상태 등)를 바로잡기 위한 용도이며,
+ * 매일 cafekiosk.sales.reconcile-cron 에 전날 집계를 다시 만든다.
+ * 집계 중인 날짜에 새 결제완료 주문이 들어오면 어긋날 수 있으므로 지난 날짜에 대해서만 실행하는 것을 권장한다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class SalesAggregateReconciler {
+
+    private final OrderRepository orderRepository;
+    private final HourlySalesRepository hourlySalesRepository;
+
+    /**
+     * startDate ~ endDate (양 끝 포함) 의 시간대별 매출 집계를 지우고 결제완료 주문으로 다시 만든다.
+     *
+     * @return 다시 만든 집계 행 수
+     */
+    @Transactional
+    public int reconcile(LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("시작일은 종료일보다 늦을 수 없습니다.");
+        }
+
+        hourlySalesRepository.deleteAllBySalesDateBetween(startDate, endDate);
+
+        List<HourlySalesSummary> summaries = orderRepository.summarizeHourlySalesBy(
+                startDate.atStartOfDay(),
+                endDate.plusDays(1).atStartOfDay(),
+                OrderStatus.PAYMENT_COMPLETED
+        );
+        List<HourlySales> hourlySales = summaries.stream()
+                .map(summary -> HourlySales.builder()
+                        .salesDate(summary.getSalesDate())
+                        .salesHour(summary.getSalesHour())
+                        .orderCount(summary.getOrderCount())
+                        .totalAmount(summary.getTotalAmount())
+                        .build())
+                .toList();
+        hourlySalesRepository.saveAll(hourlySales);
+
+        log.info("매출 집계를 다시 만들었습니다. {} ~ {}, {}건", startDate, endDate, hourlySales.size());
+        return hourlySales.size();
+    }
+
+    @Scheduled(cron = "${cafekiosk.sales.reconcile-cron:0 10 0 * * *}")
+    public void reconcileYesterday() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        reconcile(yesterday, yesterday);
+    }
+
+}
@@ -0,0 +1,60 @@
+package sample.cafekiosk.spring.api.service.sales;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.domain.order.OrderPaymentCompletedEvent;
+import sample.cafekiosk.spring.domain.sales.HourlySales;
+import sample.cafekiosk.spring.domain.sales.HourlySalesRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 주문이 결제완료되면 같은 트랜잭션 안에서 시간대별 매출 집계를 증가시킨다. (주문이 롤백되면 집계도 함께 롤백)
+ * 진행 중인 트랜잭션 없이 저장된 경우에는 새 트랜잭션에서 증가시킨다.
+ *
+ * 해당 시간대의 첫 주문이면 집계 행을 별도 트랜잭션으로 먼저 만든 뒤 다시 UPDATE 한다.
+ * 동시에 같은 행을 만들려다 유니크 제약에 걸려도 주문 트랜잭션에는 영향이 없다.
+ */
+@Component
+public class SalesAggregateUpdater {
+
+    private final HourlySalesRepository hourlySalesRepository;
+    private final TransactionTemplate requiresNewTransactionTemplate;
+
+    public SalesAggregateUpdater(HourlySalesRepository hourlySalesRepository, PlatformTransactionManager transactionManager) {
+        this.hourlySalesRepository = hourlySalesRepository;
+        this.requiresNewTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.requiresNewTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Transactional
+    @EventListener
+    public void onPaymentCompleted(OrderPaymentCompletedEvent event) {
+        LocalDateTime registeredDateTime = event.registeredDateTime();
+        LocalDate salesDate = registeredDateTime.toLocalDate();
+        int salesHour = registeredDateTime.getHour();
+
+        if (hourlySalesRepository.addSales(salesDate, salesHour, event.totalPrice()) > 0) {
+            return;
+        }
+
+        createIfAbsent(salesDate, salesHour);
+        hourlySalesRepository.addSales(salesDate, salesHour, event.totalPrice());
+    }
+
+    private void createIfAbsent(LocalDate salesDate, int salesHour) {
+        try {
+            requiresNewTransactionTemplate.executeWithoutResult(status ->
+                    hourlySalesRepository.saveAndFlush(HourlySales.empty(salesDate, salesHour)));
+        } catch (DataIntegrityViolationException e) {
+            // 다른 주문이 먼저 만든 경우
+        }
+    }
+
+}
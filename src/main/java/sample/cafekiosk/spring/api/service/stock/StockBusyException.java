@@ -0,0 +1,13 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+/**
+ * PESSIMISTIC 모드에서 다른 주문이 재고 행을 잠그고 있어 lockTimeout 안에 잠그지 못한 경우.
+ * 요청 스레드를 붙잡아 두지 않고 바로 실패하며, 잠시 후 다시 주문하면 성공할 수 있다.
+ */
+public class StockBusyException extends RuntimeException {
+
+    public StockBusyException(Throwable cause) {
+        super("다른 주문이 재고를 차감하고 있습니다. 잠시 후 다시 시도해주세요.", cause);
+    }
+
+}
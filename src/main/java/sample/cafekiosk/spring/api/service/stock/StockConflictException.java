@@ -0,0 +1,21 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 다른 주문이 먼저 같은 재고를 변경하여 재고 차감이 반영되지 못한 경우.
+ * 주문 전체를 다시 시도하면 성공할 수 있다.
+ */
+@Getter
+public class StockConflictException extends RuntimeException {
+
+    private final List<String> productNumbers;
+
+    public StockConflictException(List<String> productNumbers, Throwable cause) {
+        super("다른 주문과 재고 차감이 충돌했습니다.", cause);
+        this.productNumbers = productNumbers;
+    }
+
+}
@@ -0,0 +1,88 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * 상품번호별 재고 경합 지표
+ *
+ * - conflicts : 재고 차감이 다른 주문과 충돌한 횟수
+ * - retries : 충돌 후 주문을 다시 시도한 횟수
+ * - failures : 재시도 횟수를 모두 소진하여 주문이 실패한 횟수
+ *
+ * 상품번호가 처음 경합할 때 cafekiosk.stock.contention{productNumber, kind} 로 MeterRegistry 에도 등록한다.
+ */
+@Component
+public class StockContentionMetrics {
+
+    private final ConcurrentMap<String, Counters> countersByProductNumber = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public StockContentionMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void recordConflict(Collection<String> productNumbers) {
+        productNumbers.forEach(productNumber -> countersOf(productNumber).conflicts.increment());
+    }
+
+    public void recordRetry(Collection<String> productNumbers) {
+        productNumbers.forEach(productNumber -> countersOf(productNumber).retries.increment());
+    }
+
+    public void recordFailure(Collection<String> productNumbers) {
+        productNumbers.forEach(productNumber -> countersOf(productNumber).failures.increment());
+    }
+
+    public StockContention getContention(String productNumber) {
+        Counters counters = countersByProductNumber.get(productNumber);
+        return counters == null ? StockContention.EMPTY : counters.toContention();
+    }
+
+    public Map<String, StockContention> getContentions() {
+        return countersByProductNumber.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().toContention()));
+    }
+
+    private Counters countersOf(String productNumber) {
+        return countersByProductNumber.computeIfAbsent(productNumber, this::registerCounters);
+    }
+
+    private Counters registerCounters(String productNumber) {
+        Counters counters = new Counters();
+        registerCounter(productNumber, "conflict", counters.conflicts);
+        registerCounter(productNumber, "retry", counters.retries);
+        registerCounter(productNumber, "failure", counters.failures);
+        return counters;
+    }
+
+    private void registerCounter(String productNumber, String kind, LongAdder counter) {
+        FunctionCounter.builder("cafekiosk.stock.contention", counter, LongAdder::sum)
+                .tag("productNumber", productNumber)
+                .tag("kind", kind)
+                .register(meterRegistry);
+    }
+
+    public record StockContention(long conflicts, long retries, long failures) {
+        private static final StockContention EMPTY = new StockContention(0, 0, 0);
+    }
+
+    private static class Counters {
+        private final LongAdder conflicts = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+
+        private StockContention toContention() {
+            return new StockContention(conflicts.sum(), retries.sum(), failures.sum());
+        }
+    }
+
+}
@@ -0,0 +1,18 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum StockDeductionMode {
+
+    CONDITIONAL_UPDATE("재고가 충분한 경우에만 차감하는 UPDATE 한 번으로 차감"),
+    DIRTY_CHECKING("재고 엔티티 조회 후 변경감지로 차감"),
+    RESERVATION("메모리 재고 예약 후 비동기 일괄 반영"),
+    OPTIMISTIC("재고 버전 검증 후 충돌 시 주문 재시도"),
+    PESSIMISTIC("재고 행을 상품번호 순서로 잠근 뒤 차감");
+
+    private final String text;
+
+}
@@ -0,0 +1,45 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * cafekiosk.stock.* 설정
+ *
+ * deductionMode : 주문 시 재고를 어떤 방식으로 차감할지 결정한다.
+ * retry : OPTIMISTIC 모드에서 재고 충돌이 발생했을 때의 주문 재시도 정책
+ * lockTimeout : PESSIMISTIC 모드에서 재고 행 하나의 잠금을 기다리는 최대 시간. 0 이면 기다리지 않고 바로 실패한다. (NOWAIT)
+ */
+@ConfigurationProperties(prefix = "cafekiosk.stock")
+public record StockProperties(
+        @DefaultValue("CONDITIONAL_UPDATE") StockDeductionMode deductionMode,
+        @DefaultValue Retry retry,
+        @DefaultValue("2s") Duration lockTimeout
+) {
+
+    /**
+     * @param maxAttempts 최초 시도를 포함한 최대 시도 횟수
+     * @param initialBackoff 첫 재시도 전 최대 대기 시간
+     * @param maxBackoff 재시도 대기 시간의 상한
+     * @param multiplier 재시도마다 대기 시간을 늘리는 배수
+     */
+    public record Retry(
+            @DefaultValue("5") int maxAttempts,
+            @DefaultValue("10ms") Duration initialBackoff,
+            @DefaultValue("200ms") Duration maxBackoff,
+            @DefaultValue("2.0") double multiplier
+    ) {
+
+        /**
+         * 지수 백오프에 Full Jitter 를 적용한 대기 시간 상한. (동시에 충돌한 요청들이 같은 시점에 다시 몰리지 않도록)
+         */
+        public long backoffMillisBound(int attempt) {
+            double backoff = initialBackoff.toMillis() * Math.pow(multiplier, attempt - 1);
+            return (long) Math.min(backoff, maxBackoff.toMillis());
+        }
+
+    }
+
+}
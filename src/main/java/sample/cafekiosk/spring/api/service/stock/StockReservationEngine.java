@@ -0,0 +1,170 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.domain.order.OrderLineItems;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 재고 예약 엔진
+ *
+ * - 상품번호별 재고 수량을 AtomicInteger 로 메모리에 올려두고 CAS 로 예약/해제한다. (DB row lock 을 기다리지 않음)
+ * - 예약으로 차감된 수량은 상품번호별로 모아두었다가 주기적으로 한 트랜잭션에서 Stock 테이블에 반영한다.
+ * - 메모리 카운터는 0 미만으로 내려가지 않으므로 경합 상황에서도 초과판매는 일어나지 않는다.
+ *
+ * 주의 : 이 엔진을 사용하는 동안에는 Stock 테이블의 수량을 다른 경로로 변경하면 안된다. (메모리 카운터가 다시 읽히지 않음)
+ */
+@Slf4j
+@Component
+public class StockReservationEngine {
+
+    private final StockRepository stockRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentMap<String, AtomicInteger> availableQuantities = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicInteger> pendingDeductions = new ConcurrentHashMap<>();
+
+    public StockReservationEngine(StockRepository stockRepository, PlatformTransactionManager transactionManager) {
+        this.stockRepository = stockRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 주문 한 건의 재고 대상 상품을 lineItems 의 재고 인덱스 순서(상품번호 순)로 예약한다. (주문 생성 hot path 용)
+     * 수량 Map 을 만들지 않고, 실패하면 앞에서 예약한 상품만 되돌린다.
+     * 트랜잭션 안에서 호출되면 트랜잭션이 커밋되지 않았을 때 예약을 자동으로 해제한다.
+     */
+    public void reserve(OrderLineItems lineItems) {
+        List<String> missingProductNumbers = null;
+        for (int i = 0; i < lineItems.stockCount(); i++) {
+            String productNumber = lineItems.getProductNumber(lineItems.getStockIndex(i));
+            if (!availableQuantities.containsKey(productNumber)) {
+                if (missingProductNumbers == null) {
+                    missingProductNumbers = new ArrayList<>();
+                }
+                missingProductNumbers.add(productNumber);
+            }
+        }
+        if (missingProductNumbers != null) {
+            loadQuantities(missingProductNumbers);
+        }
+
+        for (int i = 0; i < lineItems.stockCount(); i++) {
+            int index = lineItems.getStockIndex(i);
+            if (!tryReserve(lineItems.getProductNumber(index), lineItems.getQuantity(index))) {
+                release(lineItems, i);
+                throw new IllegalArgumentException("재고가 부족한 상품이 있습니다.");
+            }
+        }
+
+        releaseOnRollback(() -> release(lineItems, lineItems.stockCount()));
+    }
+
+    public int getAvailableQuantity(String productNumber) {
+        AtomicInteger available = availableQuantities.get(productNumber);
+        return available == null ? 0 : available.get();
+    }
+
+    /**
+     * 예약된 차감 수량을 Stock 테이블에 한 번에 반영한다.
+     * 반영에 실패하면 다음 주기에 다시 반영할 수 있도록 차감 수량을 되돌려 놓는다.
+     */
+    @Scheduled(fixedDelayString = "${cafekiosk.stock.reservation.write-back-interval-ms:200}")
+    public void flush() {
+        Map<String, Integer> deductions = drainPendingDeductions();
+        if (deductions.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> deductions.forEach(stockRepository::deductQuantity));
+        } catch (RuntimeException e) {
+            log.error("재고 차감 반영에 실패했습니다. 다음 주기에 다시 시도합니다. {}", deductions, e);
+            deductions.forEach((productNumber, quantity) -> pendingDeductionOf(productNumber).addAndGet(quantity));
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private boolean tryReserve(String productNumber, int quantity) {
+        AtomicInteger available = availableQuantities.get(productNumber);
+        if (available == null) {
+            return false;
+        }
+
+        while (true) {
+            int current = available.get();
+            if (current < quantity) {
+                return false;
+            }
+            if (available.compareAndSet(current, current - quantity)) {
+                pendingDeductionOf(productNumber).addAndGet(quantity);
+                return true;
+            }
+        }
+    }
+
+    private void release(OrderLineItems lineItems, int reservedCount) {
+        for (int i = 0; i < reservedCount; i++) {
+            int index = lineItems.getStockIndex(i);
+            String productNumber = lineItems.getProductNumber(index);
+            availableQuantities.get(productNumber).addAndGet(lineItems.getQuantity(index));
+            pendingDeductionOf(productNumber).addAndGet(-lineItems.getQuantity(index));
+        }
+    }
+
+    private void loadQuantities(List<String> missingProductNumbers) {
+        for (Stock stock : stockRepository.findAllByProductNumberIn(missingProductNumbers)) {
+            availableQuantities.putIfAbsent(stock.getProductNumber(), new AtomicInteger(stock.getQuantity()));
+        }
+    }
+
+    private void releaseOnRollback(Runnable release) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    release.run();
+                }
+            }
+        });
+    }
+
+    private Map<String, Integer> drainPendingDeductions() {
+        Map<String, Integer> deductions = new HashMap<>();
+        pendingDeductions.forEach((productNumber, pending) -> {
+            int quantity = pending.getAndSet(0);
+            if (quantity != 0) {
+                deductions.put(productNumber, quantity);
+            }
+        });
+        return deductions;
+    }
+
+    private AtomicInteger pendingDeductionOf(String productNumber) {
+        return pendingDeductions.computeIfAbsent(productNumber, key -> new AtomicInteger());
+    }
+
+}
@@ -0,0 +1,13 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+/**
+ * OPTIMISTIC 모드에서 재고 충돌(StockConflictException)로 재시도 횟수(cafekiosk.stock.retry.max-attempts)를 모두 소진한 경우.
+ * 주문이 몰린 상품의 일시적인 경합이므로 잠시 후 다시 주문하면 성공할 수 있다.
+ */
+public class StockRetryExhaustedException extends RuntimeException {
+
+    public StockRetryExhaustedException(Throwable cause) {
+        super("주문이 몰려 재고를 차감하지 못했습니다. 잠시 후 다시 시도해주세요.", cause);
+    }
+
+}
@@ -0,0 +1,27 @@
+package sample.cafekiosk.spring.config;
+
+import com.zaxxer.hikari.SQLExceptionOverride;
+
+import java.sql.SQLException;
+import java.util.Set;
+
+/**
+ * HikariCP 는 SQLTimeoutException 이 발생한 커넥션을 고장난 것으로 보고 풀에서 제거한다.
+ * 행 잠금 대기 시간 초과는 커넥션 문제가 아니므로 제거하지 않게 한다.
+ * (제거되면 뒤이은 롤백이 실패해 StockBusyException 대신 롤백 예외가 전달된다)
+ *
+ * 잠금 대기 시간 초과 에러 코드 - H2: 50200, MySQL: 1205, Oracle: 30006
+ */
+public class LockTimeoutExceptionOverride implements SQLExceptionOverride {
+
+    private static final Set<Integer> LOCK_TIMEOUT_ERROR_CODES = Set.of(50200, 1205, 30006);
+
+    // 상속받은 Override enum 이 @Override 애너테이션 이름을 가리므로 애너테이션을 붙이지 않는다.
+    public Override adjudicate(SQLException sqlException) {
+        if (LOCK_TIMEOUT_ERROR_CODES.contains(sqlException.getErrorCode())) {
+            return Override.DO_NOT_EVICT;
+        }
+        return Override.CONTINUE_EVICT;
+    }
+
+}
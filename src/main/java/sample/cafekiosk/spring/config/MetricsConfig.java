@@ -0,0 +1,62 @@
+package sample.cafekiosk.spring.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import sample.cafekiosk.spring.api.service.order.OrderWriteBehindPipeline;
+import sample.cafekiosk.spring.api.service.product.ProductCatalogCache;
+
+/**
+ * 컴포넌트가 직접 모으고 있던 통계(getStats)를 MeterRegistry 에 연결한다.
+ * 값은 Prometheus 가 수집할 때마다 getStats 로 읽는다.
+ *
+ * 커넥션 풀(hikaricp.*)과 Hibernate 통계(hibernate.*)는 actuator 자동 설정이 등록한다.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder productCatalogCacheMetrics(ProductCatalogCache cache) {
+        return registry -> {
+            FunctionCounter.builder("cafekiosk.product.cache.requests", cache, it -> it.getStats().hitCount())
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("cafekiosk.product.cache.requests", cache, it -> it.getStats().missCount())
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("cafekiosk.product.cache.evictions", cache, it -> it.getStats().evictionCount())
+                    .register(registry);
+            Gauge.builder("cafekiosk.product.cache.size", cache, it -> it.getStats().size())
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder orderWriteBehindMetrics(OrderWriteBehindPipeline pipeline) {
+        return registry -> {
+            Gauge.builder("cafekiosk.order.write.behind.queue.depth", pipeline, it -> it.getStats().queueDepth())
+                    .register(registry);
+            Gauge.builder("cafekiosk.order.write.behind.pending", pipeline, it -> it.getStats().pendingCount())
+                    .register(registry);
+            FunctionCounter.builder("cafekiosk.order.write.behind.orders", pipeline, it -> it.getStats().persistedCount())
+                    .tag("result", "persisted")
+                    .register(registry);
+            FunctionCounter.builder("cafekiosk.order.write.behind.orders", pipeline, it -> it.getStats().rejectedCount())
+                    .tag("result", "rejected")
+                    .register(registry);
+            FunctionCounter.builder("cafekiosk.order.write.behind.orders", pipeline, it -> it.getStats().failedCount())
+                    .tag("result", "failed")
+                    .register(registry);
+            FunctionCounter.builder("cafekiosk.order.write.behind.orders", pipeline, it -> it.getStats().deadLetterCount())
+                    .tag("result", "dead_letter")
+                    .register(registry);
+            FunctionCounter.builder("cafekiosk.order.write.behind.retries", pipeline, it -> it.getStats().retryCount())
+                    .register(registry);
+            FunctionCounter.builder("cafekiosk.order.write.behind.commits", pipeline, it -> it.getStats().commitCount())
+                    .register(registry);
+        };
+    }
+
+}
@@ -0,0 +1,35 @@
+package sample.cafekiosk.spring.domain;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * JPA 를 거치지 않고 JDBC 로 INSERT 할 때 사용하는 ID 할당기.
+ *
+ * PooledSequenceGenerator(pooled 옵티마이저)와 같은 방식으로 시퀀스 값 v 를 (v - allocationSize, v] 블록의 상한으로 해석하므로,
+ * 같은 시퀀스를 Hibernate 와 함께 사용해도 ID 가 겹치지 않는다.
+ */
+public class PooledSequenceIdAllocator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String nextValueSql;
+    private final int allocationSize;
+
+    private long next = 1;
+    private long hi = 0;
+
+    public PooledSequenceIdAllocator(JdbcTemplate jdbcTemplate, String sequenceName, int allocationSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nextValueSql = "select next value for " + sequenceName;
+        this.allocationSize = allocationSize;
+    }
+
+    public synchronized long nextId() {
+        if (next > hi) {
+            Long value = jdbcTemplate.queryForObject(nextValueSql, Long.class);
+            hi = value;
+            next = Math.max(1, value - allocationSize + 1);
+        }
+        return next++;
+    }
+
+}
@@ -5,7 +5,9 @@ import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
 import sample.cafekiosk.spring.domain.BaseEntity;
+import sample.cafekiosk.spring.domain.PooledSequenceGenerator;
 
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -13,7 +15,8 @@ import sample.cafekiosk.spring.domain.BaseEntity;
 public class MailSendHistory extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "mail_send_history_seq")
+    @GenericGenerator(name = "mail_send_history_seq", type = PooledSequenceGenerator.class)
     private Long id;
 
     private String fromEmail;
@@ -22,6 +25,7 @@ public class MailSendHistory extends BaseEntity {
 
     private String subject;
 
+    @Column(length = 2000)
     private String content;
 
     @Builder
@@ -0,0 +1,111 @@
+package sample.cafekiosk.spring.domain.mail;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import sample.cafekiosk.spring.domain.BaseEntity;
+import sample.cafekiosk.spring.domain.PooledSequenceGenerator;
+import sample.cafekiosk.spring.domain.history.mail.MailSendHistory;
+
+import java.time.LocalDateTime;
+
+/**
+ * 발송을 기다리는 메일 (outbox)
+ *
+ * 메일을 보내려는 트랜잭션 안에서 저장되고, MailOutboxDispatcher 가 발송한다.
+ * - PENDING : nextAttemptDateTime 이 지나면 발송 대상이 된다.
+ * - SENDING : 발송기가 claimToken 으로 가져간 상태. 발송에 성공하면 행을 지우고 MailSendHistory 를 남긴다.
+ * - DEAD : 최대 시도 횟수를 모두 실패한 메일. 지우지 않고 남겨서 lastError 를 확인하고 다시 보낼 수 있게 한다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "mail_queue", indexes = {
+        @Index(name = "idx_mail_queue_status_next_attempt", columnList = "status, nextAttemptDateTime"),
+        @Index(name = "idx_mail_queue_claim_token", columnList = "claimToken")
+})
+@Entity
+public class MailQueue extends BaseEntity {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Id
+    @GeneratedValue(generator = "mail_queue_seq")
+    @GenericGenerator(name = "mail_queue_seq", type = PooledSequenceGenerator.class)
+    private Long id;
+
+    private String fromEmail;
+
+    private String toEmail;
+
+    private String subject;
+
+    @Column(length = 2000)
+    private String content;
+
+    @Enumerated(EnumType.STRING)
+    private MailQueueStatus status;
+
+    private int attemptCount;
+
+    private LocalDateTime nextAttemptDateTime;
+
+    private String claimToken;
+
+    private LocalDateTime claimedDateTime;
+
+    @Column(length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    @Builder
+    private MailQueue(String fromEmail, String toEmail, String subject, String content, LocalDateTime nextAttemptDateTime) {
+        this.fromEmail = fromEmail;
+        this.toEmail = toEmail;
+        this.subject = subject;
+        this.content = content;
+        this.status = MailQueueStatus.PENDING;
+        this.nextAttemptDateTime = nextAttemptDateTime;
+    }
+
+    public static MailQueue create(String fromEmail, String toEmail, String subject, String content, LocalDateTime now) {
+        return MailQueue.builder()
+                .fromEmail(fromEmail)
+                .toEmail(toEmail)
+                .subject(subject)
+                .content(content)
+                .nextAttemptDateTime(now)
+                .build();
+    }
+
+    public MailSendHistory toHistory() {
+        return MailSendHistory.builder()
+                .fromEmail(fromEmail)
+                .toEmail(toEmail)
+                .subject(subject)
+                .content(content)
+                .build();
+    }
+
+    /**
+     * 발송 실패를 기록한다. maxAttempts 번째 실패면 DEAD 로, 아니면 retryAt 에 다시 보내도록 PENDING 으로 되돌린다.
+     */
+    public void recordFailure(String error, LocalDateTime retryAt, int maxAttempts) {
+        attemptCount++;
+        lastError = error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        claimToken = null;
+        claimedDateTime = null;
+        if (attemptCount >= maxAttempts) {
+            status = MailQueueStatus.DEAD;
+            return;
+        }
+        status = MailQueueStatus.PENDING;
+        nextAttemptDateTime = retryAt;
+    }
+
+    public boolean isDead() {
+        return status == MailQueueStatus.DEAD;
+    }
+
+}
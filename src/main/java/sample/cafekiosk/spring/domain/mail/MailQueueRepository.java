@@ -0,0 +1,39 @@
+package sample.cafekiosk.spring.domain.mail;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface MailQueueRepository extends JpaRepository<MailQueue, Long> {
+
+    @Query("select m.id from MailQueue m " +
+            "where m.status = sample.cafekiosk.spring.domain.mail.MailQueueStatus.PENDING and m.nextAttemptDateTime <= :now " +
+            "order by m.id")
+    List<Long> findSendableIds(LocalDateTime now, Pageable pageable);
+
+    /**
+     * 아직 PENDING 인 메일만 claimToken 으로 가져간다. 다른 발송기가 먼저 가져간 메일은 건너뛴다.
+     */
+    @Modifying
+    @Query("update MailQueue m " +
+            "set m.status = sample.cafekiosk.spring.domain.mail.MailQueueStatus.SENDING, m.claimToken = :claimToken, m.claimedDateTime = :now " +
+            "where m.id in :ids and m.status = sample.cafekiosk.spring.domain.mail.MailQueueStatus.PENDING")
+    int claim(Collection<Long> ids, String claimToken, LocalDateTime now);
+
+    List<MailQueue> findAllByClaimToken(String claimToken);
+
+    /**
+     * 발송 중에 프로세스가 죽어 SENDING 으로 남은 메일을 다시 발송 대상으로 되돌린다.
+     */
+    @Modifying
+    @Query("update MailQueue m " +
+            "set m.status = sample.cafekiosk.spring.domain.mail.MailQueueStatus.PENDING, m.claimToken = null, m.claimedDateTime = null " +
+            "where m.status = sample.cafekiosk.spring.domain.mail.MailQueueStatus.SENDING and m.claimedDateTime < :claimedBefore")
+    int releaseExpiredClaims(LocalDateTime claimedBefore);
+
+}
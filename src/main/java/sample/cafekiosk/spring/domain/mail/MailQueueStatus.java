@@ -0,0 +1,16 @@
+package sample.cafekiosk.spring.domain.mail;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum MailQueueStatus {
+
+    PENDING("발송 대기"),
+    SENDING("발송 중"),
+    DEAD("발송 포기");
+
+    private final String text;
+
+}
@@ -0,0 +1,15 @@
+package sample.cafekiosk.spring.domain.order;
+
+import java.time.LocalDate;
+
+public interface HourlySalesSummary {
+
+    LocalDate getSalesDate();
+
+    int getSalesHour();
+
+    long getOrderCount();
+
+    long getTotalAmount();
+
+}
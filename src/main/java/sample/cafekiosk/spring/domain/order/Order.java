@@ -5,23 +5,27 @@ import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.springframework.data.domain.AfterDomainEventPublication;
+import org.springframework.data.domain.DomainEvents;
 import sample.cafekiosk.spring.domain.BaseEntity;
+import sample.cafekiosk.spring.domain.PooledSequenceGenerator;
 import sample.cafekiosk.spring.domain.orderproduct.OrderProduct;
 import sample.cafekiosk.spring.domain.product.Product;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-@Table(name = "orders")
+@Table(name = "orders", indexes = @Index(name = "idx_orders_status_registered_date_time", columnList = "orderStatus, registeredDateTime"))
 @Entity
 public class Order extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "orders_seq")
+    @GenericGenerator(name = "orders_seq", type = PooledSequenceGenerator.class)
     private Long id;
 
     @Enumerated(EnumType.STRING)
@@ -34,14 +38,32 @@ public class Order extends BaseEntity {
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL)
     private List<OrderProduct> orderProducts = new ArrayList<>();
 
+    /**
+     * orderRepository.save() 시점에 발행할 도메인 이벤트 (DB 에 저장하지 않음)
+     */
+    @Getter(AccessLevel.NONE)
+    @Transient
+    private final List<Object> domainEvents = new ArrayList<>();
+
+    /**
+     * 같은 상품이 여러 번 들어 있으면 하나의 주문상품으로 합치고 수량으로 표현한다.
+     */
     @Builder
     private Order(List<Product> products, OrderStatus orderStatus, LocalDateTime registeredDateTime) {
+        this(OrderLineItems.ofProducts(products), orderStatus, registeredDateTime);
+    }
+
+    private Order(OrderLineItems lineItems, OrderStatus orderStatus, LocalDateTime registeredDateTime) {
         this.orderStatus = orderStatus;
-        this.totalPrice = calculateTotalPrice(products);
+        this.totalPrice = lineItems.calculateTotalPrice();
         this.registeredDateTime = registeredDateTime;
-        this.orderProducts = products.stream()
-                .map(product -> new OrderProduct(this, product))
-                .collect(Collectors.toList());
+        this.orderProducts = new ArrayList<>(lineItems.size());
+        for (int i = 0; i < lineItems.size(); i++) {
+            orderProducts.add(new OrderProduct(this, lineItems.getProduct(i), lineItems.getQuantity(i)));
+        }
+        if (orderStatus == OrderStatus.PAYMENT_COMPLETED) {
+            registerPaymentCompletedEvent();
+        }
     }
 
     public static Order create(List<Product> products, LocalDateTime registeredDateTime) {
@@ -52,10 +74,37 @@ public class Order extends BaseEntity {
                 .build();
     }
 
-    private int calculateTotalPrice(List<Product> products) {
-        return this.totalPrice = products.stream()
-                .mapToInt(Product::getPrice)
-                .sum();
+    /**
+     * @param lineItems 상품이 붙은(bindProducts) 상품번호별 주문 수량
+     */
+    public static Order create(OrderLineItems lineItems, LocalDateTime registeredDateTime) {
+        return new Order(lineItems, OrderStatus.INIT, registeredDateTime);
+    }
+
+    /**
+     * 결제 완료 처리. 매출 집계에 반영되도록 orderRepository.save() 로 저장해야 이벤트가 발행된다.
+     */
+    public void completePayment() {
+        if (orderStatus != OrderStatus.INIT) {
+            throw new IllegalStateException("주문생성 상태의 주문만 결제 완료 처리할 수 있습니다.");
+        }
+
+        this.orderStatus = OrderStatus.PAYMENT_COMPLETED;
+        registerPaymentCompletedEvent();
+    }
+
+    private void registerPaymentCompletedEvent() {
+        domainEvents.add(new OrderPaymentCompletedEvent(registeredDateTime, totalPrice));
+    }
+
+    @DomainEvents
+    List<Object> domainEvents() {
+        return List.copyOf(domainEvents);
+    }
+
+    @AfterDomainEventPublication
+    void clearDomainEvents() {
+        domainEvents.clear();
     }
 
 }
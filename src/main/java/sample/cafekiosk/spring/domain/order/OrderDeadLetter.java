@@ -0,0 +1,96 @@
+package sample.cafekiosk.spring.domain.order;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import sample.cafekiosk.spring.domain.BaseEntity;
+import sample.cafekiosk.spring.domain.PooledSequenceGenerator;
+import sample.cafekiosk.spring.domain.order.OrderJdbcRepository.IdentifiedOrder;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProduct;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * write-behind 로 저장하지 못한 주문 (dead letter)
+ *
+ * 응답한 주문(ID 발급, 재고 차감 완료)을 orders 에 INSERT 하지 못하면 버리지 않고 여기에 남긴다.
+ * OrderWriteBehindPipeline.replayDeadLetters 가 같은 주문 ID 로 orders / order_product 에 다시 저장하고 행을 지운다.
+ * 주문상품은 "상품 ID:수량" 을 줄 단위로 담는다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(
+        name = "order_dead_letter",
+        uniqueConstraints = @UniqueConstraint(name = "uk_order_dead_letter_order_id", columnNames = "orderId")
+)
+@Entity
+public class OrderDeadLetter extends BaseEntity {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Id
+    @GeneratedValue(generator = "order_dead_letter_seq")
+    @GenericGenerator(name = "order_dead_letter_seq", type = PooledSequenceGenerator.class)
+    private Long id;
+
+    private Long orderId;
+
+    @Enumerated(EnumType.STRING)
+    private OrderStatus orderStatus;
+
+    private int totalPrice;
+
+    private LocalDateTime registeredDateTime;
+
+    @Lob
+    private String orderProducts;
+
+    @Column(length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    @Builder
+    private OrderDeadLetter(Long orderId, OrderStatus orderStatus, int totalPrice, LocalDateTime registeredDateTime,
+                            String orderProducts, String lastError) {
+        this.orderId = orderId;
+        this.orderStatus = orderStatus;
+        this.totalPrice = totalPrice;
+        this.registeredDateTime = registeredDateTime;
+        this.orderProducts = orderProducts;
+        this.lastError = lastError != null && lastError.length() > MAX_ERROR_LENGTH ? lastError.substring(0, MAX_ERROR_LENGTH) : lastError;
+    }
+
+    public static OrderDeadLetter create(IdentifiedOrder identifiedOrder, String lastError) {
+        Order order = identifiedOrder.order();
+        return OrderDeadLetter.builder()
+                .orderId(identifiedOrder.id())
+                .orderStatus(order.getOrderStatus())
+                .totalPrice(order.getTotalPrice())
+                .registeredDateTime(order.getRegisteredDateTime())
+                .orderProducts(order.getOrderProducts().stream()
+                        .map(OrderDeadLetter::formatOrderProduct)
+                        .collect(Collectors.joining("\n")))
+                .lastError(lastError)
+                .build();
+    }
+
+    public List<ProductQuantity> getProductQuantities() {
+        return Arrays.stream(orderProducts.split("\n"))
+                .map(line -> line.split(":"))
+                .map(parts -> new ProductQuantity(Long.parseLong(parts[0]), Integer.parseInt(parts[1])))
+                .toList();
+    }
+
+    private static String formatOrderProduct(OrderProduct orderProduct) {
+        return orderProduct.getProduct().getId() + ":" + orderProduct.getQuantity();
+    }
+
+    public record ProductQuantity(long productId, int quantity) {
+    }
+
+}
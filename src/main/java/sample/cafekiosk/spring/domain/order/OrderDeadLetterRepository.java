@@ -0,0 +1,12 @@
+package sample.cafekiosk.spring.domain.order;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface OrderDeadLetterRepository extends JpaRepository<OrderDeadLetter, Long> {
+
+    List<OrderDeadLetter> findAllByOrderByIdAsc(Pageable pageable);
+
+}
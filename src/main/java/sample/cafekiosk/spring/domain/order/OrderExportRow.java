@@ -0,0 +1,26 @@
+package sample.cafekiosk.spring.domain.order;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문 내보내기 한 행 (주문상품 1개당 1행)
+ */
+public interface OrderExportRow {
+
+    Long getOrderId();
+
+    LocalDateTime getRegisteredDateTime();
+
+    OrderStatus getOrderStatus();
+
+    int getTotalPrice();
+
+    String getProductNumber();
+
+    String getProductName();
+
+    int getPrice();
+
+    int getQuantity();
+
+}
@@ -0,0 +1,66 @@
+package sample.cafekiosk.spring.domain.order;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import sample.cafekiosk.spring.domain.BaseEntity;
+import sample.cafekiosk.spring.domain.PooledSequenceGenerator;
+
+/**
+ * Idempotency-Key 로 처리한 주문 요청과 그 응답
+ *
+ * 주문 트랜잭션 안에서 함께 저장되므로, 이 행이 있으면 주문(재고 차감)도 커밋된 것이다.
+ * 같은 키로 다른 서버나 재시작 이후에 다시 요청이 오면 unique 제약으로 두 번째 주문이 롤백되고, 저장된 응답을 돌려준다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(
+        name = "order_idempotency_record",
+        uniqueConstraints = @UniqueConstraint(name = "uk_order_idempotency_key", columnNames = "idempotencyKey"),
+        indexes = @Index(name = "idx_order_idempotency_created", columnList = "createdDateTime")
+)
+@Entity
+public class OrderIdempotencyRecord extends BaseEntity {
+
+    public static final int MAX_KEY_LENGTH = 100;
+
+    @Id
+    @GeneratedValue(generator = "order_idempotency_record_seq")
+    @GenericGenerator(name = "order_idempotency_record_seq", type = PooledSequenceGenerator.class)
+    private Long id;
+
+    @Column(length = MAX_KEY_LENGTH)
+    private String idempotencyKey;
+
+    /**
+     * 같은 키로 다른 내용의 주문이 오는 것을 막기 위한 요청 본문 해시
+     */
+    @Column(length = 64)
+    private String requestHash;
+
+    private Long orderId;
+
+    @Lob
+    private String responseBody;
+
+    @Builder
+    private OrderIdempotencyRecord(String idempotencyKey, String requestHash, Long orderId, String responseBody) {
+        this.idempotencyKey = idempotencyKey;
+        this.requestHash = requestHash;
+        this.orderId = orderId;
+        this.responseBody = responseBody;
+    }
+
+    public static OrderIdempotencyRecord create(String idempotencyKey, String requestHash, Long orderId, String responseBody) {
+        return OrderIdempotencyRecord.builder()
+                .idempotencyKey(idempotencyKey)
+                .requestHash(requestHash)
+                .orderId(orderId)
+                .responseBody(responseBody)
+                .build();
+    }
+
+}
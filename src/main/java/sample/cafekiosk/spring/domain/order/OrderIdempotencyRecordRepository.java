@@ -0,0 +1,22 @@
+package sample.cafekiosk.spring.domain.order;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface OrderIdempotencyRecordRepository extends JpaRepository<OrderIdempotencyRecord, Long> {
+
+    Optional<OrderIdempotencyRecord> findByIdempotencyKey(String idempotencyKey);
+
+    List<OrderIdempotencyRecord> findAllByIdempotencyKeyIn(Collection<String> idempotencyKeys);
+
+    @Modifying
+    @Query("delete from OrderIdempotencyRecord r where r.createdDateTime < :createdBefore")
+    int deleteAllCreatedBefore(LocalDateTime createdBefore);
+
+}
@@ -0,0 +1,113 @@
+package sample.cafekiosk.spring.domain.order;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import sample.cafekiosk.spring.domain.PooledSequenceIdAllocator;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProduct;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 주문 write-behind 저장용 JDBC 리포지토리
+ *
+ * 영속성 컨텍스트 없이 여러 주문과 주문상품을 JDBC 배치로 한 번에 INSERT 한다.
+ * 주문 ID 는 응답을 먼저 돌려주기 위해 INSERT 전에 nextOrderId() 로 미리 받는다.
+ */
+@Repository
+public class OrderJdbcRepository {
+
+    private static final String INSERT_ORDER_SQL = """
+            insert into orders (id, order_status, total_price, registered_date_time, created_date_time, modified_date_time)
+            values (?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_ORDER_PRODUCT_SQL = """
+            insert into order_product (id, order_id, product_id, quantity, created_date_time, modified_date_time)
+            values (?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PooledSequenceIdAllocator orderIdAllocator;
+    private final PooledSequenceIdAllocator orderProductIdAllocator;
+
+    public OrderJdbcRepository(JdbcTemplate jdbcTemplate,
+                               @Value("${spring.jpa.properties.cafekiosk.id.allocation-size:50}") int allocationSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.orderIdAllocator = new PooledSequenceIdAllocator(jdbcTemplate, "orders_seq", allocationSize);
+        this.orderProductIdAllocator = new PooledSequenceIdAllocator(jdbcTemplate, "order_product_seq", allocationSize);
+    }
+
+    public long nextOrderId() {
+        return orderIdAllocator.nextId();
+    }
+
+    public void insertAll(List<IdentifiedOrder> orders) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> orderArgs = new ArrayList<>();
+        List<Object[]> orderProductArgs = new ArrayList<>();
+        for (IdentifiedOrder identifiedOrder : orders) {
+            Order order = identifiedOrder.order();
+            orderArgs.add(new Object[]{
+                    identifiedOrder.id(),
+                    order.getOrderStatus().name(),
+                    order.getTotalPrice(),
+                    Timestamp.valueOf(order.getRegisteredDateTime()),
+                    now,
+                    now
+            });
+            for (OrderProduct orderProduct : order.getOrderProducts()) {
+                orderProductArgs.add(new Object[]{
+                        orderProductIdAllocator.nextId(),
+                        identifiedOrder.id(),
+                        orderProduct.getProduct().getId(),
+                        orderProduct.getQuantity(),
+                        now,
+                        now
+                });
+            }
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_ORDER_SQL, orderArgs);
+        jdbcTemplate.batchUpdate(INSERT_ORDER_PRODUCT_SQL, orderProductArgs);
+    }
+
+    /**
+     * dead letter 로 남은 주문을 원래 주문 ID 로 저장한다. 이미 저장된 주문이면 DuplicateKeyException 이 발생한다.
+     */
+    public void insertDeadLetter(OrderDeadLetter deadLetter) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.update(INSERT_ORDER_SQL,
+                deadLetter.getOrderId(),
+                deadLetter.getOrderStatus().name(),
+                deadLetter.getTotalPrice(),
+                Timestamp.valueOf(deadLetter.getRegisteredDateTime()),
+                now,
+                now
+        );
+        List<Object[]> orderProductArgs = new ArrayList<>();
+        for (OrderDeadLetter.ProductQuantity productQuantity : deadLetter.getProductQuantities()) {
+            orderProductArgs.add(new Object[]{
+                    orderProductIdAllocator.nextId(),
+                    deadLetter.getOrderId(),
+                    productQuantity.productId(),
+                    productQuantity.quantity(),
+                    now,
+                    now
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT_ORDER_PRODUCT_SQL, orderProductArgs);
+    }
+
+    /**
+     * ID 를 미리 할당받은, 아직 저장되지 않은 주문
+     */
+    public record IdentifiedOrder(long id, Order order) {
+    }
+
+}
@@ -0,0 +1,219 @@
+package sample.cafekiosk.spring.domain.order;
+
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 주문 한 건의 상품번호별 주문 수량 (주문 생성 hot path 용)
+ *
+ * - 상품번호 → 인덱스는 int 배열 하나로 된 open addressing 해시(slots)로 찾고, 인덱스로 접근하는 배열(상품번호, 수량, 상품)에 값을 둔다.
+ * - 수량은 int 배열에 누적하므로 boxing 없이 한 번의 순회로 중복 상품번호를 합친다.
+ * - 조회한 상품은 bindProducts 로 같은 인덱스에 붙이면서, 재고 대상 상품의 인덱스를 상품번호 순으로 정렬된 int 배열(stockIndexes)에 모은다.
+ *   재고 차감은 이 배열을 한 번 순회하므로 상품번호 정렬이나 Map 을 따로 만들지 않는다.
+ * 순서는 상품번호가 처음 나온 순서를 따른다. 주문 요청 한 건 안에서만 사용한다. (thread-safe 하지 않음)
+ */
+public class OrderLineItems {
+
+    private static final int DEFAULT_CAPACITY = 8;
+
+    /** 인덱스 + 1 (0 은 빈 칸). 길이는 2의 거듭제곱이고 항상 size 의 두 배 이상이다. */
+    private int[] slots;
+    private String[] productNumbers;
+    private int[] quantities;
+    private Product[] products;
+    private int size;
+
+    private int[] stockIndexes;
+    private int stockCount;
+
+    public OrderLineItems(int expectedSize) {
+        int capacity = Math.max(expectedSize, 1);
+        this.slots = new int[tableSizeFor(capacity)];
+        this.productNumbers = new String[capacity];
+        this.quantities = new int[capacity];
+        this.products = new Product[capacity];
+    }
+
+    public static OrderLineItems of(List<String> productNumbers) {
+        OrderLineItems lineItems = new OrderLineItems(productNumbers.size());
+        for (String productNumber : productNumbers) {
+            lineItems.add(productNumber, 1);
+        }
+        return lineItems;
+    }
+
+    /**
+     * 상품 리스트로 만든다. 같은 상품번호의 상품은 수량으로 합친다.
+     */
+    public static OrderLineItems ofProducts(List<Product> products) {
+        OrderLineItems lineItems = new OrderLineItems(products.size());
+        for (Product product : products) {
+            int index = lineItems.add(product.getProductNumber(), 1);
+            lineItems.products[index] = product;
+        }
+        return lineItems;
+    }
+
+    /**
+     * @return 상품번호의 인덱스
+     */
+    public int add(String productNumber, int quantity) {
+        int index = indexOf(productNumber);
+        if (index < 0) {
+            ensureCapacity();
+            index = size++;
+            productNumbers[index] = productNumber;
+            slots[slotOf(productNumber)] = index + 1;
+        }
+        quantities[index] = addQuantity(quantities[index], quantity);
+        return index;
+    }
+
+    /**
+     * 수량을 더한다. int 범위를 넘으면 잘못된 주문으로 보고 예외가 발생한다.
+     */
+    public static int addQuantity(int quantity, int addedQuantity) {
+        try {
+            return Math.addExact(quantity, addedQuantity);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("주문 수량이 너무 많습니다.", e);
+        }
+    }
+
+    /**
+     * 조회한 상품을 같은 상품번호의 인덱스에 붙인다. 조회되지 않은 상품번호가 있으면 예외가 발생한다.
+     * 총 금액이 int 범위를 넘는 주문도 재고를 차감하기 전에 여기서 거절한다.
+     * 상품을 확인하는 순회에서 재고 대상 인덱스를 이진 탐색한 자리에 끼워 넣어 상품번호 순으로 정렬해 둔다.
+     */
+    public void bindProducts(List<Product> foundProducts) {
+        Arrays.fill(products, 0, size, null);
+        for (Product product : foundProducts) {
+            int index = indexOf(product.getProductNumber());
+            if (index >= 0) {
+                products[index] = product;
+            }
+        }
+
+        if (stockIndexes == null || stockIndexes.length < size) {
+            stockIndexes = new int[productNumbers.length];
+        }
+        stockCount = 0;
+        for (int i = 0; i < size; i++) {
+            if (products[i] == null) {
+                throw new IllegalArgumentException("존재하지 않는 상품이 있습니다.");
+            }
+            if (ProductType.containsStockType(products[i].getType())) {
+                insertStockIndex(i);
+            }
+        }
+        calculateTotalPrice();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return 상품번호의 인덱스, 없으면 -1
+     */
+    public int indexOf(String productNumber) {
+        return slots[slotOf(productNumber)] - 1;
+    }
+
+    public String getProductNumber(int index) {
+        return productNumbers[index];
+    }
+
+    public int getQuantity(int index) {
+        return quantities[index];
+    }
+
+    public Product getProduct(int index) {
+        return products[index];
+    }
+
+    public List<String> getProductNumbers() {
+        return Arrays.asList(Arrays.copyOf(productNumbers, size));
+    }
+
+    /**
+     * 재고 관리 대상 상품 수 (bindProducts 이후에 호출)
+     */
+    public int stockCount() {
+        return stockCount;
+    }
+
+    /**
+     * 재고 관리 대상 상품 중 상품번호 순으로 order 번째 상품의 인덱스 (bindProducts 이후에 호출)
+     */
+    public int getStockIndex(int order) {
+        return stockIndexes[order];
+    }
+
+    /**
+     * 총 금액이 int 범위를 넘으면 예외가 발생한다. (재고 확인이 없는 HANDMADE 상품을 아주 많이 주문하는 경우)
+     */
+    public int calculateTotalPrice() {
+        int totalPrice = 0;
+        try {
+            for (int i = 0; i < size; i++) {
+                totalPrice = Math.addExact(totalPrice, Math.multiplyExact(products[i].getPrice(), quantities[i]));
+            }
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("주문 금액이 너무 큽니다.", e);
+        }
+        return totalPrice;
+    }
+
+    private void insertStockIndex(int index) {
+        int low = 0;
+        int high = stockCount;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (productNumbers[stockIndexes[middle]].compareTo(productNumbers[index]) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        System.arraycopy(stockIndexes, low, stockIndexes, low + 1, stockCount - low);
+        stockIndexes[low] = index;
+        stockCount++;
+    }
+
+    /**
+     * 상품번호가 있는 칸, 없으면 상품번호를 넣을 빈 칸 (linear probing)
+     */
+    private int slotOf(String productNumber) {
+        int hash = productNumber.hashCode();
+        int mask = slots.length - 1;
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        while (slots[slot] != 0 && !productNumbers[slots[slot] - 1].equals(productNumber)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void ensureCapacity() {
+        if (size < productNumbers.length) {
+            return;
+        }
+        int capacity = Math.max(productNumbers.length * 2, DEFAULT_CAPACITY);
+        productNumbers = Arrays.copyOf(productNumbers, capacity);
+        quantities = Arrays.copyOf(quantities, capacity);
+        products = Arrays.copyOf(products, capacity);
+
+        slots = new int[tableSizeFor(capacity)];
+        for (int i = 0; i < size; i++) {
+            slots[slotOf(productNumbers[i])] = i + 1;
+        }
+    }
+
+    private static int tableSizeFor(int capacity) {
+        return Integer.highestOneBit(capacity * 2 - 1) << 1;
+    }
+
+}
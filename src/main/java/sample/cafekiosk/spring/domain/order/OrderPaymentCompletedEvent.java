@@ -0,0 +1,12 @@
+package sample.cafekiosk.spring.domain.order;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문이 결제완료(PAYMENT_COMPLETED) 상태가 되었음을 알리는 도메인 이벤트. 매출 집계에 사용한다.
+ */
+public record OrderPaymentCompletedEvent(
+        LocalDateTime registeredDateTime,
+        int totalPrice
+) {
+}
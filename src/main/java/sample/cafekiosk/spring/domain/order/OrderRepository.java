@@ -1,11 +1,21 @@
 package sample.cafekiosk.spring.domain.order;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
@@ -19,4 +29,60 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @Query("select o from Order as o where (o.registeredDateTime >= :startDateTime and o.registeredDateTime < :endDateTime) and (o.orderStatus = :orderStatus)")
     List<Order> findOrdersBy(LocalDateTime startDateTime, LocalDateTime endDateTime, OrderStatus orderStatus);
 
+    /**
+     * 주문상품과 상품을 fetch join 으로 함께 읽는다. (OrderResponse 로 변환할 때 지연 로딩 쿼리가 나가지 않음)
+     */
+    @Query("select o from Order o join fetch o.orderProducts op join fetch op.product where o.id = :id order by op.id")
+    Optional<Order> findWithProductsById(Long id);
+
+    /**
+     * 페이징은 주문 id 만으로 한다. 컬렉션을 fetch join 한 채로 페이징하면 DB 가 아닌 메모리에서 잘리기 때문이다.
+     * 해당 페이지 주문의 주문상품/상품은 findAllWithProductsByIdIn 으로 한 번에 읽는다.
+     */
+    @Query(value = "select o.id from Order o " +
+            "where o.registeredDateTime >= :startDateTime and o.registeredDateTime < :endDateTime and o.orderStatus = :orderStatus " +
+            "order by o.registeredDateTime desc, o.id desc",
+            countQuery = "select count(o) from Order o " +
+                    "where o.registeredDateTime >= :startDateTime and o.registeredDateTime < :endDateTime and o.orderStatus = :orderStatus")
+    Page<Long> findIdsBy(LocalDateTime startDateTime, LocalDateTime endDateTime, OrderStatus orderStatus, Pageable pageable);
+
+    @Query("select o from Order o join fetch o.orderProducts op join fetch op.product where o.id in :ids order by op.id")
+    List<Order> findAllWithProductsByIdIn(Collection<Long> ids);
+
+    /**
+     * 상품별 판매 수량을 많이 팔린 순서로 한 번의 쿼리로 구한다. (주문상품을 지연 로딩하지 않음)
+     * 상품 타입별 판매 수량도 이 결과를 타입별로 합산해서 구한다.
+     */
+    @Query("select p.productNumber as productNumber, p.name as name, p.type as type, sum(op.quantity) as itemCount " +
+            "from OrderProduct op join op.order o join op.product p " +
+            "where o.registeredDateTime >= :startDateTime and o.registeredDateTime < :endDateTime and o.orderStatus = :orderStatus " +
+            "group by p.productNumber, p.name, p.type " +
+            "order by sum(op.quantity) desc, p.productNumber")
+    List<ProductSalesSummary> summarizeProductSalesBy(LocalDateTime startDateTime, LocalDateTime endDateTime, OrderStatus orderStatus);
+
+    /**
+     * 결제완료 주문의 날짜/시간대별 주문 수와 매출 합계 (매출 집계 재생성용)
+     */
+    @Query("select cast(o.registeredDateTime as LocalDate) as salesDate, hour(o.registeredDateTime) as salesHour, " +
+            "count(o) as orderCount, sum(o.totalPrice) as totalAmount " +
+            "from Order o " +
+            "where o.registeredDateTime >= :startDateTime and o.registeredDateTime < :endDateTime and o.orderStatus = :orderStatus " +
+            "group by cast(o.registeredDateTime as LocalDate), hour(o.registeredDateTime)")
+    List<HourlySalesSummary> summarizeHourlySalesBy(LocalDateTime startDateTime, LocalDateTime endDateTime, OrderStatus orderStatus);
+
+    /**
+     * 주문 내보내기용 주문상품 행을 주문 id, 주문상품 id 순서로 흘려보낸다. (afterId 보다 큰 주문부터)
+     * 엔티티가 아닌 프로젝션이라 영속성 컨텍스트에 쌓이지 않는다. 트랜잭션 안에서 소비하고 닫아야 한다.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("select o.id as orderId, o.registeredDateTime as registeredDateTime, o.orderStatus as orderStatus, o.totalPrice as totalPrice, " +
+            "p.productNumber as productNumber, p.name as productName, p.price as price, op.quantity as quantity " +
+            "from OrderProduct op join op.order o join op.product p " +
+            "where o.registeredDateTime >= :startDateTime and o.registeredDateTime < :endDateTime and o.id > :afterId " +
+            "order by o.id, op.id")
+    Stream<OrderExportRow> streamExportRowsBy(LocalDateTime startDateTime, LocalDateTime endDateTime, long afterId);
+
 }
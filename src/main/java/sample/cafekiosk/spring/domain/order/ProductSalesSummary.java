@@ -0,0 +1,18 @@
+package sample.cafekiosk.spring.domain.order;
+
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+/**
+ * 기간 내 상품별 판매 수량
+ */
+public interface ProductSalesSummary {
+
+    String getProductNumber();
+
+    String getName();
+
+    ProductType getType();
+
+    long getItemCount();
+
+}
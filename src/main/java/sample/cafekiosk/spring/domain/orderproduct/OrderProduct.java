@@ -4,17 +4,21 @@ import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
 import sample.cafekiosk.spring.domain.BaseEntity;
+import sample.cafekiosk.spring.domain.PooledSequenceGenerator;
 import sample.cafekiosk.spring.domain.order.Order;
 import sample.cafekiosk.spring.domain.product.Product;
 
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(indexes = @Index(name = "idx_order_product_order_id", columnList = "order_id"))
 @Entity
 public class OrderProduct extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "order_product_seq")
+    @GenericGenerator(name = "order_product_seq", type = PooledSequenceGenerator.class)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -23,9 +27,12 @@ public class OrderProduct extends BaseEntity {
     @ManyToOne(fetch = FetchType.LAZY)
     private Product product;
 
-    public OrderProduct(Order order, Product product) {
+    private int quantity;
+
+    public OrderProduct(Order order, Product product, int quantity) {
         this.order = order;
         this.product = product;
+        this.quantity = quantity;
     }
 
 }
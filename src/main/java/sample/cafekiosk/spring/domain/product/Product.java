@@ -5,15 +5,19 @@ import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
 import sample.cafekiosk.spring.domain.BaseEntity;
+import sample.cafekiosk.spring.domain.PooledSequenceGenerator;
 
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_product_product_number", columnNames = "productNumber"))
 @Entity
 public class Product extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "product_seq")
+    @GenericGenerator(name = "product_seq", type = PooledSequenceGenerator.class)
     private Long id;
 
     private String productNumber;
@@ -29,7 +33,7 @@ public class Product extends BaseEntity {
     private int price;
 
     /**
-     * 생성자에 ID 를 추가하지 않은 이유는 GenerationType.IDENTITY 로 인해 DB 가 알아서 만들어저기 때문.
+     * 생성자에 ID 를 추가하지 않은 이유는 product_seq 시퀀스로 Hibernate 가 알아서 만들어주기 때문.
      * @param productNumber
      * @param type
      * @param sellingStatus
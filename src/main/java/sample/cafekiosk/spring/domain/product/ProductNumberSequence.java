@@ -0,0 +1,53 @@
+package sample.cafekiosk.spring.domain.product;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.domain.BaseEntity;
+
+/**
+ * 상품번호 블록 할당용 시퀀스 (hi/lo)
+ *
+ * nextValue 는 아직 어떤 서버에도 할당되지 않은 첫 번째 상품번호이다.
+ * 서버는 이 row 에 잠금을 걸고 블록 크기만큼 nextValue 를 증가시킨 뒤, 블록 안의 번호는 메모리에서 나눠준다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+public class ProductNumberSequence extends BaseEntity {
+
+    @Id
+    private String name;
+
+    private long nextValue;
+
+    @Builder
+    private ProductNumberSequence(String name, long nextValue) {
+        this.name = name;
+        this.nextValue = nextValue;
+    }
+
+    public static ProductNumberSequence create(String name, long nextValue) {
+        return ProductNumberSequence.builder()
+                .name(name)
+                .nextValue(nextValue)
+                .build();
+    }
+
+    /**
+     * size 개의 번호를 할당하고, 할당한 블록의 첫 번째 번호를 반환한다.
+     */
+    public long allocate(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("할당할 상품번호 개수는 1개 이상이어야 합니다.");
+        }
+
+        long start = this.nextValue;
+        this.nextValue += size;
+        return start;
+    }
+
+}
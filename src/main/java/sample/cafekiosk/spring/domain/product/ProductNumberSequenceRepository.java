@@ -0,0 +1,16 @@
+package sample.cafekiosk.spring.domain.product;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+
+public interface ProductNumberSequenceRepository extends JpaRepository<ProductNumberSequence, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ProductNumberSequence s where s.name = :name")
+    Optional<ProductNumberSequence> findForUpdate(String name);
+
+}
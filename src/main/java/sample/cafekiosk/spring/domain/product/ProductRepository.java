@@ -12,6 +12,10 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     List<Product> findAllByProductNumberIn(List<String> productNumbers);
 
-    @Query(value = "select p.product_number from Product p order by id desc limit 1", nativeQuery = true)
-    String getLatestProductNumber();
+    /**
+     * 숫자로만 된 상품번호 중 가장 큰 값. (숫자가 아니거나 bigint 범위를 넘을 수 있는 상품번호는 건너뛴다)
+     */
+    @Query(value = "select max(cast(p.product_number as bigint)) from product p " +
+            "where regexp_like(p.product_number, '^[0-9]{1,18}$')", nativeQuery = true)
+    Long getMaxProductNumber();
 }
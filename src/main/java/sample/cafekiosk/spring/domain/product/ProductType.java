@@ -4,7 +4,7 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
 import java.util.EnumSet;
-import java.util.List;
+import java.util.Set;
 
 @Getter
 @RequiredArgsConstructor
@@ -14,9 +14,11 @@ public enum ProductType {
     BOTTLE("병 음료"),
     BAKERY("베이커리");
 
+    private static final Set<ProductType> STOCK_TYPES = EnumSet.of(BOTTLE, BAKERY);
+
     private final String text;
 
     public static boolean containsStockType(ProductType type) {
-        return EnumSet.of(BOTTLE, BAKERY).contains(type);
+        return STOCK_TYPES.contains(type);
     }
 }
@@ -0,0 +1,54 @@
+package sample.cafekiosk.spring.domain.sales;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import sample.cafekiosk.spring.domain.BaseEntity;
+import sample.cafekiosk.spring.domain.PooledSequenceGenerator;
+
+import java.time.LocalDate;
+
+/**
+ * 시간대별 결제완료 매출 집계
+ *
+ * 주문이 결제완료될 때마다 해당 날짜/시간대 행의 주문 수와 매출 합계를 더한다.
+ * 하루 매출은 그날의 시간대별 행(최대 24개)을 합산해서 구한다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_hourly_sales_date_hour", columnNames = {"salesDate", "salesHour"}))
+@Entity
+public class HourlySales extends BaseEntity {
+
+    @Id
+    @GeneratedValue(generator = "hourly_sales_seq")
+    @GenericGenerator(name = "hourly_sales_seq", type = PooledSequenceGenerator.class)
+    private Long id;
+
+    private LocalDate salesDate;
+
+    private int salesHour;
+
+    private long orderCount;
+
+    private long totalAmount;
+
+    @Builder
+    private HourlySales(LocalDate salesDate, int salesHour, long orderCount, long totalAmount) {
+        this.salesDate = salesDate;
+        this.salesHour = salesHour;
+        this.orderCount = orderCount;
+        this.totalAmount = totalAmount;
+    }
+
+    public static HourlySales empty(LocalDate salesDate, int salesHour) {
+        return HourlySales.builder()
+                .salesDate(salesDate)
+                .salesHour(salesHour)
+                .build();
+    }
+
+}
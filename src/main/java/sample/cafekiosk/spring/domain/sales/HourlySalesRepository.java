@@ -0,0 +1,33 @@
+package sample.cafekiosk.spring.domain.sales;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface HourlySalesRepository extends JpaRepository<HourlySales, Long> {
+
+    List<HourlySales> findAllBySalesDateOrderBySalesHour(LocalDate salesDate);
+
+    /**
+     * 집계 행을 읽지 않고 한 번의 UPDATE 로 매출을 더한다. 행이 없으면 0 을 반환한다.
+     */
+    @Modifying
+    @Query("update HourlySales h set h.orderCount = h.orderCount + 1, h.totalAmount = h.totalAmount + :amount " +
+            "where h.salesDate = :salesDate and h.salesHour = :salesHour")
+    int addSales(LocalDate salesDate, int salesHour, long amount);
+
+    /**
+     * 하루 매출은 그날의 시간대별 집계 행(최대 24개)만 합산한다. (주문 테이블을 읽지 않음)
+     */
+    @Query("select coalesce(sum(h.orderCount), 0) as orderCount, coalesce(sum(h.totalAmount), 0) as totalAmount " +
+            "from HourlySales h where h.salesDate = :salesDate")
+    SalesSummary summarizeBy(LocalDate salesDate);
+
+    @Modifying
+    @Query("delete from HourlySales h where h.salesDate between :startDate and :endDate")
+    int deleteAllBySalesDateBetween(LocalDate startDate, LocalDate endDate);
+
+}
@@ -0,0 +1,12 @@
+package sample.cafekiosk.spring.domain.sales;
+
+/**
+ * 기간 내 결제완료 주문 수와 매출 합계
+ */
+public interface SalesSummary {
+
+    long getOrderCount();
+
+    long getTotalAmount();
+
+}
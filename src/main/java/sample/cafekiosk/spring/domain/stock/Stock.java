@@ -1,28 +1,32 @@
 package sample.cafekiosk.spring.domain.stock;
 
-import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
-import jakarta.persistence.Id;
+import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
 import sample.cafekiosk.spring.domain.BaseEntity;
+import sample.cafekiosk.spring.domain.PooledSequenceGenerator;
 
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_stock_product_number", columnNames = "productNumber"))
 @Entity
 public class Stock extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "stock_seq")
+    @GenericGenerator(name = "stock_seq", type = PooledSequenceGenerator.class)
     private Long id;
 
     private String productNumber;
 
     private int quantity;
 
+    @Version
+    private Long version;
+
     @Builder
     private Stock(String productNumber, int quantity) {
         this.productNumber = productNumber;
@@ -0,0 +1,17 @@
+package sample.cafekiosk.spring.domain.stock;
+
+import java.time.Duration;
+import java.util.List;
+
+public interface StockLockRepository {
+
+    /**
+     * 상품번호 오름차순으로 한 행씩 재고 행을 잠그고(SELECT ... FOR UPDATE) 그 순서대로 반환한다.
+     *
+     * 모든 주문이 같은 순서로 잠그므로 여러 상품을 담은 주문끼리 서로의 잠금을 기다리는 교착 상태가 생기지 않는다.
+     * 한 행을 lockTimeout 안에 잠그지 못하면 PessimisticLockingFailureException 이 발생한다. (0 이면 기다리지 않는다: NOWAIT)
+     * 재고 행이 없는 상품번호는 결과에서 빠진다.
+     */
+    List<Stock> lockAllByProductNumbersInOrder(List<String> productNumbers, Duration lockTimeout);
+
+}
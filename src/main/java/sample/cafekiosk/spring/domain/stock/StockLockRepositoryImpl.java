@@ -0,0 +1,40 @@
+package sample.cafekiosk.spring.domain.stock;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.cfg.AvailableSettings;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 잠금 대기 시간을 설정값으로 정해야 하므로 @Lock / @QueryHints 대신 쿼리에 직접 힌트를 넣는다.
+ */
+class StockLockRepositoryImpl implements StockLockRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Stock> lockAllByProductNumbersInOrder(List<String> productNumbers, Duration lockTimeout) {
+        List<String> sortedProductNumbers = productNumbers.stream()
+                .distinct()
+                .sorted()
+                .toList();
+
+        List<Stock> stocks = new ArrayList<>(sortedProductNumbers.size());
+        for (String productNumber : sortedProductNumbers) {
+            entityManager.createQuery("select s from Stock s where s.productNumber = :productNumber", Stock.class)
+                    .setParameter("productNumber", productNumber)
+                    .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                    .setHint(AvailableSettings.JAKARTA_LOCK_TIMEOUT, Math.toIntExact(lockTimeout.toMillis()))
+                    .getResultStream()
+                    .findFirst()
+                    .ifPresent(stocks::add);
+        }
+        return stocks;
+    }
+
+}
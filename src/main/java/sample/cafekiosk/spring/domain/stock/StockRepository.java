@@ -1,11 +1,25 @@
 package sample.cafekiosk.spring.domain.stock;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
-public interface StockRepository extends JpaRepository<Stock, Long> {
+public interface StockRepository extends JpaRepository<Stock, Long>, StockLockRepository {
 
     List<Stock> findAllByProductNumberIn(List<String> productNumbers);
 
+    @Modifying
+    @Query("update Stock s set s.quantity = s.quantity - :quantity where s.productNumber = :productNumber")
+    int deductQuantity(String productNumber, int quantity);
+
+    /**
+     * 재고가 충분한 경우에만 차감한다. 차감된 row 수(0 또는 1)를 반환하므로 0 이면 재고가 부족한 것이다.
+     * 조회 → 검증 → 변경감지 UPDATE 를 하나의 UPDATE 문으로 처리하여 row lock 을 잡는 구간을 줄인다.
+     */
+    @Modifying
+    @Query("update Stock s set s.quantity = s.quantity - :quantity where s.productNumber = :productNumber and s.quantity >= :quantity")
+    int deductQuantityIfEnough(String productNumber, int quantity);
+
 }
@@ -6,17 +6,27 @@ import sample.cafekiosk.unit.order.Order;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+/**
+ * 장바구니는 음료별 잔 수(담은 순서 유지)로 보관하고, 총 금액과 잔 수는 담고 뺄 때마다 갱신한다.
+ * 화면에서 매번 총 금액을 다시 그려도 담긴 잔 수와 관계없이 add/remove/calculateTotalPrice 가 O(1) 이다.
+ * (음료의 가격은 바뀌지 않는다고 가정한다.)
+ */
 public class CafeKiosk {
 
     private static final LocalTime SHOP_OPEN_TIME = LocalTime.of(10, 0);
     private static final LocalTime SHOP_CLOSE_TIME = LocalTime.of(22, 0);
 
-    private List<Beverage> beverages = new ArrayList<>();
+    private final Map<Beverage, Integer> quantities = new LinkedHashMap<>();
+    private int totalPrice;
+    private int beverageCount;
 
     public void add(Beverage beverage) {
-        this.beverages.add(beverage);
+        add(beverage, 1);
     }
 
     public void add(Beverage beverage, int count) {
@@ -24,21 +34,37 @@ public class CafeKiosk {
             throw new IllegalArgumentException("음료는 1잔 이상 주문하실 수 있습니다");
         }
 
-        for (int i = 0; i < count; i++) {
-            this.beverages.add(beverage);
-        }
+        this.totalPrice = Math.addExact(this.totalPrice, Math.multiplyExact(beverage.getPrice(), count));
+        this.beverageCount = Math.addExact(this.beverageCount, count);
+        this.quantities.merge(beverage, count, Integer::sum);
     }
 
+    /**
+     * 담긴 음료 한 잔을 뺀다. 담겨 있지 않은 음료면 아무것도 하지 않는다.
+     */
     public void remove(Beverage beverage) {
-        this.beverages.remove(beverage);
+        Integer quantity = this.quantities.get(beverage);
+        if (quantity == null) {
+            return;
+        }
+
+        if (quantity == 1) {
+            this.quantities.remove(beverage);
+        } else {
+            this.quantities.put(beverage, quantity - 1);
+        }
+        this.totalPrice -= beverage.getPrice();
+        this.beverageCount--;
     }
 
     public void clear() {
-        this.beverages.clear();
+        this.quantities.clear();
+        this.totalPrice = 0;
+        this.beverageCount = 0;
     }
 
     public int calculateTotalPrice() {
-        return this.beverages.stream().mapToInt(Beverage::getPrice).sum();
+        return this.totalPrice;
     }
 
     public Order createOrder(LocalDateTime currentDateTime) {
@@ -47,7 +73,7 @@ public class CafeKiosk {
             throw new IllegalArgumentException("주문 시간이 아닙니다. 관리자에게 문의하세요.");
         }
 
-        return new Order(currentDateTime, beverages);
+        return new Order(currentDateTime, getBeverages());
     }
 
     public Order createOrder() {
@@ -57,10 +83,23 @@ public class CafeKiosk {
             throw new IllegalArgumentException("주문 시간이 아닙니다. 관리자에게 문의하세요.");
         }
 
-        return new Order(currentDateTime, beverages);
+        return new Order(currentDateTime, getBeverages());
     }
 
+    /**
+     * 담긴 음료를 잔 수만큼 펼친 목록. (담은 순서, 복사본)
+     */
     public List<Beverage> getBeverages() {
+        List<Beverage> beverages = new ArrayList<>(this.beverageCount);
+        this.quantities.forEach((beverage, quantity) -> beverages.addAll(Collections.nCopies(quantity, beverage)));
         return beverages;
     }
+
+    public int getQuantity(Beverage beverage) {
+        return this.quantities.getOrDefault(beverage, 0);
+    }
+
+    public int getBeverageCount() {
+        return this.beverageCount;
+    }
 }
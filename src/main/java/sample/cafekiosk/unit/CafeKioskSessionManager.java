@@ -0,0 +1,151 @@
+package sample.cafekiosk.unit;
+
+import sample.cafekiosk.unit.beverage.Beverage;
+import sample.cafekiosk.unit.order.Order;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 단말(세션)별 장바구니 관리
+ *
+ * - 여러 단말이 한 프로세스를 같이 쓰므로 세션 id 별로 CafeKiosk 를 하나씩 둔다. (ConcurrentHashMap)
+ * - CafeKiosk 는 스레드 안전하지 않으므로 세션 단위로 잠근다. 서로 다른 세션끼리는 기다리지 않는다.
+ * - 마지막 사용 후 ttl 이 지난 세션은 만료된 것으로 보고, evictExpiredSessions 에서 지운다. (주기적으로 호출)
+ *   만료된 세션에 음료를 담으면 빈 장바구니로 새로 시작하고, 빼기/조회/주문은 예외가 발생한다.
+ * - 주문은 그 시점 장바구니의 불변 스냅샷으로 만든다. 담고 뺄 때는 복사하지 않는다.
+ */
+public class CafeKioskSessionManager {
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final Duration ttl;
+    private final Clock clock;
+
+    public CafeKioskSessionManager(Duration ttl) {
+        this(ttl, Clock.systemDefaultZone());
+    }
+
+    public CafeKioskSessionManager(Duration ttl, Clock clock) {
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("세션 유지 시간은 0보다 커야 합니다.");
+        }
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    public void add(String sessionId, Beverage beverage) {
+        add(sessionId, beverage, 1);
+    }
+
+    public void add(String sessionId, Beverage beverage, int count) {
+        withSession(sessionId, true, cafeKiosk -> {
+            cafeKiosk.add(beverage, count);
+            return null;
+        });
+    }
+
+    public void remove(String sessionId, Beverage beverage) {
+        withSession(sessionId, false, cafeKiosk -> {
+            cafeKiosk.remove(beverage);
+            return null;
+        });
+    }
+
+    public int calculateTotalPrice(String sessionId) {
+        return withSession(sessionId, false, CafeKiosk::calculateTotalPrice);
+    }
+
+    public Order createOrder(String sessionId, LocalDateTime currentDateTime) {
+        return withSession(sessionId, false, cafeKiosk -> cafeKiosk.createOrder(currentDateTime));
+    }
+
+    /**
+     * 세션을 닫는다. (결제 완료, 주문 취소)
+     */
+    public void close(String sessionId) {
+        Session session = sessions.remove(sessionId);
+        if (session != null) {
+            synchronized (session) {
+                session.closed = true;
+            }
+        }
+    }
+
+    /**
+     * 마지막 사용 후 ttl 이 지난 세션을 지우고, 지운 세션 수를 돌려준다.
+     */
+    public int evictExpiredSessions() {
+        long now = clock.millis();
+        int evictedCount = 0;
+        for (Map.Entry<String, Session> entry : sessions.entrySet()) {
+            Session session = entry.getValue();
+            synchronized (session) {
+                if (!session.closed && session.isExpired(now)) {
+                    session.closed = true;
+                    sessions.remove(entry.getKey(), session);
+                    evictedCount++;
+                }
+            }
+        }
+        return evictedCount;
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * 세션을 잠그고 action 을 실행한다.
+     * 다른 스레드가 막 닫은 세션을 잡았다면, create 일 때는 새 세션으로 다시 시도하고 아니면 예외가 발생한다.
+     */
+    private <T> T withSession(String sessionId, boolean create, Function<CafeKiosk, T> action) {
+        while (true) {
+            Session session = create
+                    ? sessions.computeIfAbsent(sessionId, id -> new Session(clock.millis()))
+                    : sessions.get(sessionId);
+            if (session == null) {
+                throw new IllegalArgumentException("존재하지 않거나 만료된 세션입니다.");
+            }
+
+            synchronized (session) {
+                long now = clock.millis();
+                if (!session.closed && session.isExpired(now)) {
+                    session.closed = true;
+                    sessions.remove(sessionId, session);
+                }
+                if (session.closed) {
+                    if (create) {
+                        continue;
+                    }
+                    throw new IllegalArgumentException("존재하지 않거나 만료된 세션입니다.");
+                }
+
+                session.lastAccessedMillis = now;
+                return action.apply(session.cafeKiosk);
+            }
+        }
+    }
+
+    /**
+     * 필드는 모두 세션 자신의 모니터로 보호한다.
+     */
+    private final class Session {
+
+        private final CafeKiosk cafeKiosk = new CafeKiosk();
+        private long lastAccessedMillis;
+        private boolean closed;
+
+        private Session(long createdMillis) {
+            this.lastAccessedMillis = createdMillis;
+        }
+
+        private boolean isExpired(long now) {
+            return now - lastAccessedMillis >= ttl.toMillis();
+        }
+    }
+
+}
@@ -12,7 +12,7 @@ public class Order {
 
     public Order(LocalDateTime orderDateTime, List<Beverage> beverages) {
         this.orderDateTime = orderDateTime;
-        this.beverages = beverages;
+        this.beverages = List.copyOf(beverages);
     }
 
     public LocalDateTime getOrderDateTime() {
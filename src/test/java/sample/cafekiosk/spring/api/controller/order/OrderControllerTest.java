@@ -7,18 +7,33 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Scope;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import sample.cafekiosk.spring.api.controller.order.request.OrderCreateRequest;
-import sample.cafekiosk.spring.api.service.order.OrderService;
+import sample.cafekiosk.spring.api.controller.order.request.OrderItemRequest;
+import sample.cafekiosk.spring.api.controller.order.request.OfflineOrderRequest;
+import sample.cafekiosk.spring.api.controller.order.request.OrderSyncRequest;
+import sample.cafekiosk.spring.api.service.order.IdempotencyKeyConflictException;
+import sample.cafekiosk.spring.api.service.order.OrderExportService;
+import sample.cafekiosk.spring.api.service.order.OrderFacade;
+import sample.cafekiosk.spring.api.service.order.OrderQueryService;
+import sample.cafekiosk.spring.api.service.order.OrderSyncService;
+import sample.cafekiosk.spring.api.service.stock.StockConflictException;
+import sample.cafekiosk.spring.api.service.stock.StockRetryExhaustedException;
 
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.BDDMockito.given;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(OrderController.class)
@@ -28,7 +43,19 @@ class OrderControllerTest {
     private MockMvc mockMvc;
 
     @MockBean
-    private OrderService orderService;
+    private OrderFacade orderFacade;
+
+    @MockBean
+    private OrderQueryService orderQueryService;
+
+    @MockBean
+    private OrderExportService orderExportService;
+
+    @MockBean
+    private OrderExportWriter orderExportWriter;
+
+    @MockBean
+    private OrderSyncService orderSyncService;
 
     @Autowired
     private ObjectMapper objectMapper;
@@ -54,6 +81,55 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.message").value("OK"));
     }
 
+    @DisplayName("같은 Idempotency-Key 로 다른 내용의 주문을 등록하면 409 를 응답한다.")
+    @Test
+    public void createOrderWithConflictedIdempotencyKey() throws Exception {
+        // given
+        OrderCreateRequest orderCreateRequest = OrderCreateRequest.builder()
+                .productNumbers(List.of("001"))
+                .build();
+        given(orderFacade.createOrder(argThat(request -> "key-1".equals(request.getIdempotencyKey())), any()))
+                .willThrow(new IdempotencyKeyConflictException("같은 Idempotency-Key 로 이미 다른 주문이 처리되었습니다."));
+
+        // when // then
+        mockMvc.perform(
+                        post("/api/v1/orders/new")
+                                .header(OrderController.IDEMPOTENCY_KEY_HEADER, "key-1")
+                                .content(objectMapper.writeValueAsString(orderCreateRequest))
+                                .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andDo(print())
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.code").value(409))
+                .andExpect(jsonPath("$.status").value("CONFLICT"))
+                .andExpect(jsonPath("$.message").value("같은 Idempotency-Key 로 이미 다른 주문이 처리되었습니다."))
+                .andExpect(jsonPath("$.data").doesNotExist());
+    }
+
+    @DisplayName("재고 충돌로 주문 재시도 횟수를 모두 소진하면 다시 시도할 수 있도록 503 을 응답한다.")
+    @Test
+    public void createOrderWithStockRetryExhausted() throws Exception {
+        // given
+        OrderCreateRequest orderCreateRequest = OrderCreateRequest.builder()
+                .productNumbers(List.of("001"))
+                .build();
+        given(orderFacade.createOrder(any(), any()))
+                .willThrow(new StockRetryExhaustedException(new StockConflictException(List.of("001"), null)));
+
+        // when // then
+        mockMvc.perform(
+                        post("/api/v1/orders/new")
+                                .content(objectMapper.writeValueAsString(orderCreateRequest))
+                                .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andDo(print())
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.code").value(503))
+                .andExpect(jsonPath("$.status").value("SERVICE_UNAVAILABLE"))
+                .andExpect(jsonPath("$.message").value("주문이 몰려 재고를 차감하지 못했습니다. 잠시 후 다시 시도해주세요."))
+                .andExpect(jsonPath("$.data").doesNotExist());
+    }
+
     @DisplayName("신규 주문을 등록할 때 상품번호는 1개 이상어야 한다.")
     @Test
     public void createOrderWithEmptyProductNumbers() throws Exception {
@@ -76,4 +152,124 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.data").doesNotExist());
     }
 
-}
\ No newline at end of file
+    @DisplayName("상품번호별 수량으로 주문할 때 수량은 양수여야 한다.")
+    @Test
+    public void createOrderWithZeroQuantity() throws Exception {
+        // given
+        OrderCreateRequest orderCreateRequest = OrderCreateRequest.builder()
+                .orderItems(List.of(OrderItemRequest.builder()
+                        .productNumber("001")
+                        .quantity(0)
+                        .build()))
+                .build();
+
+        // when // then
+        mockMvc.perform(
+                        post("/api/v1/orders/new")
+                                .content(objectMapper.writeValueAsString(orderCreateRequest))
+                                .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value(400))
+                .andExpect(jsonPath("$.status").value("BAD_REQUEST"))
+                .andExpect(jsonPath("$.message").value("주문 수량은 양수여야 합니다."))
+                .andExpect(jsonPath("$.data").doesNotExist());
+    }
+
+    @DisplayName("상품번호별 수량으로 주문할 때 수량은 1000개 이하여야 한다.")
+    @Test
+    public void createOrderWithTooLargeQuantity() throws Exception {
+        // given
+        OrderCreateRequest orderCreateRequest = OrderCreateRequest.builder()
+                .orderItems(List.of(OrderItemRequest.builder()
+                        .productNumber("001")
+                        .quantity(1001)
+                        .build()))
+                .build();
+
+        // when // then
+        mockMvc.perform(
+                        post("/api/v1/orders/new")
+                                .content(objectMapper.writeValueAsString(orderCreateRequest))
+                                .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value(400))
+                .andExpect(jsonPath("$.status").value("BAD_REQUEST"))
+                .andExpect(jsonPath("$.message").value("주문 수량은 1000개 이하여야 합니다."))
+                .andExpect(jsonPath("$.data").doesNotExist());
+    }
+
+    @DisplayName("오프라인 주문을 동기화할 때 주문마다 주문 일시가 있어야 한다.")
+    @Test
+    public void syncOrdersWithoutRegisteredDateTime() throws Exception {
+        // given
+        OrderSyncRequest orderSyncRequest = OrderSyncRequest.builder()
+                .orders(List.of(OfflineOrderRequest.builder()
+                        .idempotencyKey("kiosk-1-0001")
+                        .productNumbers(List.of("001"))
+                        .build()))
+                .build();
+
+        // when // then
+        mockMvc.perform(
+                        post("/api/v1/orders/sync")
+                                .content(objectMapper.writeValueAsString(orderSyncRequest))
+                                .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value(400))
+                .andExpect(jsonPath("$.status").value("BAD_REQUEST"))
+                .andExpect(jsonPath("$.message").value("주문 일시는 필수입니다."))
+                .andExpect(jsonPath("$.data").doesNotExist());
+    }
+
+    @DisplayName("주문을 내보낼 때 시작일은 종료일보다 늦을 수 없다.")
+    @Test
+    public void exportOrdersWithInvalidDateRange() throws Exception {
+        // when // then
+        mockMvc.perform(
+                        get("/api/v1/orders/export")
+                                .param("startDate", "2023-03-02")
+                                .param("endDate", "2023-03-01")
+                )
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value(400))
+                .andExpect(jsonPath("$.status").value("BAD_REQUEST"))
+                .andExpect(jsonPath("$.message").value("시작일은 종료일보다 늦을 수 없습니다."))
+                .andExpect(jsonPath("$.data").doesNotExist());
+    }
+
+    @DisplayName("주문을 내보낼 때 Accept-Encoding 이 gzip 을 허용하면 gzip 으로 압축한다.")
+    @Test
+    public void exportOrdersWithGzip() throws Exception {
+        // when // then
+        mockMvc.perform(
+                        get("/api/v1/orders/export")
+                                .param("startDate", "2023-03-01")
+                                .param("endDate", "2023-03-02")
+                                .header(HttpHeaders.ACCEPT_ENCODING, "deflate, gzip;q=0.5")
+                )
+                .andExpect(request().asyncStarted())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+    }
+
+    @DisplayName("주문을 내보낼 때 Accept-Encoding 에서 gzip 의 q 값이 0 이면 압축하지 않는다.")
+    @Test
+    public void exportOrdersWithGzipRejected() throws Exception {
+        // when // then
+        mockMvc.perform(
+                        get("/api/v1/orders/export")
+                                .param("startDate", "2023-03-01")
+                                .param("endDate", "2023-03-02")
+                                .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, *;q=0.5")
+                )
+                .andExpect(request().asyncStarted())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+    }
+
+}
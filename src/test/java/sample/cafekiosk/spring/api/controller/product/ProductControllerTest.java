@@ -3,24 +3,37 @@ package sample.cafekiosk.spring.api.controller.product;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import sample.cafekiosk.spring.api.controller.product.dto.request.ProductCreateRequest;
 import sample.cafekiosk.spring.api.service.product.ProductService;
+import sample.cafekiosk.spring.api.service.product.SellingMenuProvider;
+import sample.cafekiosk.spring.api.service.product.request.ProductImportServiceRequest;
+import sample.cafekiosk.spring.api.service.product.response.ProductImportResponse;
 import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
 import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
 import sample.cafekiosk.spring.domain.product.ProductType;
 
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+@Import({SellingMenuProvider.class, ProductImportReader.class})
 @WebMvcTest(controllers = ProductController.class)
 class ProductControllerTest {
 
@@ -176,4 +189,104 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.data").isArray());
     }
 
-}
\ No newline at end of file
+    @DisplayName("판매 상품을 조회할 때 이전에 받은 ETag 를 보내면 메뉴가 바뀌지 않은 경우 본문 없이 304 를 응답한다.")
+    @Test
+    public void getSellingProductsNotModified() throws Exception {
+        // given
+        when(productService.getSellingProducts()).thenReturn(List.of());
+        MvcResult firstResult = mockMvc.perform(get("/api/v1/products/selling"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn();
+        String etag = firstResult.getResponse().getHeader(HttpHeaders.ETAG);
+
+        // when // then
+        mockMvc.perform(
+                        get("/api/v1/products/selling")
+                                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                )
+                .andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @DisplayName("NDJSON 으로 상품을 일괄 등록한다.")
+    @Test
+    public void importNdjsonProducts() throws Exception {
+        // given
+        String body = """
+                {"type":"HANDMADE","sellingStatus":"SELLING","name":"아메리카노","price":4000}
+                {"type":"BAKERY","sellingStatus":"HOLD","name":"크루아상","price":3500}
+                """;
+        when(productService.importProducts(any())).thenReturn(new ProductImportResponse(2, 2, 0, List.of()));
+
+        // when // then
+        mockMvc.perform(
+                        post("/api/v1/products/import")
+                                .content(body)
+                                .contentType(MediaType.APPLICATION_NDJSON)
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.successCount").value(2));
+
+        ArgumentCaptor<ProductImportServiceRequest> captor = ArgumentCaptor.forClass(ProductImportServiceRequest.class);
+        verify(productService).importProducts(captor.capture());
+        assertThat(captor.getValue().getProducts())
+                .extracting("type", "sellingStatus", "name", "price")
+                .containsExactly(
+                        tuple(ProductType.HANDMADE, ProductSellingStatus.SELLING, "아메리카노", 4000),
+                        tuple(ProductType.BAKERY, ProductSellingStatus.HOLD, "크루아상", 3500)
+                );
+    }
+
+    @DisplayName("CSV 로 상품을 일괄 등록할 때 잘못된 행이 있으면 행별 실패 사유와 함께 400 을 응답한다.")
+    @Test
+    public void importCsvProductsWithInvalidRow() throws Exception {
+        // given
+        String body = """
+                type,sellingStatus,name,price
+                HANDMADE,SELLING,"아메리카노, 샷 추가",4500
+                HANDMADE,SELLING,카페라떼,0
+                COFFEE,SELLING,카푸치노,5000
+                """;
+        when(productService.importProducts(any())).thenAnswer(invocation ->
+                ProductImportResponse.rejected(invocation.<ProductImportServiceRequest>getArgument(0).getRows()));
+
+        // when // then
+        mockMvc.perform(
+                        post("/api/v1/products/import")
+                                .content(body)
+                                .contentType("text/csv")
+                )
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("잘못된 상품이 있어 등록하지 않았습니다."))
+                .andExpect(jsonPath("$.data.failureCount").value(2))
+                .andExpect(jsonPath("$.data.rows[0].rowNumber").value(1))
+                .andExpect(jsonPath("$.data.rows[1].message").value("상품 가격은 양수여야 합니다."))
+                .andExpect(jsonPath("$.data.rows[2].message").value("상품 타입이 올바르지 않습니다."));
+    }
+
+    @DisplayName("한 번에 일괄 등록할 수 있는 상품 수를 넘으면 상품을 등록하지 않고 400 을 응답한다.")
+    @Test
+    public void importNdjsonProductsOverMaxRowCount() throws Exception {
+        // given
+        String body = "{\"type\":\"HANDMADE\",\"sellingStatus\":\"SELLING\",\"name\":\"아메리카노\",\"price\":4000}\n"
+                .repeat(ProductImportReader.MAX_ROW_COUNT + 1);
+
+        // when // then
+        mockMvc.perform(
+                        post("/api/v1/products/import")
+                                .content(body)
+                                .contentType(MediaType.APPLICATION_NDJSON)
+                )
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value(400))
+                .andExpect(jsonPath("$.message").value("한 번에 등록할 수 있는 상품은 1,000개 이하입니다."));
+        verify(productService, never()).importProducts(any());
+    }
+
+}
@@ -0,0 +1,127 @@
+package sample.cafekiosk.spring.api.controller.product;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import sample.cafekiosk.spring.api.controller.product.dto.request.ProductCreateRequest;
+import sample.cafekiosk.spring.api.service.product.ProductCatalogChangedEvent;
+import sample.cafekiosk.spring.api.service.product.SellingMenuProvider;
+import sample.cafekiosk.spring.domain.product.ProductNumberSequenceRepository;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * 상품 등록/일괄 등록이 판매 메뉴 스냅샷을 무효화하는지 실제 ProductService 로 확인한다.
+ * (ProductControllerTest 는 ProductService 가 Mock 이라 카탈로그 변경 이벤트가 발행되지 않는다.)
+ */
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@SpringBootTest
+class SellingMenuInvalidationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SellingMenuProvider sellingMenuProvider;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductNumberSequenceRepository productNumberSequenceRepository;
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAllInBatch();
+        productNumberSequenceRepository.deleteAllInBatch();
+        sellingMenuProvider.onCatalogChanged(ProductCatalogChangedEvent.of());
+    }
+
+    @DisplayName("상품을 등록하면 ETag 가 바뀌고, 이전 ETag 로 조회하면 새 메뉴를 200 으로 응답한다.")
+    @Test
+    public void getSellingProductsAfterCreateProduct() throws Exception {
+        // given
+        String etag = getSellingProductsETag();
+        ProductCreateRequest request = ProductCreateRequest.builder()
+                .type(ProductType.HANDMADE)
+                .sellingStatus(ProductSellingStatus.SELLING)
+                .name("아메리카노")
+                .price(4000)
+                .build();
+        mockMvc.perform(
+                        post("/api/v1/products/new")
+                                .content(objectMapper.writeValueAsString(request))
+                                .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andExpect(status().isOk());
+
+        // when // then
+        mockMvc.perform(
+                        get("/api/v1/products/selling")
+                                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].name").value("아메리카노"));
+    }
+
+    @DisplayName("상품을 일괄 등록하면 ETag 가 바뀌고, 이전 ETag 로 조회하면 새 메뉴를 200 으로 응답한다.")
+    @Test
+    public void getSellingProductsAfterImportProducts() throws Exception {
+        // given
+        String etag = getSellingProductsETag();
+        String body = """
+                {"type":"HANDMADE","sellingStatus":"SELLING","name":"아메리카노","price":4000}
+                {"type":"BAKERY","sellingStatus":"SELLING","name":"크루아상","price":3500}
+                """;
+        mockMvc.perform(
+                        post("/api/v1/products/import")
+                                .content(body)
+                                .contentType(MediaType.APPLICATION_NDJSON)
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.successCount").value(2));
+
+        // when // then
+        mockMvc.perform(
+                        get("/api/v1/products/selling")
+                                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[*].name").value(containsInAnyOrder("아메리카노", "크루아상")));
+    }
+
+    private String getSellingProductsETag() throws Exception {
+        return mockMvc.perform(get("/api/v1/products/selling"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+    }
+
+}
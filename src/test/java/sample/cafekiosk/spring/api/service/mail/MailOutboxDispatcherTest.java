@@ -0,0 +1,111 @@
+package sample.cafekiosk.spring.api.service.mail;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.client.mail.FakeMailSendClient;
+import sample.cafekiosk.spring.domain.history.mail.MailSendHistoryRepository;
+import sample.cafekiosk.spring.domain.mail.MailQueueRepository;
+import sample.cafekiosk.spring.domain.mail.MailQueueStatus;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "cafekiosk.mail.outbox.worker-threads=16",
+        "cafekiosk.mail.outbox.batch-size=50",
+        "cafekiosk.mail.outbox.retry.max-attempts=3",
+        "cafekiosk.mail.outbox.retry.initial-backoff=0ms"
+})
+class MailOutboxDispatcherTest {
+
+    private static final Duration MAIL_SERVER_LATENCY = Duration.ofMillis(20);
+
+    @Autowired
+    private MailService mailService;
+
+    @Autowired
+    private MailOutboxDispatcher mailOutboxDispatcher;
+
+    @Autowired
+    private MailQueueRepository mailQueueRepository;
+
+    @Autowired
+    private MailSendHistoryRepository mailSendHistoryRepository;
+
+    @Autowired
+    private FakeMailSendClient fakeMailSendClient;
+
+    @TestConfiguration
+    static class FakeMailServerConfig {
+
+        @Primary
+        @Bean
+        FakeMailSendClient fakeMailSendClient() {
+            return new FakeMailSendClient(MAIL_SERVER_LATENCY);
+        }
+
+    }
+
+    @AfterEach
+    void tearDown() {
+        mailQueueRepository.deleteAllInBatch();
+        mailSendHistoryRepository.deleteAllInBatch();
+        fakeMailSendClient.reset();
+    }
+
+    @DisplayName("발송 대기 메일을 여러 스레드로 나눠 보내고, 발송 이력을 남긴 뒤 대기열에서 지운다.")
+    @Test
+    void dispatchAll() {
+        // given
+        int mailCount = 120;
+        for (int i = 0; i < mailCount; i++) {
+            mailService.enqueueMail("no-reply@cafekiosk.com", "user" + i + "@test.com", "제목", "내용");
+        }
+
+        // when
+        long startedAt = System.nanoTime();
+        int dispatched = mailOutboxDispatcher.dispatchAll();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+
+        // then
+        assertThat(dispatched).isEqualTo(mailCount);
+        assertThat(fakeMailSendClient.getSentRecipients()).hasSize(mailCount);
+        assertThat(mailSendHistoryRepository.count()).isEqualTo(mailCount);
+        assertThat(mailQueueRepository.count()).isZero();
+        assertThat(fakeMailSendClient.getMaxSendingCount()).isGreaterThan(1);
+        // 한 통씩 차례로 보냈을 때보다 빨리 끝난다.
+        assertThat(elapsed).isLessThan(MAIL_SERVER_LATENCY.multipliedBy(mailCount));
+    }
+
+    @DisplayName("발송에 실패한 메일은 다시 보내고, 최대 시도 횟수만큼 실패하면 DEAD 로 남긴다.")
+    @Test
+    void deadLetter() {
+        // given
+        fakeMailSendClient.failFor("fail@test.com");
+        mailService.enqueueMail("no-reply@cafekiosk.com", "ok@test.com", "제목", "내용");
+        mailService.enqueueMail("no-reply@cafekiosk.com", "fail@test.com", "제목", "내용");
+
+        // when
+        mailOutboxDispatcher.dispatchAll();
+
+        // then
+        assertThat(fakeMailSendClient.getSentRecipients()).containsExactly("ok@test.com");
+        assertThat(mailSendHistoryRepository.findAll()).extracting("toEmail")
+                .containsExactly("ok@test.com");
+        assertThat(mailQueueRepository.findAll())
+                .extracting("toEmail", "status", "attemptCount")
+                .containsExactly(tuple("fail@test.com", MailQueueStatus.DEAD, 3));
+        assertThat(mailQueueRepository.findAll().get(0).getLastError()).contains("메일 서버 연결 실패");
+    }
+
+}
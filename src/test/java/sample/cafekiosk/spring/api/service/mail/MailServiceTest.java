@@ -1,5 +1,7 @@
 package sample.cafekiosk.spring.api.service.mail;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -7,10 +9,13 @@ import org.mockito.BDDMockito;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import sample.cafekiosk.spring.client.mail.MailSendClient;
 import sample.cafekiosk.spring.domain.history.mail.MailSendHistory;
 import sample.cafekiosk.spring.domain.history.mail.MailSendHistoryRepository;
+import sample.cafekiosk.spring.domain.mail.MailQueue;
+import sample.cafekiosk.spring.domain.mail.MailQueueRepository;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -30,10 +35,15 @@ class MailServiceTest {
      * (@ExtendWith(MockitoExtension.class))
      * MailSendClient mailSendClient = mock(MailSendClient.class);
      * MailSendHistoryRepository mailSendHistoryRepository = mock(MailSendHistoryRepository.class);
-     * MailService mailService = new MailService(mailSendClient, mailSendHistoryRepository);
+     * MailService mailService = new MailService(mailSendClient, mailSendHistoryRepository, meterRegistry, mailQueueRepository, mailOutboxDispatcher);
+     *
+     * @Spy 는 실제 객체를 감싸므로 MeterRegistry 는 실제로 동작하는 SimpleMeterRegistry 를 넣는다.
      */
     @Mock private MailSendClient mailSendClient;
     @Mock private MailSendHistoryRepository mailSendHistoryRepository;
+    @Spy private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @Mock private MailQueueRepository mailQueueRepository;
+    @Mock private MailOutboxDispatcher mailOutboxDispatcher;
     @InjectMocks private MailService mailService;
 
     @DisplayName("메일 전송 테스트 (Mockito)")
@@ -66,6 +76,38 @@ class MailServiceTest {
         verify(mailSendHistoryRepository, times(1)).save(any(MailSendHistory.class));
     }
 
+    @DisplayName("메일 전송에 실패하면 발송 이력을 남기지 않고 발송 시간을 실패로 기록한다.")
+    @Test
+    public void sendMailFailure() {
+        // given
+        given(mailSendClient.sendEmail(anyString(), anyString(), anyString(), anyString()))
+                .willReturn(false);
+
+        // when
+        boolean result = mailService.sendMail("", "", "", "");
+
+        // then
+        assertThat(result).isFalse();
+        verify(mailSendHistoryRepository, never()).save(any(MailSendHistory.class));
+        assertThat(meterRegistry.get("cafekiosk.mail.send").tag("result", "failure").timer().count()).isEqualTo(1);
+    }
+
+    @DisplayName("메일을 발송 대기열에 넣으면 바로 보내지 않고 발송기를 깨운다.")
+    @Test
+    public void enqueueMail() {
+        // given
+        given(mailQueueRepository.save(any(MailQueue.class)))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        mailService.enqueueMail("from@test.com", "to@test.com", "제목", "내용");
+
+        // then
+        verify(mailQueueRepository, times(1)).save(any(MailQueue.class));
+        verify(mailOutboxDispatcher, times(1)).wakeUp();
+        verify(mailSendClient, never()).sendEmail(anyString(), anyString(), anyString(), anyString());
+    }
+
 //    @DisplayName("메일 전송 테스트")
 //    @Test
 //    public void sendMail() {
@@ -0,0 +1,140 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.api.controller.order.OrderExportFormat;
+import sample.cafekiosk.spring.api.controller.order.OrderExportWriter;
+import sample.cafekiosk.spring.api.service.order.request.OrderExportServiceRequest;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.sales.HourlySalesRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static sample.cafekiosk.spring.domain.order.OrderStatus.PAYMENT_COMPLETED;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class OrderExportServiceTest {
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private OrderExportWriter orderExportWriter;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private HourlySalesRepository hourlySalesRepository;
+
+    @AfterEach
+    void tearDown() {
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        hourlySalesRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("기간 내 주문을 주문상품 1개당 1행의 CSV 로 내보낸다. 상품명에 쉼표가 있으면 큰따옴표로 감싼다.")
+    @Test
+    public void exportOrdersAsCsv() throws IOException {
+        // given
+        Product product1 = createProduct("001", "아메리카노", 1000);
+        Product product2 = createProduct("002", "치즈케이크, 조각", 2000);
+        productRepository.saveAll(List.of(product1, product2));
+        Order order = orderRepository.save(createOrder(List.of(product1, product2), LocalDateTime.of(2023, 3, 1, 10, 0)));
+        orderRepository.save(createOrder(List.of(product1), LocalDateTime.of(2023, 3, 2, 0, 0)));
+
+        OrderExportServiceRequest request = OrderExportServiceRequest.builder()
+                .startDate(LocalDate.of(2023, 3, 1))
+                .endDate(LocalDate.of(2023, 3, 1))
+                .build();
+
+        // when
+        String exported = export(request, OrderExportFormat.CSV);
+
+        // then
+        assertThat(exported.split("\n")).containsExactly(
+                "orderId,registeredDateTime,orderStatus,totalPrice,productNumber,productName,price,quantity",
+                order.getId() + ",2023-03-01T10:00:00,PAYMENT_COMPLETED,3000,001,아메리카노,1000,1",
+                order.getId() + ",2023-03-01T10:00:00,PAYMENT_COMPLETED,3000,002,\"치즈케이크, 조각\",2000,1"
+        );
+    }
+
+    @DisplayName("NDJSON 으로 내보내면 주문 1건이 1줄이고, afterId 다음 주문부터 이어받을 수 있다.")
+    @Test
+    public void exportOrdersAsNdjsonAfterId() throws IOException {
+        // given
+        Product product1 = createProduct("001", "아메리카노", 1000);
+        Product product2 = createProduct("002", "카페라떼", 2000);
+        productRepository.saveAll(List.of(product1, product2));
+        Order order1 = orderRepository.save(createOrder(List.of(product1), LocalDateTime.of(2023, 3, 1, 10, 0)));
+        Order order2 = orderRepository.save(createOrder(List.of(product1, product2), LocalDateTime.of(2023, 3, 1, 11, 0)));
+        Order order3 = orderRepository.save(createOrder(List.of(product2), LocalDateTime.of(2023, 3, 31, 23, 59)));
+
+        OrderExportServiceRequest request = OrderExportServiceRequest.builder()
+                .startDate(LocalDate.of(2023, 3, 1))
+                .endDate(LocalDate.of(2023, 3, 31))
+                .afterId(order1.getId())
+                .build();
+
+        // when
+        String exported = export(request, OrderExportFormat.NDJSON);
+
+        // then
+        assertThat(exported.split("\n")).containsExactly(
+                "{\"orderId\":" + order2.getId() + ",\"registeredDateTime\":\"2023-03-01T11:00:00\",\"orderStatus\":\"PAYMENT_COMPLETED\",\"totalPrice\":3000," +
+                        "\"products\":[{\"productNumber\":\"001\",\"name\":\"아메리카노\",\"price\":1000,\"quantity\":1},{\"productNumber\":\"002\",\"name\":\"카페라떼\",\"price\":2000,\"quantity\":1}]}",
+                "{\"orderId\":" + order3.getId() + ",\"registeredDateTime\":\"2023-03-31T23:59:00\",\"orderStatus\":\"PAYMENT_COMPLETED\",\"totalPrice\":2000," +
+                        "\"products\":[{\"productNumber\":\"002\",\"name\":\"카페라떼\",\"price\":2000,\"quantity\":1}]}"
+        );
+    }
+
+    private String export(OrderExportServiceRequest request, OrderExportFormat format) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        orderExportService.exportOrders(request, rows -> orderExportWriter.write(format, rows, outputStream));
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+
+    private Order createOrder(List<Product> products, LocalDateTime registeredDateTime) {
+        return Order.builder()
+                .products(products)
+                .orderStatus(PAYMENT_COMPLETED)
+                .registeredDateTime(registeredDateTime)
+                .build();
+    }
+
+    private Product createProduct(String productNumber, String name, int price) {
+        return Product.builder()
+                .productNumber(productNumber)
+                .type(HANDMADE)
+                .sellingStatus(SELLING)
+                .name(name)
+                .price(price)
+                .build();
+    }
+
+}
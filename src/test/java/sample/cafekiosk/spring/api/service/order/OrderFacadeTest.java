@@ -0,0 +1,110 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.BOTTLE;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "cafekiosk.stock.deduction-mode=OPTIMISTIC",
+        "cafekiosk.stock.retry.max-attempts=1000",
+        "cafekiosk.stock.retry.initial-backoff=1ms",
+        "cafekiosk.stock.retry.max-backoff=20ms"
+})
+class OrderFacadeTest {
+
+    @Autowired
+    private OrderFacade orderFacade;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @AfterEach
+    void tearDown() {
+        orderProductRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        stockRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("재고가 100개인 상품에 1,000건의 주문이 동시에 들어오면 정확히 100건의 주문만 생성된다.")
+    @Test
+    public void createOrderConcurrently() throws InterruptedException {
+        // given
+        productRepository.save(Product.builder()
+                .type(BOTTLE)
+                .productNumber("001")
+                .price(1000)
+                .sellingStatus(SELLING)
+                .name("메뉴 이름")
+                .build());
+        stockRepository.save(Stock.create("001", 100));
+
+        int orderCount = 1_000;
+        ExecutorService executorService = Executors.newFixedThreadPool(32);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch doneLatch = new CountDownLatch(orderCount);
+        AtomicInteger successCount = new AtomicInteger();
+        OrderCreateServiceRequest request = OrderCreateServiceRequest.builder()
+                .productNumbers(List.of("001"))
+                .build();
+
+        // when
+        for (int i = 0; i < orderCount; i++) {
+            executorService.submit(() -> {
+                try {
+                    startLatch.await();
+                    orderFacade.createOrder(request, LocalDateTime.now());
+                    successCount.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (RuntimeException ignored) {
+                } finally {
+                    doneLatch.countDown();
+                }
+            });
+        }
+        startLatch.countDown();
+        doneLatch.await(60, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        // then
+        assertThat(successCount.get()).isEqualTo(100);
+        assertThat(orderRepository.count()).isEqualTo(100);
+        assertThat(stockRepository.findAll()).hasSize(1)
+                .extracting("quantity")
+                .containsExactly(0);
+    }
+
+}
@@ -0,0 +1,252 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.domain.order.OrderIdempotencyRecordRepository;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.BOTTLE;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class OrderIdempotencyCacheTest {
+
+    private static final LocalDateTime REGISTERED_DATE_TIME = LocalDateTime.of(2024, 3, 1, 10, 0);
+
+    @Autowired
+    private OrderFacade orderFacade;
+
+    @Autowired
+    private OrderIdempotencyCache orderIdempotencyCache;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private OrderIdempotencyRecordRepository orderIdempotencyRecordRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderIdempotencyProperties orderIdempotencyProperties;
+
+    @AfterEach
+    void tearDown() {
+        orderIdempotencyCache.invalidateAll();
+        orderIdempotencyRecordRepository.deleteAllInBatch();
+        orderProductRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        stockRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("같은 Idempotency-Key 로 다시 주문하면 주문을 새로 만들지 않고 처음 응답을 돌려준다.")
+    @Test
+    public void createOrderWithSameKey() {
+        // given
+        saveProductWithStock("001", 10);
+        OrderCreateServiceRequest request = createRequest("key-1", Map.of("001", 2));
+        OrderResponse firstResponse = orderFacade.createOrder(request, REGISTERED_DATE_TIME);
+
+        // when
+        OrderResponse retriedResponse = orderFacade.createOrder(createRequest("key-1", Map.of("001", 2)), REGISTERED_DATE_TIME);
+
+        // then
+        assertThat(retriedResponse).isEqualTo(firstResponse);
+        assertThat(orderRepository.count()).isEqualTo(1);
+        assertThat(stockRepository.findAll()).extracting("quantity").containsExactly(8);
+    }
+
+    @DisplayName("메모리에 없는 이미 처리된 키로 주문하면 DB 에 저장된 응답을 돌려주고 재고를 다시 차감하지 않는다. (재시작 이후 재전송)")
+    @Test
+    public void createOrderWithStoredKey() {
+        // given
+        saveProductWithStock("001", 10);
+        OrderResponse firstResponse = orderFacade.createOrder(createRequest("key-1", Map.of("001", 2)), REGISTERED_DATE_TIME);
+        orderIdempotencyCache.invalidateAll();
+
+        // when
+        OrderResponse retriedResponse = orderFacade.createOrder(createRequest("key-1", Map.of("001", 2)), REGISTERED_DATE_TIME);
+
+        // then
+        assertThat(retriedResponse).isEqualTo(firstResponse);
+        assertThat(orderRepository.count()).isEqualTo(1);
+        assertThat(stockRepository.findAll()).extracting("quantity").containsExactly(8);
+    }
+
+    @DisplayName("같은 Idempotency-Key 로 다른 내용의 주문을 보내면 예외가 발생한다.")
+    @Test
+    public void createOrderWithSameKeyAndDifferentRequest() {
+        // given
+        saveProductWithStock("001", 10);
+        orderFacade.createOrder(createRequest("key-1", Map.of("001", 2)), REGISTERED_DATE_TIME);
+
+        // when // then
+        assertThatThrownBy(() -> orderFacade.createOrder(createRequest("key-1", Map.of("001", 3)), REGISTERED_DATE_TIME))
+                .isInstanceOf(IdempotencyKeyConflictException.class)
+                .hasMessage("같은 Idempotency-Key 로 이미 다른 주문이 처리되었습니다.");
+        assertThat(stockRepository.findAll()).extracting("quantity").containsExactly(8);
+    }
+
+    @DisplayName("실패한 주문은 기록하지 않으므로 같은 키로 다시 시도할 수 있다.")
+    @Test
+    public void retryFailedOrderWithSameKey() {
+        // given
+        saveProductWithStock("001", 1);
+        OrderCreateServiceRequest request = createRequest("key-1", Map.of("001", 2));
+        assertThatThrownBy(() -> orderFacade.createOrder(request, REGISTERED_DATE_TIME))
+                .isInstanceOf(IllegalArgumentException.class);
+        stockRepository.deleteAllInBatch();
+        stockRepository.save(Stock.create("001", 5));
+
+        // when
+        OrderResponse response = orderFacade.createOrder(createRequest("key-1", Map.of("001", 2)), REGISTERED_DATE_TIME);
+
+        // then
+        assertThat(response.totalPrice()).isEqualTo(2000);
+        assertThat(stockRepository.findAll()).extracting("quantity").containsExactly(3);
+    }
+
+    @DisplayName("같은 Idempotency-Key 의 주문이 동시에 들어오면 한 번만 처리되고 모두 같은 응답을 받는다.")
+    @Test
+    public void createOrderWithSameKeyConcurrently() throws InterruptedException {
+        // given
+        saveProductWithStock("001", 100);
+        int requestCount = 20;
+        ExecutorService executorService = Executors.newFixedThreadPool(requestCount);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch doneLatch = new CountDownLatch(requestCount);
+        Set<Long> orderIds = ConcurrentHashMap.newKeySet();
+
+        // when
+        for (int i = 0; i < requestCount; i++) {
+            executorService.submit(() -> {
+                try {
+                    startLatch.await();
+                    orderIds.add(orderFacade.createOrder(createRequest("key-1", Map.of("001", 1)), REGISTERED_DATE_TIME).id());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    doneLatch.countDown();
+                }
+            });
+        }
+        startLatch.countDown();
+        doneLatch.await(30, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        // then
+        assertThat(orderIds).hasSize(1);
+        assertThat(orderRepository.count()).isEqualTo(1);
+        assertThat(stockRepository.findAll()).extracting("quantity").containsExactly(99);
+    }
+
+    @DisplayName("메모리에 있는 키도 보관 기간(retention)이 지나면 없는 키로 보고 주문을 새로 만든다.")
+    @Test
+    public void executeWithExpiredKey() {
+        // given
+        MutableClock clock = new MutableClock();
+        OrderIdempotencyCache cache = new OrderIdempotencyCache(orderIdempotencyRecordRepository, objectMapper, orderIdempotencyProperties, clock);
+        AtomicLong orderIdSequence = new AtomicLong();
+        Supplier<OrderResponse> createOrder = () -> new OrderResponse(orderIdSequence.incrementAndGet(), 1000, REGISTERED_DATE_TIME, List.of());
+        OrderCreateServiceRequest request = createRequest("key-1", Map.of("001", 1));
+        OrderResponse firstResponse = cache.execute(request, createOrder);
+        clock.advance(orderIdempotencyProperties.retention());
+        OrderResponse retriedResponse = cache.execute(request, createOrder);
+
+        // when
+        clock.advance(Duration.ofSeconds(1));
+        OrderResponse expiredResponse = cache.execute(request, createOrder);
+
+        // then
+        assertThat(retriedResponse).isEqualTo(firstResponse);
+        assertThat(expiredResponse.id()).isEqualTo(2L);
+        assertThat(orderIdSequence.get()).isEqualTo(2);
+    }
+
+    private void saveProductWithStock(String productNumber, int quantity) {
+        productRepository.save(Product.builder()
+                .type(BOTTLE)
+                .productNumber(productNumber)
+                .price(1000)
+                .sellingStatus(SELLING)
+                .name("메뉴 이름")
+                .build());
+        stockRepository.save(Stock.create(productNumber, quantity));
+    }
+
+    private static OrderCreateServiceRequest createRequest(String idempotencyKey, Map<String, Integer> productQuantities) {
+        return OrderCreateServiceRequest.builder()
+                .productQuantities(productQuantities)
+                .idempotencyKey(idempotencyKey)
+                .build();
+    }
+
+    private static class MutableClock extends Clock {
+
+        private final AtomicLong millis = new AtomicLong(Instant.parse("2024-03-01T10:00:00Z").toEpochMilli());
+
+        private void advance(Duration duration) {
+            millis.addAndGet(duration.toMillis());
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis.get());
+        }
+
+    }
+
+}
@@ -0,0 +1,124 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.*;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class OrderMetricsTest {
+
+    @Autowired
+    private OrderFacade orderFacade;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @AfterEach
+    void tearDown() {
+        orderProductRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        stockRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("주문을 생성하면 주문 생성 시간, 주문 상품 종류 수, 상품 타입별 주문 수량을 기록한다.")
+    @Test
+    void recordCreatedOrder() {
+        // given
+        productRepository.saveAll(List.of(
+                createProduct(BOTTLE, "001"),
+                createProduct(HANDMADE, "002")
+        ));
+        stockRepository.save(Stock.create("001", 10));
+        long createdCount = timerCount("cafekiosk.order.create", "exception", "none");
+        long lineItemsCount = meterRegistry.get("cafekiosk.order.line.items").summary().count();
+        double bottleQuantity = quantityOf(BOTTLE);
+        double handmadeQuantity = quantityOf(HANDMADE);
+
+        OrderCreateServiceRequest request = OrderCreateServiceRequest.builder()
+                .productNumbers(List.of("001", "001", "002"))
+                .build();
+
+        // when
+        orderFacade.createOrder(request, LocalDateTime.now());
+
+        // then
+        assertThat(timerCount("cafekiosk.order.create", "exception", "none")).isEqualTo(createdCount + 1);
+        assertThat(meterRegistry.get("cafekiosk.order.line.items").summary().count()).isEqualTo(lineItemsCount + 1);
+        assertThat(quantityOf(BOTTLE)).isEqualTo(bottleQuantity + 2);
+        assertThat(quantityOf(HANDMADE)).isEqualTo(handmadeQuantity + 1);
+    }
+
+    @DisplayName("재고가 부족해 주문이 거절되면 재고 부족 횟수와 실패한 주문 생성 시간을 기록한다.")
+    @Test
+    void recordStockShortage() {
+        // given
+        productRepository.save(createProduct(BOTTLE, "001"));
+        stockRepository.save(Stock.create("001", 1));
+        double shortageCount = meterRegistry.get("cafekiosk.stock.shortage").tag("mode", "CONDITIONAL_UPDATE").counter().count();
+
+        OrderCreateServiceRequest request = OrderCreateServiceRequest.builder()
+                .productNumbers(List.of("001", "001"))
+                .build();
+
+        // when // then
+        assertThatThrownBy(() -> orderFacade.createOrder(request, LocalDateTime.now()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(meterRegistry.get("cafekiosk.stock.shortage").tag("mode", "CONDITIONAL_UPDATE").counter().count())
+                .isEqualTo(shortageCount + 1);
+        assertThat(timerCount("cafekiosk.order.create", "exception", "IllegalArgumentException")).isPositive();
+    }
+
+    private long timerCount(String name, String tagKey, String tagValue) {
+        var timer = meterRegistry.find(name).tag(tagKey, tagValue).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private double quantityOf(ProductType type) {
+        return meterRegistry.get("cafekiosk.order.product.quantity").tag("type", type.name()).counter().count();
+    }
+
+    private Product createProduct(ProductType type, String productNumber) {
+        return Product.builder()
+                .type(type)
+                .productNumber(productNumber)
+                .price(1000)
+                .sellingStatus(SELLING)
+                .name("메뉴 이름")
+                .build();
+    }
+
+}
@@ -0,0 +1,134 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.api.service.order.request.OrderSearchServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderPageResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.sales.HourlySalesRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static sample.cafekiosk.spring.domain.order.OrderStatus.PAYMENT_COMPLETED;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class OrderQueryServiceTest {
+
+    @Autowired
+    private OrderQueryService orderQueryService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private HourlySalesRepository hourlySalesRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        hourlySalesRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("주문을 주문상품, 상품과 함께 쿼리 한 번으로 조회한다.")
+    @Test
+    public void getOrder() {
+        // given
+        List<Product> products = productRepository.saveAll(createProducts(5));
+        Order order = orderRepository.save(createOrder(products, LocalDateTime.of(2023, 3, 1, 10, 0)));
+        Statistics statistics = getStatistics();
+
+        // when
+        OrderResponse orderResponse = orderQueryService.getOrder(order.getId());
+
+        // then
+        assertThat(orderResponse.id()).isEqualTo(order.getId());
+        assertThat(orderResponse.products()).extracting("productNumber")
+                .containsExactly("001", "002", "003", "004", "005");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @DisplayName("주문 목록은 최근 주문부터 페이지 단위로 조회하며, 주문상품 수와 상관없이 쿼리는 세 번 나간다.")
+    @Test
+    public void getOrders() {
+        // given
+        List<Product> products = productRepository.saveAll(createProducts(3));
+        List<Order> orders = orderRepository.saveAll(IntStream.range(0, 5)
+                .mapToObj(i -> createOrder(products, LocalDateTime.of(2023, 3, 1, 10 + i, 0)))
+                .toList());
+        OrderSearchServiceRequest request = OrderSearchServiceRequest.builder()
+                .startDate(LocalDate.of(2023, 3, 1))
+                .endDate(LocalDate.of(2023, 3, 1))
+                .orderStatus(PAYMENT_COMPLETED)
+                .page(0)
+                .size(4)
+                .build();
+        Statistics statistics = getStatistics();
+
+        // when
+        OrderPageResponse orderPageResponse = orderQueryService.getOrders(request);
+
+        // then
+        assertThat(orderPageResponse.totalCount()).isEqualTo(5);
+        assertThat(orderPageResponse.orders()).extracting("id")
+                .containsExactly(orders.get(4).getId(), orders.get(3).getId(), orders.get(2).getId(), orders.get(1).getId());
+        assertThat(orderPageResponse.orders()).allSatisfy(order -> assertThat(order.products()).hasSize(3));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    private Statistics getStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private Order createOrder(List<Product> products, LocalDateTime registeredDateTime) {
+        return Order.builder()
+                .products(products)
+                .orderStatus(PAYMENT_COMPLETED)
+                .registeredDateTime(registeredDateTime)
+                .build();
+    }
+
+    private List<Product> createProducts(int count) {
+        return IntStream.rangeClosed(1, count)
+                .mapToObj(i -> Product.builder()
+                        .productNumber(String.format("%03d", i))
+                        .type(HANDMADE)
+                        .sellingStatus(SELLING)
+                        .name("메뉴 " + i)
+                        .price(1000)
+                        .build())
+                .toList();
+    }
+
+}
@@ -0,0 +1,189 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.stock.StockBusyException;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.BOTTLE;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "cafekiosk.stock.deduction-mode=PESSIMISTIC",
+        "spring.jpa.properties.hibernate.show_sql=false"
+})
+class OrderServicePessimisticLockTest {
+
+    private static final List<String> PRODUCT_NUMBERS = List.of("001", "002", "003", "004", "005", "006");
+
+    @Autowired
+    private OrderFacade orderFacade;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        orderProductRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        stockRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("여러 상품을 무작위 순서로 담은 주문 10,000건이 동시에 들어와도 교착 상태 없이 처리되고, 차감된 재고는 성공한 주문 수량과 같다.")
+    @Test
+    public void createOrdersWithoutDeadlock() throws InterruptedException {
+        // given
+        int initialQuantity = 4_000;
+        for (String productNumber : PRODUCT_NUMBERS) {
+            productRepository.save(createProduct(productNumber));
+            stockRepository.save(Stock.create(productNumber, initialQuantity));
+        }
+
+        int orderCount = 10_000;
+        ExecutorService executorService = Executors.newFixedThreadPool(16);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch doneLatch = new CountDownLatch(orderCount);
+        AtomicInteger shortageCount = new AtomicInteger();
+        Map<String, AtomicInteger> orderedQuantities = new ConcurrentHashMap<>();
+        Queue<Throwable> unexpectedErrors = new ConcurrentLinkedQueue<>();
+
+        // when
+        for (int i = 0; i < orderCount; i++) {
+            List<String> productNumbers = createRandomProductNumbers();
+            executorService.submit(() -> {
+                try {
+                    startLatch.await();
+                    orderFacade.createOrder(createRequest(productNumbers), LocalDateTime.now());
+                    productNumbers.forEach(productNumber ->
+                            orderedQuantities.computeIfAbsent(productNumber, key -> new AtomicInteger()).incrementAndGet());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (IllegalArgumentException e) {
+                    shortageCount.incrementAndGet();
+                } catch (Throwable e) {
+                    unexpectedErrors.add(e);
+                } finally {
+                    doneLatch.countDown();
+                }
+            });
+        }
+        startLatch.countDown();
+        boolean finished = doneLatch.await(5, TimeUnit.MINUTES);
+        executorService.shutdown();
+
+        // then
+        assertThat(finished).isTrue();
+        assertThat(unexpectedErrors).isEmpty();
+        assertThat(shortageCount.get()).isPositive();
+        Map<String, Integer> remainingQuantities = stockRepository.findAll().stream()
+                .collect(Collectors.toMap(Stock::getProductNumber, Stock::getQuantity));
+        for (String productNumber : PRODUCT_NUMBERS) {
+            int orderedQuantity = orderedQuantities.getOrDefault(productNumber, new AtomicInteger()).get();
+            assertThat(remainingQuantities.get(productNumber))
+                    .isGreaterThanOrEqualTo(0)
+                    .isEqualTo(initialQuantity - orderedQuantity);
+        }
+    }
+
+    @DisplayName("다른 주문이 재고 행을 잠그고 있으면 무한정 기다리지 않고 StockBusyException 으로 실패한다.")
+    @Test
+    public void createOrderWhenStockIsLocked() throws InterruptedException {
+        // given
+        productRepository.save(createProduct("001"));
+        stockRepository.save(Stock.create("001", 10));
+
+        CountDownLatch lockedLatch = new CountDownLatch(1);
+        CountDownLatch releaseLatch = new CountDownLatch(1);
+        Thread lockHolder = new Thread(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            stockRepository.lockAllByProductNumbersInOrder(List.of("001"), Duration.ZERO);
+            lockedLatch.countDown();
+            try {
+                releaseLatch.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        lockHolder.start();
+        lockedLatch.await(10, TimeUnit.SECONDS);
+
+        // when // then
+        try {
+            assertThatThrownBy(() -> orderFacade.createOrder(createRequest(List.of("001")), LocalDateTime.now()))
+                    .isInstanceOf(StockBusyException.class)
+                    .hasMessage("다른 주문이 재고를 차감하고 있습니다. 잠시 후 다시 시도해주세요.");
+        } finally {
+            releaseLatch.countDown();
+            lockHolder.join();
+        }
+        assertThat(stockRepository.findAll()).extracting("quantity").containsExactly(10);
+    }
+
+    private static List<String> createRandomProductNumbers() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<String> productNumbers = new ArrayList<>(PRODUCT_NUMBERS);
+        Collections.shuffle(productNumbers, random);
+        return List.copyOf(productNumbers.subList(0, random.nextInt(2, PRODUCT_NUMBERS.size() + 1)));
+    }
+
+    private static OrderCreateServiceRequest createRequest(List<String> productNumbers) {
+        return OrderCreateServiceRequest.builder()
+                .productNumbers(productNumbers)
+                .build();
+    }
+
+    private static Product createProduct(String productNumber) {
+        return Product.builder()
+                .type(BOTTLE)
+                .productNumber(productNumber)
+                .price(1000)
+                .sellingStatus(SELLING)
+                .name("메뉴 이름")
+                .build();
+    }
+
+}
@@ -19,6 +19,7 @@ import sample.cafekiosk.spring.domain.stock.StockRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -118,13 +119,12 @@ class OrderServiceTest {
         assertThat(orderResponse)
                 .extracting("registeredDateTime", "totalPrice")
                 .contains(registeredDateTime, 10000);
-        assertThat(orderResponse.products()).hasSize(4)
-                .extracting("productNumber", "price")
+        assertThat(orderResponse.products()).hasSize(3)
+                .extracting("productNumber", "price", "quantity")
                 .containsExactlyInAnyOrder(
-                        tuple("001", 1000),
-                        tuple("001", 1000),
-                        tuple("002", 3000),
-                        tuple("003", 5000)
+                        tuple("001", 1000, 2),
+                        tuple("002", 3000, 1),
+                        tuple("003", 5000, 1)
                 );
         List<Stock> stocks = stockRepository.findAll();
         assertThat(stocks).hasSize(2)
@@ -135,7 +135,7 @@ class OrderServiceTest {
                 );
     }
 
-    @DisplayName("중복되는 상품번호 리스트로 주문할 수 있다.")
+    @DisplayName("중복되는 상품번호 리스트로 주문할 수 있다. 같은 상품은 하나의 주문상품으로 합쳐 수량으로 표현한다.")
     @Test
     public void createOrderWithDuplicateProductNumbers() {
         // given (테스트를 위한 모든 준비단계)
@@ -156,14 +156,40 @@ class OrderServiceTest {
         assertThat(orderResponse)
                 .extracting("registeredDateTime", "totalPrice")
                 .contains(registeredDateTime, 2000);
-        assertThat(orderResponse.products()).hasSize(2)
-                .extracting("productNumber", "price")
-                .containsExactlyInAnyOrder(
-                        tuple("001", 1000),
-                        tuple("001", 1000)
+        assertThat(orderResponse.products()).hasSize(1)
+                .extracting("productNumber", "price", "quantity")
+                .containsExactly(
+                        tuple("001", 1000, 2)
                 );
     }
 
+    @DisplayName("상품번호별 수량으로 주문하면 상품마다 주문상품 한 건이 저장되고 재고는 수량만큼 차감된다.")
+    @Test
+    public void createOrderWithProductQuantities() {
+        // given
+        LocalDateTime registeredDateTime = LocalDateTime.now();
+        Product product1 = createProduct(BOTTLE, "001", 1000);
+        Product product2 = createProduct(HANDMADE, "002", 3000);
+        productRepository.saveAll(List.of(product1, product2));
+        stockRepository.save(Stock.create("001", 30));
+
+        OrderCreateServiceRequest orderCreateRequest = OrderCreateServiceRequest.builder()
+                .productQuantities(Map.of("001", 20, "002", 5))
+                .build();
+
+        // when
+        OrderResponse orderResponse = orderService.createOrder(orderCreateRequest, registeredDateTime);
+
+        // then
+        assertThat(orderResponse.totalPrice()).isEqualTo(35000);
+        assertThat(orderProductRepository.findAll()).hasSize(2)
+                .extracting("quantity")
+                .containsExactlyInAnyOrder(20, 5);
+        assertThat(stockRepository.findAll())
+                .extracting("productNumber", "quantity")
+                .containsExactly(tuple("001", 10));
+    }
+
     @DisplayName("재고가 부족한 상품으로 주문을 생성하려는 경우 예외가 발생한다.")
     @Test
     public void createOrderWithNoStock() {
@@ -189,6 +215,22 @@ class OrderServiceTest {
                 .hasMessage("재고가 부족한 상품이 있습니다.");
     }
 
+    @DisplayName("총 금액이 int 범위를 넘는 주문은 재고 확인이 없는 상품이어도 예외가 발생하고 저장되지 않는다.")
+    @Test
+    public void createOrderWithTotalPriceOverflow() {
+        // given
+        productRepository.save(createProduct(HANDMADE, "001", 4000));
+        OrderCreateServiceRequest orderCreateRequest = OrderCreateServiceRequest.builder()
+                .productQuantities(Map.of("001", 1_000_000))
+                .build();
+
+        // when // then
+        assertThatThrownBy(() -> orderService.createOrder(orderCreateRequest, LocalDateTime.now()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("주문 금액이 너무 큽니다.");
+        assertThat(orderRepository.count()).isZero();
+    }
+
     private Product createProduct(ProductType type, String productNumber, int price) {
         return Product.builder()
                 .type(type )
@@ -0,0 +1,169 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderDeadLetter;
+import sample.cafekiosk.spring.domain.order.OrderDeadLetterRepository;
+import sample.cafekiosk.spring.domain.order.OrderJdbcRepository;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.reset;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.BOTTLE;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "cafekiosk.order.write-behind.enabled=true")
+class OrderServiceWriteBehindTest {
+
+    @Autowired
+    private OrderFacade orderFacade;
+
+    @Autowired
+    private OrderWriteBehindPipeline orderWriteBehindPipeline;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private OrderDeadLetterRepository orderDeadLetterRepository;
+
+    @SpyBean
+    private OrderJdbcRepository orderJdbcRepository;
+
+    @AfterEach
+    void tearDown() {
+        orderDeadLetterRepository.deleteAllInBatch();
+        orderProductRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        stockRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("write-behind 모드에서는 재고를 차감하고 주문 ID 를 먼저 응답한 뒤, 주문은 백그라운드에서 저장된다.")
+    @Test
+    void createOrder() throws InterruptedException {
+        // given
+        Product product = createProduct(BOTTLE, "001", 1000);
+        productRepository.save(product);
+        stockRepository.save(Stock.create("001", 2));
+        OrderCreateServiceRequest request = OrderCreateServiceRequest.builder()
+                .productNumbers(List.of("001", "001"))
+                .build();
+
+        // when
+        OrderResponse orderResponse = orderFacade.createOrder(request, LocalDateTime.now());
+
+        // then
+        assertThat(orderResponse.id()).isNotNull();
+        assertThat(orderResponse.totalPrice()).isEqualTo(2000);
+        assertThat(stockRepository.findAll()).extracting("quantity").containsExactly(0);
+
+        awaitPersisted();
+        assertThat(orderRepository.findAll()).hasSize(1)
+                .extracting(Order::getId, Order::getTotalPrice)
+                .containsExactly(tuple(orderResponse.id(), 2000));
+        assertThat(orderProductRepository.findAll()).hasSize(1)
+                .extracting("quantity")
+                .containsExactly(2);
+    }
+
+    @DisplayName("write-behind 모드에서도 재고가 부족하면 주문을 접수하지 않고, 미리 확보한 대기열 자리를 돌려준다.")
+    @Test
+    void createOrderWithNoStock() throws InterruptedException {
+        // given
+        Product product = createProduct(BOTTLE, "001", 1000);
+        productRepository.save(product);
+        stockRepository.save(Stock.create("001", 1));
+        OrderCreateServiceRequest request = OrderCreateServiceRequest.builder()
+                .productNumbers(List.of("001", "001"))
+                .build();
+
+        // when // then
+        assertThatThrownBy(() -> orderFacade.createOrder(request, LocalDateTime.now()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("재고가 부족한 상품이 있습니다.");
+
+        assertThat(orderWriteBehindPipeline.getStats().pendingCount()).isZero();
+        awaitPersisted();
+        assertThat(orderRepository.findAll()).isEmpty();
+    }
+
+    @DisplayName("배치 저장과 한 건 저장이 모두 실패한 주문은 dead letter 로 남고, DB 가 복구되면 같은 주문 ID 로 다시 저장된다.")
+    @Test
+    void createOrderWhenInsertFails() throws InterruptedException {
+        // given
+        productRepository.save(createProduct(BOTTLE, "001", 1000));
+        stockRepository.save(Stock.create("001", 2));
+        willThrow(new DataAccessResourceFailureException("DB 장애")).given(orderJdbcRepository).insertAll(anyList());
+        OrderResponse orderResponse = orderFacade.createOrder(OrderCreateServiceRequest.builder()
+                .productNumbers(List.of("001", "001"))
+                .build(), LocalDateTime.now());
+        awaitPersisted();
+        assertThat(orderRepository.findAll()).isEmpty();
+        assertThat(orderDeadLetterRepository.findAll())
+                .extracting(OrderDeadLetter::getOrderId, OrderDeadLetter::getTotalPrice)
+                .containsExactly(tuple(orderResponse.id(), 2000));
+        reset(orderJdbcRepository);
+
+        // when
+        int replayedCount = orderWriteBehindPipeline.replayDeadLetters();
+
+        // then
+        assertThat(replayedCount).isEqualTo(1);
+        assertThat(orderRepository.findAll())
+                .extracting(Order::getId, Order::getTotalPrice)
+                .containsExactly(tuple(orderResponse.id(), 2000));
+        assertThat(orderProductRepository.findAll()).extracting("quantity").containsExactly(2);
+        assertThat(orderDeadLetterRepository.findAll()).isEmpty();
+    }
+
+    private void awaitPersisted() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (orderWriteBehindPipeline.getStats().pendingCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private Product createProduct(ProductType type, String productNumber, int price) {
+        return Product.builder()
+                .type(type)
+                .productNumber(productNumber)
+                .price(price)
+                .sellingStatus(SELLING)
+                .name("메뉴 이름")
+                .build();
+    }
+
+}
@@ -1,5 +1,8 @@
 package sample.cafekiosk.spring.api.service.order;
 
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -8,9 +11,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.api.service.mail.MailOutboxDispatcher;
 import sample.cafekiosk.spring.client.mail.MailSendClient;
 import sample.cafekiosk.spring.domain.history.mail.MailSendHistory;
 import sample.cafekiosk.spring.domain.history.mail.MailSendHistoryRepository;
+import sample.cafekiosk.spring.domain.mail.MailQueueRepository;
 import sample.cafekiosk.spring.domain.order.Order;
 import sample.cafekiosk.spring.domain.order.OrderRepository;
 import sample.cafekiosk.spring.domain.order.OrderStatus;
@@ -18,6 +23,8 @@ import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
 import sample.cafekiosk.spring.domain.product.Product;
 import sample.cafekiosk.spring.domain.product.ProductRepository;
 import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.sales.HourlySales;
+import sample.cafekiosk.spring.domain.sales.HourlySalesRepository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -49,6 +56,18 @@ class OrderStatisticsServiceTest {
     @Autowired
     private OrderProductRepository orderProductRepository;
 
+    @Autowired
+    private HourlySalesRepository hourlySalesRepository;
+
+    @Autowired
+    private MailQueueRepository mailQueueRepository;
+
+    @Autowired
+    private MailOutboxDispatcher mailOutboxDispatcher;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @MockBean
     private MailSendClient mailSendClient;
 
@@ -58,6 +77,8 @@ class OrderStatisticsServiceTest {
         orderRepository.deleteAllInBatch();
         productRepository.deleteAllInBatch();
         mailSendHistoryRepository.deleteAllInBatch();
+        mailQueueRepository.deleteAllInBatch();
+        hourlySalesRepository.deleteAllInBatch();
     }
 
     @DisplayName("결제완료 주문들을 조회하며 매출 통계 메일을 전송한다.")
@@ -79,14 +100,85 @@ class OrderStatisticsServiceTest {
                 .thenReturn(true);
 
         // when
-        boolean result = orderStatisticsService.sendOrderStatisticsMail(LocalDate.of(2023, 3, 5), "test@test.com");
+        Long mailId = orderStatisticsService.sendOrderStatisticsMail(LocalDate.of(2023, 3, 5), "test@test.com");
+        mailOutboxDispatcher.dispatchAll();
 
         // then
-        assertThat(result).isTrue();
+        assertThat(mailId).isNotNull();
         List<MailSendHistory> histories = mailSendHistoryRepository.findAll();
         assertThat(histories).hasSize(1)
                 .extracting("content")
-                .contains("총 매출 합계는 12000원입니다.");
+                .first()
+                .asString()
+                .contains(
+                        "총 매출 합계는 12000원입니다.",
+                        "주문 수: 2건, 판매 상품 수: 6개",
+                        "상품 타입별 판매 수: 제조 음료 6개",
+                        "많이 팔린 상품: 1. 메뉴 이름(001) 2개, 2. 메뉴 이름(002) 2개, 3. 메뉴 이름(003) 2개"
+                );
+    }
+
+    @DisplayName("매출 통계 메일의 주문 수와 매출 합계는 주문 테이블이 아니라 그날의 시간대별 매출 집계에서 읽는다.")
+    @Test
+    public void sendOrderStatisticsMailFromHourlySales() {
+        // given
+        hourlySalesRepository.saveAll(List.of(
+                createHourlySales(LocalDate.of(2023, 3, 5), 10, 3, 9000),
+                createHourlySales(LocalDate.of(2023, 3, 5), 15, 2, 4000),
+                createHourlySales(LocalDate.of(2023, 3, 6), 10, 7, 70000)
+        ));
+        when(mailSendClient.sendEmail(any(String.class), any(String.class), any(String.class), any(String.class)))
+                .thenReturn(true);
+
+        // when
+        orderStatisticsService.sendOrderStatisticsMail(LocalDate.of(2023, 3, 5), "test@test.com");
+        mailOutboxDispatcher.dispatchAll();
+
+        // then
+        assertThat(mailSendHistoryRepository.findAll()).hasSize(1)
+                .extracting("content")
+                .first()
+                .asString()
+                .contains(
+                        "총 매출 합계는 13000원입니다.",
+                        "주문 수: 5건, 판매 상품 수: 0개"
+                );
+    }
+
+    @DisplayName("매출 통계 메일을 만들 때 실행되는 조회 쿼리 수는 주문 수와 관계없이 일정하다.")
+    @Test
+    public void sendOrderStatisticsMailWithConstantQueryCount() {
+        // given
+        LocalDate orderDate = LocalDate.of(2023, 3, 5);
+        Product product1 = createProduct(HANDMADE, "001", 1000);
+        Product product2 = createProduct(BOTTLE, "002", 2000);
+        List<Product> products = List.of(product1, product2);
+        productRepository.saveAll(products);
+        when(mailSendClient.sendEmail(any(String.class), any(String.class), any(String.class), any(String.class)))
+                .thenReturn(true);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        createPaymentCompletedOrder(orderDate.atTime(10, 0), products);
+        statistics.clear();
+        orderStatisticsService.sendOrderStatisticsMail(orderDate, "test@test.com");
+        long queryCountWithOneOrder = countSelectQueries(statistics);
+
+        for (int i = 0; i < 30; i++) {
+            createPaymentCompletedOrder(orderDate.atTime(11, i), products);
+        }
+
+        // when
+        statistics.clear();
+        orderStatisticsService.sendOrderStatisticsMail(orderDate, "test@test.com");
+
+        // then
+        assertThat(countSelectQueries(statistics)).isEqualTo(queryCountWithOneOrder).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+    }
+
+    private long countSelectQueries(Statistics statistics) {
+        return statistics.getQueryExecutionCount() + statistics.getEntityFetchCount() + statistics.getCollectionFetchCount();
     }
 
     private Order createPaymentCompletedOrder(LocalDateTime now, List<Product> products) {
@@ -98,6 +190,15 @@ class OrderStatisticsServiceTest {
         return orderRepository.save(order);
     }
 
+    private HourlySales createHourlySales(LocalDate salesDate, int salesHour, long orderCount, long totalAmount) {
+        return HourlySales.builder()
+                .salesDate(salesDate)
+                .salesHour(salesHour)
+                .orderCount(orderCount)
+                .totalAmount(totalAmount)
+                .build();
+    }
+
     private Product createProduct(ProductType type, String productNumber, int price) {
         return Product.builder()
                 .type(type)
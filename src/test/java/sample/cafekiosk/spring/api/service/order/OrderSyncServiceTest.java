@@ -0,0 +1,234 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.request.OrderSyncServiceRequest;
+import sample.cafekiosk.spring.api.service.order.request.OrderSyncServiceRequest.OfflineOrder;
+import sample.cafekiosk.spring.api.service.order.response.OrderSyncResponse;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderIdempotencyRecordRepository;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doReturn;
+import static sample.cafekiosk.spring.api.service.order.response.OrderSyncResponse.Status.*;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.BOTTLE;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class OrderSyncServiceTest {
+
+    private static final LocalDateTime OFFLINE_AT = LocalDateTime.of(2024, 3, 1, 10, 0);
+
+    @Autowired
+    private OrderSyncService orderSyncService;
+
+    @Autowired
+    private OrderIdempotencyCache orderIdempotencyCache;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @SpyBean
+    private OrderIdempotencyRecordRepository orderIdempotencyRecordRepository;
+
+    @AfterEach
+    void tearDown() {
+        orderIdempotencyCache.invalidateAll();
+        orderIdempotencyRecordRepository.deleteAllInBatch();
+        orderProductRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        stockRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("오프라인 주문을 한 번에 등록한다. 주문 일시는 키오스크에서 받은 시각이고, 재고는 상품별로 합쳐서 차감한다.")
+    @Test
+    public void syncOrders() {
+        // given
+        productRepository.saveAll(List.of(
+                createProduct("001", BOTTLE, 1000),
+                createProduct("002", HANDMADE, 3000)
+        ));
+        stockRepository.save(Stock.create("001", 10));
+        OrderSyncServiceRequest request = createSyncRequest(
+                offlineOrder("kiosk-1-0001", OFFLINE_AT, Map.of("001", 2, "002", 1)),
+                offlineOrder("kiosk-1-0002", OFFLINE_AT.plusMinutes(1), Map.of("001", 3))
+        );
+
+        // when
+        OrderSyncResponse response = orderSyncService.syncOrders(request);
+
+        // then
+        assertThat(response)
+                .extracting("totalCount", "acceptedCount", "duplicateCount", "rejectedCount")
+                .containsExactly(2, 2, 0, 0);
+        assertThat(response.orders())
+                .extracting("idempotencyKey", "status")
+                .containsExactly(
+                        tuple("kiosk-1-0001", ACCEPTED),
+                        tuple("kiosk-1-0002", ACCEPTED)
+                );
+        assertThat(orderRepository.findAll())
+                .extracting(Order::getRegisteredDateTime, Order::getTotalPrice)
+                .containsExactlyInAnyOrder(
+                        tuple(OFFLINE_AT, 5000),
+                        tuple(OFFLINE_AT.plusMinutes(1), 3000)
+                );
+        assertThat(stockRepository.findAll()).extracting("quantity").containsExactly(5);
+    }
+
+    @DisplayName("재고가 모자라면 키오스크에서 먼저 받은 주문부터 재고를 배정하고, 나머지 주문만 거절한다.")
+    @Test
+    public void syncOrdersWithStockShortage() {
+        // given
+        productRepository.save(createProduct("001", BOTTLE, 1000));
+        stockRepository.save(Stock.create("001", 2));
+        OrderSyncServiceRequest request = createSyncRequest(
+                offlineOrder("kiosk-1-0002", OFFLINE_AT.plusMinutes(5), Map.of("001", 2)),
+                offlineOrder("kiosk-1-0001", OFFLINE_AT, Map.of("001", 2))
+        );
+
+        // when
+        OrderSyncResponse response = orderSyncService.syncOrders(request);
+
+        // then
+        assertThat(response.orders())
+                .extracting("idempotencyKey", "status", "message")
+                .containsExactly(
+                        tuple("kiosk-1-0002", REJECTED, "재고가 부족한 상품이 있습니다."),
+                        tuple("kiosk-1-0001", ACCEPTED, null)
+                );
+        assertThat(orderRepository.findAll()).extracting(Order::getRegisteredDateTime).containsExactly(OFFLINE_AT);
+        assertThat(stockRepository.findAll()).extracting("quantity").containsExactly(0);
+    }
+
+    @DisplayName("이미 동기화된 주문이나 요청 안에서 반복된 주문은 다시 생성하지 않고 먼저 생성된 주문 id 를 돌려준다.")
+    @Test
+    public void syncOrdersWithDuplicates() {
+        // given
+        productRepository.save(createProduct("001", BOTTLE, 1000));
+        stockRepository.save(Stock.create("001", 10));
+        OrderSyncResponse firstResponse = orderSyncService.syncOrders(createSyncRequest(
+                offlineOrder("kiosk-1-0001", OFFLINE_AT, Map.of("001", 1))
+        ));
+        Long firstOrderId = firstResponse.orders().get(0).orderId();
+
+        // when
+        OrderSyncResponse response = orderSyncService.syncOrders(createSyncRequest(
+                offlineOrder("kiosk-1-0001", OFFLINE_AT, Map.of("001", 1)),
+                offlineOrder("kiosk-1-0002", OFFLINE_AT.plusMinutes(1), Map.of("001", 2)),
+                offlineOrder("kiosk-1-0002", OFFLINE_AT.plusMinutes(1), Map.of("001", 2))
+        ));
+
+        // then
+        assertThat(response)
+                .extracting("totalCount", "acceptedCount", "duplicateCount", "rejectedCount")
+                .containsExactly(3, 1, 2, 0);
+        assertThat(response.orders().get(0).orderId()).isEqualTo(firstOrderId);
+        assertThat(response.orders().get(2).orderId()).isEqualTo(response.orders().get(1).orderId());
+        assertThat(orderRepository.count()).isEqualTo(2);
+        assertThat(stockRepository.findAll()).extracting("quantity").containsExactly(7);
+    }
+
+    @DisplayName("중복 확인 이후 같은 키의 주문이 먼저 저장되면 전체 요청을 롤백하고 다시 시도할 수 있는 예외가 발생한다.")
+    @Test
+    public void syncOrdersWithConcurrentlyCreatedKey() {
+        // given
+        productRepository.save(createProduct("001", BOTTLE, 1000));
+        stockRepository.save(Stock.create("001", 10));
+        orderSyncService.syncOrders(createSyncRequest(
+                offlineOrder("kiosk-1-0001", OFFLINE_AT, Map.of("001", 1))
+        ));
+        doReturn(List.of()).when(orderIdempotencyRecordRepository).findAllByIdempotencyKeyIn(anyCollection());
+
+        // when // then
+        assertThatThrownBy(() -> orderSyncService.syncOrders(createSyncRequest(
+                offlineOrder("kiosk-1-0001", OFFLINE_AT, Map.of("001", 1)),
+                offlineOrder("kiosk-1-0002", OFFLINE_AT.plusMinutes(1), Map.of("001", 2))
+        )))
+                .isInstanceOf(IdempotencyKeyConflictException.class)
+                .hasMessage("같은 Idempotency-Key 의 주문이 동시에 처리되었습니다. 잠시 후 같은 요청을 다시 보내주세요.");
+        assertThat(orderRepository.count()).isEqualTo(1);
+        assertThat(orderIdempotencyRecordRepository.count()).isEqualTo(1);
+        assertThat(stockRepository.findAll()).extracting("quantity").containsExactly(9);
+    }
+
+    @DisplayName("존재하지 않는 상품이 있는 주문만 거절하고 나머지 주문은 등록한다.")
+    @Test
+    public void syncOrdersWithUnknownProduct() {
+        // given
+        productRepository.save(createProduct("001", HANDMADE, 1000));
+        OrderSyncServiceRequest request = createSyncRequest(
+                offlineOrder("kiosk-1-0001", OFFLINE_AT, Map.of("001", 1)),
+                offlineOrder("kiosk-1-0002", OFFLINE_AT, Map.of("999", 1))
+        );
+
+        // when
+        OrderSyncResponse response = orderSyncService.syncOrders(request);
+
+        // then
+        assertThat(response.orders())
+                .extracting("idempotencyKey", "status", "message")
+                .containsExactly(
+                        tuple("kiosk-1-0001", ACCEPTED, null),
+                        tuple("kiosk-1-0002", REJECTED, "존재하지 않는 상품이 있습니다.")
+                );
+        assertThat(orderRepository.count()).isEqualTo(1);
+    }
+
+    private static OrderSyncServiceRequest createSyncRequest(OfflineOrder... orders) {
+        return OrderSyncServiceRequest.builder()
+                .orders(List.of(orders))
+                .build();
+    }
+
+    private static OfflineOrder offlineOrder(String idempotencyKey, LocalDateTime registeredDateTime, Map<String, Integer> productQuantities) {
+        OrderCreateServiceRequest request = OrderCreateServiceRequest.builder()
+                .productQuantities(productQuantities)
+                .idempotencyKey(idempotencyKey)
+                .build();
+        return new OfflineOrder(request, registeredDateTime);
+    }
+
+    private static Product createProduct(String productNumber, ProductType type, int price) {
+        return Product.builder()
+                .type(type)
+                .productNumber(productNumber)
+                .price(price)
+                .sellingStatus(SELLING)
+                .name("메뉴 이름")
+                .build();
+    }
+
+}
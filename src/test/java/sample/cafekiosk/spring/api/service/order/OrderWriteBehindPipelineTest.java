@@ -0,0 +1,259 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderDeadLetter;
+import sample.cafekiosk.spring.domain.order.OrderDeadLetterRepository;
+import sample.cafekiosk.spring.domain.order.OrderJdbcRepository;
+import sample.cafekiosk.spring.domain.order.OrderJdbcRepository.IdentifiedOrder;
+import sample.cafekiosk.spring.domain.product.Product;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+@ExtendWith(MockitoExtension.class)
+class OrderWriteBehindPipelineTest {
+
+    @Mock private OrderJdbcRepository orderJdbcRepository;
+    @Mock private OrderDeadLetterRepository orderDeadLetterRepository;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private final AtomicLong orderIdSequence = new AtomicLong();
+    private OrderWriteBehindPipeline pipeline;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        if (pipeline != null) {
+            pipeline.stop();
+        }
+    }
+
+    @DisplayName("종료할 때 대기열에 남은 주문을 모두 저장하고, 여러 주문을 한 트랜잭션에 모아서 저장한다.")
+    @Test
+    void stopDrainsQueue() {
+        // given
+        given(orderJdbcRepository.nextOrderId()).willAnswer(invocation -> orderIdSequence.incrementAndGet());
+        Set<Long> persistedOrderIds = ConcurrentHashMap.newKeySet();
+        willAnswer(invocation -> {
+            List<IdentifiedOrder> orders = invocation.getArgument(0);
+            orders.forEach(order -> persistedOrderIds.add(order.id()));
+            return null;
+        }).given(orderJdbcRepository).insertAll(anyList());
+
+        pipeline = createPipeline(1_000, 100);
+        pipeline.start();
+        for (int i = 0; i < 500; i++) {
+            submit(createOrder());
+        }
+
+        // when
+        pipeline.stop();
+
+        // then
+        assertThat(persistedOrderIds).hasSize(500);
+        assertThat(pipeline.getStats())
+                .extracting("queueDepth", "pendingCount", "persistedCount", "failedCount")
+                .containsExactly(0, 0, 500L, 0L);
+        assertThat(pipeline.getStats().commitCount()).isLessThan(500);
+    }
+
+    @DisplayName("대기열이 가득 차면 새 주문의 대기열 자리를 확보하지 못하고 거절한다.")
+    @Test
+    void submitWhenQueueIsFull() throws InterruptedException {
+        // given
+        given(orderJdbcRepository.nextOrderId()).willAnswer(invocation -> orderIdSequence.incrementAndGet());
+        CountDownLatch persistLatch = new CountDownLatch(1);
+        willAnswer(invocation -> {
+            persistLatch.await(5, TimeUnit.SECONDS);
+            return null;
+        }).given(orderJdbcRepository).insertAll(anyList());
+
+        pipeline = createPipeline(2, 10);
+        pipeline.start();
+        submit(createOrder());
+        submit(createOrder());
+
+        // when // then
+        assertThatThrownBy(() -> pipeline.reserveSlot())
+                .isInstanceOf(OrderQueueFullException.class)
+                .hasMessage("주문이 몰려 접수하지 못했습니다. 잠시 후 다시 시도해주세요.");
+        assertThat(pipeline.getStats().rejectedCount()).isEqualTo(1);
+        persistLatch.countDown();
+    }
+
+    @DisplayName("주문 트랜잭션이 롤백되면 주문을 저장하지 않고 대기열 자리를 돌려준다.")
+    @Test
+    void submitAndRollback() {
+        // given
+        given(orderJdbcRepository.nextOrderId()).willAnswer(invocation -> orderIdSequence.incrementAndGet());
+        pipeline = createPipeline(10, 10);
+        pipeline.start();
+        TransactionSynchronizationManager.initSynchronization();
+        submit(createOrder());
+        assertThat(pipeline.getStats().pendingCount()).isEqualTo(1);
+
+        // when
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // then
+        pipeline.stop();
+        assertThat(pipeline.getStats().pendingCount()).isZero();
+        verify(orderJdbcRepository, never()).insertAll(anyList());
+    }
+
+    @DisplayName("확보한 대기열 자리를 주문에 넘기지 않고 닫으면 자리를 돌려준다.")
+    @Test
+    void reserveSlotAndClose() {
+        // given
+        pipeline = createPipeline(1, 10);
+        pipeline.start();
+        OrderWriteBehindPipeline.QueueSlot queueSlot = pipeline.reserveSlot();
+        assertThat(pipeline.getStats().pendingCount()).isEqualTo(1);
+
+        // when
+        queueSlot.close();
+        queueSlot.close();
+
+        // then
+        assertThat(pipeline.getStats().pendingCount()).isZero();
+        pipeline.reserveSlot().close();
+        verify(orderJdbcRepository, never()).nextOrderId();
+    }
+
+    @DisplayName("write-behind 파이프라인이 동작하지 않으면 dead letter 를 조회하지 않는다.")
+    @Test
+    void replayDeadLettersWhenNotRunning() {
+        // given
+        pipeline = createPipeline(10, 10);
+
+        // when
+        int replayedCount = pipeline.replayDeadLetters();
+
+        // then
+        assertThat(replayedCount).isZero();
+        verify(orderDeadLetterRepository, never()).findAllByOrderByIdAsc(any());
+    }
+
+    @DisplayName("주문을 저장하지 못하면 dead letter 로 남긴다.")
+    @Test
+    void persistFailsAndSavesDeadLetter() {
+        // given
+        given(orderJdbcRepository.nextOrderId()).willAnswer(invocation -> orderIdSequence.incrementAndGet());
+        willThrow(new DataAccessResourceFailureException("DB 장애")).given(orderJdbcRepository).insertAll(anyList());
+        List<OrderDeadLetter> deadLetters = new CopyOnWriteArrayList<>();
+        given(orderDeadLetterRepository.save(any())).willAnswer(invocation -> {
+            deadLetters.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        pipeline = createPipeline(10, 10);
+        pipeline.start();
+
+        // when
+        long orderId = submit(createOrder());
+        pipeline.stop();
+
+        // then
+        assertThat(deadLetters).hasSize(1)
+                .extracting(OrderDeadLetter::getOrderId, OrderDeadLetter::getTotalPrice)
+                .containsExactly(tuple(orderId, 4000));
+        assertThat(deadLetters.get(0).getProductQuantities())
+                .containsExactly(new OrderDeadLetter.ProductQuantity(1L, 1));
+        assertThat(pipeline.getStats())
+                .extracting("pendingCount", "persistedCount", "deadLetterCount", "failedCount")
+                .containsExactly(0, 0L, 1L, 0L);
+    }
+
+    @DisplayName("주문도 dead letter 도 저장하지 못하면 버리지 않고 대기열에 되돌렸다가 DB 가 복구되면 저장한다.")
+    @Test
+    void persistAndDeadLetterFailThenRetry() {
+        // given
+        given(orderJdbcRepository.nextOrderId()).willAnswer(invocation -> orderIdSequence.incrementAndGet());
+        AtomicBoolean databaseDown = new AtomicBoolean(true);
+        Set<Long> persistedOrderIds = ConcurrentHashMap.newKeySet();
+        willAnswer(invocation -> {
+            if (databaseDown.get()) {
+                throw new DataAccessResourceFailureException("DB 장애");
+            }
+            List<IdentifiedOrder> orders = invocation.getArgument(0);
+            orders.forEach(order -> persistedOrderIds.add(order.id()));
+            return null;
+        }).given(orderJdbcRepository).insertAll(anyList());
+        given(orderDeadLetterRepository.save(any())).willAnswer(invocation -> {
+            databaseDown.set(false);
+            throw new DataAccessResourceFailureException("DB 장애");
+        });
+        pipeline = createPipeline(10, 10);
+        pipeline.start();
+
+        // when
+        long orderId = submit(createOrder());
+        pipeline.stop();
+
+        // then
+        assertThat(persistedOrderIds).containsExactly(orderId);
+        assertThat(pipeline.getStats())
+                .extracting("pendingCount", "persistedCount", "deadLetterCount", "retryCount", "failedCount")
+                .containsExactly(0, 1L, 0L, 1L, 0L);
+    }
+
+    private long submit(Order order) {
+        try (OrderWriteBehindPipeline.QueueSlot queueSlot = pipeline.reserveSlot()) {
+            return pipeline.submit(order, queueSlot);
+        }
+    }
+
+    private OrderWriteBehindPipeline createPipeline(int queueCapacity, int maxBatchSize) {
+        OrderWriteBehindProperties properties = new OrderWriteBehindProperties(
+                true, queueCapacity, maxBatchSize, Duration.ofMillis(10), Duration.ofSeconds(10), Duration.ofMillis(10)
+        );
+        return new OrderWriteBehindPipeline(orderJdbcRepository, orderDeadLetterRepository, properties, transactionManager);
+    }
+
+    private Order createOrder() {
+        Product product = Product.builder()
+                .productNumber("001")
+                .type(HANDMADE)
+                .sellingStatus(SELLING)
+                .name("메뉴 이름")
+                .price(4000)
+                .build();
+        ReflectionTestUtils.setField(product, "id", 1L);
+        return Order.create(List.of(product), LocalDateTime.now());
+    }
+
+}
@@ -0,0 +1,116 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.*;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+@ExtendWith(MockitoExtension.class)
+class ProductCatalogCacheTest {
+
+    @Mock private ProductRepository productRepository;
+
+    @DisplayName("한 번 조회한 상품은 다시 조회할 때 DB 를 거치지 않는다.")
+    @Test
+    public void findAllByProductNumberIn() {
+        // given
+        ProductCatalogCache productCatalogCache = createCache(10);
+        given(productRepository.findAllByProductNumberIn(List.of("001", "002")))
+                .willReturn(List.of(createProduct("001", SELLING), createProduct("002", SELLING)));
+
+        // when
+        productCatalogCache.findAllByProductNumberIn(List.of("001", "002"));
+        List<Product> products = productCatalogCache.findAllByProductNumberIn(List.of("001", "002"));
+
+        // then
+        assertThat(products).extracting("productNumber").containsExactlyInAnyOrder("001", "002");
+        verify(productRepository, times(1)).findAllByProductNumberIn(List.of("001", "002"));
+        assertThat(productCatalogCache.getStats())
+                .extracting("hitCount", "missCount", "evictionCount", "size")
+                .containsExactly(2L, 2L, 0L, 2);
+    }
+
+    @DisplayName("캐시에 없는 상품번호만 DB 에서 조회한다.")
+    @Test
+    public void findAllByProductNumberInWithPartialHit() {
+        // given
+        ProductCatalogCache productCatalogCache = createCache(10);
+        given(productRepository.findAllByProductNumberIn(List.of("001")))
+                .willReturn(List.of(createProduct("001", SELLING)));
+        given(productRepository.findAllByProductNumberIn(List.of("002")))
+                .willReturn(List.of(createProduct("002", SELLING)));
+        productCatalogCache.findAllByProductNumberIn(List.of("001"));
+
+        // when
+        List<Product> products = productCatalogCache.findAllByProductNumberIn(List.of("001", "002"));
+
+        // then
+        assertThat(products).extracting("productNumber").containsExactlyInAnyOrder("001", "002");
+        verify(productRepository, times(1)).findAllByProductNumberIn(List.of("002"));
+    }
+
+    @DisplayName("최대 크기를 넘으면 가장 오래 사용되지 않은 상품부터 캐시에서 제거된다.")
+    @Test
+    public void evict() {
+        // given
+        ProductCatalogCache productCatalogCache = createCache(2);
+        given(productRepository.findAllByProductNumberIn(List.of("001", "002", "003")))
+                .willReturn(List.of(createProduct("001", SELLING), createProduct("002", SELLING), createProduct("003", SELLING)));
+
+        // when
+        productCatalogCache.findAllByProductNumberIn(List.of("001", "002", "003"));
+
+        // then
+        assertThat(productCatalogCache.getStats())
+                .extracting("evictionCount", "size")
+                .containsExactly(1L, 2);
+    }
+
+    @DisplayName("상품 카탈로그가 변경되면 판매상태별 상품 목록을 다시 DB 에서 조회한다.")
+    @Test
+    public void onCatalogChanged() {
+        // given
+        ProductCatalogCache productCatalogCache = createCache(10);
+        List<ProductSellingStatus> sellingStatuses = forDisplay();
+        given(productRepository.findAllBySellingStatusIn(sellingStatuses))
+                .willReturn(List.of(createProduct("001", SELLING)))
+                .willReturn(List.of(createProduct("001", SELLING), createProduct("002", HOLD)));
+        productCatalogCache.findAllBySellingStatusIn(sellingStatuses);
+
+        // when
+        productCatalogCache.onCatalogChanged(ProductCatalogChangedEvent.of("002"));
+        List<Product> products = productCatalogCache.findAllBySellingStatusIn(sellingStatuses);
+
+        // then
+        assertThat(products).extracting("productNumber").containsExactly("001", "002");
+        verify(productRepository, times(2)).findAllBySellingStatusIn(sellingStatuses);
+    }
+
+    private ProductCatalogCache createCache(int maxSize) {
+        return new ProductCatalogCache(productRepository, new ProductCacheProperties(true, maxSize));
+    }
+
+    private Product createProduct(String productNumber, ProductSellingStatus sellingStatus) {
+        return Product.builder()
+                .productNumber(productNumber)
+                .type(HANDMADE)
+                .sellingStatus(sellingStatus)
+                .name("메뉴 이름")
+                .price(4000)
+                .build();
+    }
+
+}
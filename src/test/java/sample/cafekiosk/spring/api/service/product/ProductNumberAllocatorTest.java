@@ -0,0 +1,127 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductNumberSequenceRepository;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class ProductNumberAllocatorTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductNumberSequenceRepository productNumberSequenceRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAllInBatch();
+        productNumberSequenceRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("여러 스레드가 동시에 상품번호를 할당받아도 중복된 번호가 나오지 않는다.")
+    @Test
+    void allocateConcurrently() throws InterruptedException {
+        // given
+        ProductNumberAllocator productNumberAllocator = createAllocator(10);
+        int allocationCount = 500;
+        ExecutorService executorService = Executors.newFixedThreadPool(16);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch doneLatch = new CountDownLatch(allocationCount);
+        Set<String> productNumbers = ConcurrentHashMap.newKeySet();
+
+        // when
+        for (int i = 0; i < allocationCount; i++) {
+            executorService.submit(() -> {
+                try {
+                    startLatch.await();
+                    productNumbers.add(productNumberAllocator.allocate());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    doneLatch.countDown();
+                }
+            });
+        }
+        startLatch.countDown();
+        doneLatch.await(30, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        // then
+        assertThat(productNumbers).hasSize(allocationCount)
+                .contains("001", "500");
+    }
+
+    @DisplayName("시퀀스가 없으면 가장 큰 상품번호 다음 번호부터 할당하고, 999 를 넘으면 자릿수가 늘어난다.")
+    @Test
+    void allocateAfterLatestProductNumber() {
+        // given
+        productRepository.save(createProduct("999"));
+        ProductNumberAllocator productNumberAllocator = createAllocator(10);
+
+        // when
+        String productNumber = productNumberAllocator.allocate();
+
+        // then
+        assertThat(productNumber).isEqualTo("1000");
+    }
+
+    @DisplayName("블록 크기보다 많은 상품번호를 한 번에 할당받으면 연속된 번호를 받는다.")
+    @Test
+    void allocateBulk() {
+        // given
+        ProductNumberAllocator productNumberAllocator = createAllocator(10);
+        productNumberAllocator.allocate();
+
+        // when
+        List<String> productNumbers = productNumberAllocator.allocate(25);
+
+        // then
+        assertThat(productNumbers).hasSize(25)
+                .startsWith("011", "012")
+                .endsWith("035");
+    }
+
+    private ProductNumberAllocator createAllocator(int blockSize) {
+        return new ProductNumberAllocator(
+                productNumberSequenceRepository,
+                productRepository,
+                new ProductNumberProperties(blockSize),
+                transactionManager
+        );
+    }
+
+    private Product createProduct(String productNumber) {
+        return Product.builder()
+                .productNumber(productNumber)
+                .type(HANDMADE)
+                .sellingStatus(SELLING)
+                .name("메뉴 이름")
+                .price(4000)
+                .build();
+    }
+
+}
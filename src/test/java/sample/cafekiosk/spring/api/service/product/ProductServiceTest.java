@@ -1,5 +1,6 @@
 package sample.cafekiosk.spring.api.service.product;
 
+import com.zaxxer.hikari.HikariDataSource;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -8,13 +9,23 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import sample.cafekiosk.spring.api.controller.product.dto.request.ProductCreateRequest;
 import sample.cafekiosk.spring.api.service.product.request.ProductCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.product.request.ProductImportServiceRequest;
+import sample.cafekiosk.spring.api.service.product.response.ProductImportResponse;
 import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
 import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductNumberSequenceRepository;
 import sample.cafekiosk.spring.domain.product.ProductRepository;
 import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
 import sample.cafekiosk.spring.domain.product.ProductType;
 
+import javax.sql.DataSource;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.groups.Tuple.tuple;
@@ -31,9 +42,16 @@ class ProductServiceTest {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private ProductNumberSequenceRepository productNumberSequenceRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
     @AfterEach
     void tearDown() {
         productRepository.deleteAllInBatch();
+        productNumberSequenceRepository.deleteAllInBatch();
     }
 
     @DisplayName("신규 상품을 등록한다. 상품번호는 가장 최근 상품의 상품번호에서 1 증가한 값이다.")
@@ -91,6 +109,111 @@ class ProductServiceTest {
                 );
     }
 
+    @DisplayName("커넥션 풀 크기보다 많은 요청이 동시에 상품을 등록해도 상품번호 블록을 받아오며 멈추지 않는다.")
+    @Test
+    public void createProductConcurrently() throws InterruptedException {
+        // given
+        int threadCount = ((HikariDataSource) dataSource).getMaximumPoolSize() * 2;
+        int productCount = 200;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<ProductResponse>> futures = new ArrayList<>();
+        ProductCreateServiceRequest productCreateRequest = ProductCreateServiceRequest.builder()
+                .type(HANDMADE)
+                .sellingStatus(SELLING)
+                .name("카푸치노")
+                .price(5000)
+                .build();
+
+        // when
+        for (int i = 0; i < productCount; i++) {
+            futures.add(executorService.submit(() -> {
+                startLatch.await();
+                return productService.createProduct(productCreateRequest);
+            }));
+        }
+        startLatch.countDown();
+        executorService.shutdown();
+        boolean terminated = executorService.awaitTermination(20, TimeUnit.SECONDS);
+
+        // then
+        assertThat(terminated).isTrue();
+        assertThat(futures).allMatch(future -> future.isDone() && !future.isCancelled());
+        assertThat(productRepository.findAll()).hasSize(productCount)
+                .extracting("productNumber")
+                .doesNotHaveDuplicates();
+    }
+
+    @DisplayName("상품을 일괄 등록한다. 상품번호는 가장 큰 상품번호 다음 번호부터 차례로 부여된다.")
+    @Test
+    public void importProducts() {
+        // given
+        productRepository.save(createProduct("001", HANDMADE, SELLING, "아메리카노", 4000));
+        ProductImportServiceRequest request = ProductImportServiceRequest.builder()
+                .rows(List.of(
+                        ProductImportServiceRequest.Row.valid(1, createServiceRequest("카푸치노", 5000)),
+                        ProductImportServiceRequest.Row.valid(2, createServiceRequest("카페라떼", 4500))
+                ))
+                .build();
+
+        // when
+        ProductImportResponse response = productService.importProducts(request);
+
+        // then
+        assertThat(response)
+                .extracting("totalCount", "successCount", "failureCount")
+                .containsExactly(2, 2, 0);
+        assertThat(response.rows())
+                .extracting("rowNumber", "success", "productNumber")
+                .containsExactly(
+                        tuple(1, true, "002"),
+                        tuple(2, true, "003")
+                );
+        assertThat(productRepository.findAll()).hasSize(3)
+                .extracting("productNumber", "name", "price")
+                .containsExactlyInAnyOrder(
+                        tuple("001", "아메리카노", 4000),
+                        tuple("002", "카푸치노", 5000),
+                        tuple("003", "카페라떼", 4500)
+                );
+    }
+
+    @DisplayName("일괄 등록할 상품 중 잘못된 행이 있으면 아무 상품도 등록하지 않는다.")
+    @Test
+    public void importProductsWithInvalidRow() {
+        // given
+        ProductImportServiceRequest request = ProductImportServiceRequest.builder()
+                .rows(List.of(
+                        ProductImportServiceRequest.Row.valid(1, createServiceRequest("카푸치노", 5000)),
+                        ProductImportServiceRequest.Row.invalid(2, "상품 가격은 양수여야 합니다.")
+                ))
+                .build();
+
+        // when
+        ProductImportResponse response = productService.importProducts(request);
+
+        // then
+        assertThat(response)
+                .extracting("totalCount", "successCount", "failureCount")
+                .containsExactly(2, 0, 1);
+        assertThat(response.rows())
+                .extracting("rowNumber", "success", "message")
+                .containsExactly(
+                        tuple(1, false, "다른 행의 오류로 등록하지 않았습니다."),
+                        tuple(2, false, "상품 가격은 양수여야 합니다.")
+                );
+        assertThat(productRepository.findAll()).isEmpty();
+    }
+
+    private static ProductCreateServiceRequest createServiceRequest(String name, int price) {
+        return ProductCreateServiceRequest.builder()
+                .type(HANDMADE)
+                .sellingStatus(SELLING)
+                .name(name)
+                .price(price)
+                .build();
+    }
+
     private static Product createProduct(String productNumber, ProductType type, ProductSellingStatus sellingStatus, String name, int price) {
         return Product.builder()
                 .productNumber(productNumber)
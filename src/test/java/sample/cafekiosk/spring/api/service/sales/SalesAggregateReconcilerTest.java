@@ -0,0 +1,126 @@
+package sample.cafekiosk.spring.api.service.sales;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.sales.HourlySalesRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class SalesAggregateReconcilerTest {
+
+    @Autowired
+    private SalesAggregateReconciler salesAggregateReconciler;
+
+    @Autowired
+    private HourlySalesRepository hourlySalesRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @AfterEach
+    void tearDown() {
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        hourlySalesRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("결제 완료된 주문을 저장하면 시간대별 매출 집계가 증가한다.")
+    @Test
+    void aggregateOnPaymentCompleted() {
+        // given
+        Product product = productRepository.save(createProduct("001", 1000));
+        Order order1 = Order.create(List.of(product), LocalDateTime.of(2023, 3, 5, 10, 0));
+        Order order2 = Order.create(List.of(product, product), LocalDateTime.of(2023, 3, 5, 10, 59));
+        Order order3 = Order.create(List.of(product), LocalDateTime.of(2023, 3, 5, 11, 0));
+        orderRepository.saveAll(List.of(order1, order2, order3));
+
+        // when
+        order1.completePayment();
+        order2.completePayment();
+        order3.completePayment();
+        orderRepository.saveAll(List.of(order1, order2, order3));
+
+        // then
+        assertThat(hourlySalesRepository.findAllBySalesDateOrderBySalesHour(LocalDate.of(2023, 3, 5)))
+                .extracting("salesHour", "orderCount", "totalAmount")
+                .containsExactly(
+                        tuple(10, 2L, 3000L),
+                        tuple(11, 1L, 1000L)
+                );
+    }
+
+    @DisplayName("주어진 기간의 시간대별 매출 집계를 결제완료 주문으로부터 다시 만든다.")
+    @Test
+    void reconcile() {
+        // given
+        Product product = productRepository.save(createProduct("001", 1000));
+        Order order1 = Order.create(List.of(product), LocalDateTime.of(2023, 3, 4, 23, 59));
+        Order order2 = Order.create(List.of(product), LocalDateTime.of(2023, 3, 5, 9, 0));
+        Order order3 = Order.create(List.of(product, product), LocalDateTime.of(2023, 3, 5, 9, 30));
+        Order order4 = Order.create(List.of(product), LocalDateTime.of(2023, 3, 6, 0, 0));
+        order1.completePayment();
+        order2.completePayment();
+        order3.completePayment();
+        order4.completePayment();
+        orderRepository.saveAll(List.of(order1, order2, order3, order4));
+        hourlySalesRepository.deleteAllInBatch();
+
+        // when
+        int reconciledCount = salesAggregateReconciler.reconcile(LocalDate.of(2023, 3, 4), LocalDate.of(2023, 3, 5));
+
+        // then
+        assertThat(reconciledCount).isEqualTo(2);
+        assertThat(hourlySalesRepository.findAll())
+                .extracting("salesDate", "salesHour", "orderCount", "totalAmount")
+                .containsExactlyInAnyOrder(
+                        tuple(LocalDate.of(2023, 3, 4), 23, 1L, 1000L),
+                        tuple(LocalDate.of(2023, 3, 5), 9, 2L, 3000L)
+                );
+    }
+
+    @DisplayName("매출 집계를 다시 만들 때 시작일이 종료일보다 늦으면 예외가 발생한다.")
+    @Test
+    void reconcileWithInvalidRange() {
+        // when // then
+        assertThatThrownBy(() -> salesAggregateReconciler.reconcile(LocalDate.of(2023, 3, 6), LocalDate.of(2023, 3, 5)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("시작일은 종료일보다 늦을 수 없습니다.");
+    }
+
+    private Product createProduct(String productNumber, int price) {
+        return Product.builder()
+                .type(HANDMADE)
+                .productNumber(productNumber)
+                .price(price)
+                .sellingStatus(SELLING)
+                .name("메뉴 이름")
+                .build();
+    }
+
+}
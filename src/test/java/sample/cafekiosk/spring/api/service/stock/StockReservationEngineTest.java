@@ -0,0 +1,196 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sample.cafekiosk.spring.domain.order.OrderLineItems;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.BOTTLE;
+
+@ExtendWith(MockitoExtension.class)
+class StockReservationEngineTest {
+
+    @Mock private StockRepository stockRepository;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private StockReservationEngine stockReservationEngine;
+
+    @BeforeEach
+    void setUp() {
+        stockReservationEngine = new StockReservationEngine(stockRepository, transactionManager);
+    }
+
+    @DisplayName("재고를 예약하면 메모리 재고 수량이 예약한 수량만큼 줄어든다.")
+    @Test
+    public void reserve() {
+        // given
+        given(stockRepository.findAllByProductNumberIn(anyList()))
+                .willReturn(List.of(Stock.create("001", 2), Stock.create("002", 2)));
+
+        // when
+        stockReservationEngine.reserve(createLineItems("001", "001", "002"));
+
+        // then
+        assertThat(stockReservationEngine.getAvailableQuantity("001")).isZero();
+        assertThat(stockReservationEngine.getAvailableQuantity("002")).isEqualTo(1);
+    }
+
+    @DisplayName("재고가 부족한 상품이 하나라도 있으면 어떤 상품의 재고도 예약되지 않는다.")
+    @Test
+    public void reserveWithNoStock() {
+        // given
+        given(stockRepository.findAllByProductNumberIn(anyList()))
+                .willReturn(List.of(Stock.create("001", 2), Stock.create("002", 1)));
+
+        OrderLineItems lineItems = createLineItems("001", "002", "002");
+
+        // when // then
+        assertThatThrownBy(() -> stockReservationEngine.reserve(lineItems))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("재고가 부족한 상품이 있습니다.");
+        assertThat(stockReservationEngine.getAvailableQuantity("001")).isEqualTo(2);
+        assertThat(stockReservationEngine.getAvailableQuantity("002")).isEqualTo(1);
+    }
+
+    @DisplayName("주문 상품의 재고가 하나라도 부족하면 앞에서 예약한 상품의 재고를 되돌린다.")
+    @Test
+    public void reserveLineItemsWithNoStock() {
+        // given
+        given(stockRepository.findAllByProductNumberIn(anyList()))
+                .willReturn(List.of(Stock.create("001", 2), Stock.create("002", 1)));
+
+        OrderLineItems lineItems = createLineItems("002", "001", "002");
+
+        // when // then
+        assertThatThrownBy(() -> stockReservationEngine.reserve(lineItems))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("재고가 부족한 상품이 있습니다.");
+        assertThat(stockReservationEngine.getAvailableQuantity("001")).isEqualTo(2);
+        assertThat(stockReservationEngine.getAvailableQuantity("002")).isEqualTo(1);
+    }
+
+    @DisplayName("예약된 차감 수량은 상품번호별로 합산되어 Stock 테이블에 한 번에 반영된다.")
+    @Test
+    public void flush() {
+        // given
+        given(stockRepository.findAllByProductNumberIn(anyList()))
+                .willReturn(List.of(Stock.create("001", 10)));
+        stockReservationEngine.reserve(createLineItems("001", "001"));
+        stockReservationEngine.reserve(createLineItems("001", "001", "001"));
+
+        // when
+        stockReservationEngine.flush();
+        stockReservationEngine.flush();
+
+        // then
+        verify(stockRepository, times(1)).deductQuantity("001", 5);
+    }
+
+    @DisplayName("트랜잭션이 롤백되어 예약이 해제되면 반영 대기중인 차감 수량도 함께 취소된다.")
+    @Test
+    public void releaseOnRollback() {
+        // given
+        given(stockRepository.findAllByProductNumberIn(anyList()))
+                .willReturn(List.of(Stock.create("001", 10)));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            stockReservationEngine.reserve(createLineItems("001", "001", "001", "001"));
+
+            // when
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        stockReservationEngine.flush();
+
+        // then
+        assertThat(stockReservationEngine.getAvailableQuantity("001")).isEqualTo(10);
+        verify(stockRepository, never()).deductQuantity(anyString(), anyInt());
+    }
+
+    @DisplayName("64개의 스레드가 동시에 재고를 예약해도 재고 수량보다 많이 예약되지 않는다.")
+    @Test
+    public void reserveConcurrently() throws InterruptedException {
+        // given
+        int stockQuantity = 1_000;
+        int threadCount = 64;
+        int attemptsPerThread = 100;
+        given(stockRepository.findAllByProductNumberIn(anyList()))
+                .willReturn(List.of(Stock.create("001", stockQuantity)));
+
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch doneLatch = new CountDownLatch(threadCount);
+        AtomicInteger successCount = new AtomicInteger();
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            executorService.submit(() -> {
+                try {
+                    startLatch.await();
+                    for (int j = 0; j < attemptsPerThread; j++) {
+                        try {
+                            stockReservationEngine.reserve(createLineItems("001"));
+                            successCount.incrementAndGet();
+                        } catch (IllegalArgumentException ignored) {
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    doneLatch.countDown();
+                }
+            });
+        }
+        startLatch.countDown();
+        doneLatch.await(10, TimeUnit.SECONDS);
+        executorService.shutdown();
+        stockReservationEngine.flush();
+
+        // then
+        assertThat(successCount.get()).isEqualTo(stockQuantity);
+        assertThat(stockReservationEngine.getAvailableQuantity("001")).isZero();
+        verify(stockRepository, times(1)).deductQuantity("001", stockQuantity);
+    }
+
+    private OrderLineItems createLineItems(String... productNumbers) {
+        OrderLineItems lineItems = OrderLineItems.of(List.of(productNumbers));
+        lineItems.bindProducts(Stream.of(productNumbers).distinct().map(this::createProduct).toList());
+        return lineItems;
+    }
+
+    private Product createProduct(String productNumber) {
+        return Product.builder()
+                .productNumber(productNumber)
+                .type(BOTTLE)
+                .sellingStatus(SELLING)
+                .name("메뉴 이름")
+                .price(1000)
+                .build();
+    }
+
+}
@@ -0,0 +1,65 @@
+package sample.cafekiosk.spring.client.mail;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 메일 서버 대역
+ *
+ * 메일 한 통을 보낼 때마다 latency 만큼 기다린다. failFor 로 지정한 받는 사람에게 보내면 연결 실패 예외를 던진다.
+ * 여러 발송 스레드에서 동시에 불려도 되고, 동시에 보낸 최대 메일 수를 기록한다.
+ */
+public class FakeMailSendClient extends MailSendClient {
+
+    private final Duration latency;
+    private final Set<String> failingRecipients = ConcurrentHashMap.newKeySet();
+    private final Queue<String> sentRecipients = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger sendingCount = new AtomicInteger();
+    private final AtomicInteger maxSendingCount = new AtomicInteger();
+
+    public FakeMailSendClient(Duration latency) {
+        this.latency = latency;
+    }
+
+    public void failFor(String to) {
+        failingRecipients.add(to);
+    }
+
+    public List<String> getSentRecipients() {
+        return List.copyOf(sentRecipients);
+    }
+
+    public int getMaxSendingCount() {
+        return maxSendingCount.get();
+    }
+
+    public void reset() {
+        failingRecipients.clear();
+        sentRecipients.clear();
+        maxSendingCount.set(0);
+    }
+
+    @Override
+    public boolean sendEmail(String from, String to, String subject, String content) {
+        maxSendingCount.accumulateAndGet(sendingCount.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(latency.toMillis());
+            if (failingRecipients.contains(to)) {
+                throw new IllegalStateException("메일 서버 연결 실패");
+            }
+            sentRecipients.add(to);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("메일 발송 중 인터럽트", e);
+        } finally {
+            sendingCount.decrementAndGet();
+        }
+    }
+
+}
@@ -0,0 +1,43 @@
+package sample.cafekiosk.spring.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 테스트에서는 지표 내보내기가 꺼져 있으므로 @AutoConfigureObservability 로 Prometheus 레지스트리를 켠다.
+ */
+@ActiveProfiles("test")
+@AutoConfigureObservability
+@AutoConfigureMockMvc
+@SpringBootTest
+class MetricsConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DisplayName("Prometheus 엔드포인트로 서비스 지표와 커넥션 풀, Hibernate 통계를 내보낸다.")
+    @Test
+    void prometheus() throws Exception {
+        // when // then
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("cafekiosk_order_line_items_count")))
+                .andExpect(content().string(containsString("cafekiosk_stock_shortage_total{mode=\"CONDITIONAL_UPDATE\"")))
+                .andExpect(content().string(containsString("cafekiosk_product_cache_requests_total{result=\"hit\"")))
+                .andExpect(content().string(containsString("cafekiosk_order_write_behind_queue_depth")))
+                .andExpect(content().string(containsString("hikaricp_connections_active")))
+                .andExpect(content().string(containsString("hibernate_sessions_open_total")));
+    }
+
+}
@@ -0,0 +1,141 @@
+package sample.cafekiosk.spring.domain.order;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.BAKERY;
+import static sample.cafekiosk.spring.domain.product.ProductType.BOTTLE;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+class OrderLineItemsTest {
+
+    @DisplayName("같은 상품번호는 처음 나온 순서 자리에 수량을 더한다.")
+    @Test
+    void add() {
+        // given
+        OrderLineItems lineItems = OrderLineItems.of(List.of("001", "002", "001"));
+
+        // when
+        lineItems.add("002", 10);
+
+        // then
+        assertThat(lineItems.size()).isEqualTo(2);
+        assertThat(lineItems.getProductNumbers()).containsExactly("001", "002");
+        assertThat(lineItems.getQuantity(0)).isEqualTo(2);
+        assertThat(lineItems.getQuantity(1)).isEqualTo(11);
+    }
+
+    @DisplayName("조회한 상품을 같은 상품번호 자리에 붙이고, 상품 가격과 수량으로 총 금액을 계산한다.")
+    @Test
+    void bindProducts() {
+        // given
+        OrderLineItems lineItems = OrderLineItems.of(List.of("001", "002", "001"));
+
+        // when
+        lineItems.bindProducts(List.of(createProduct("002", 3000), createProduct("001", 1000)));
+
+        // then
+        assertThat(lineItems.getProduct(0).getProductNumber()).isEqualTo("001");
+        assertThat(lineItems.getProduct(1).getProductNumber()).isEqualTo("002");
+        assertThat(lineItems.calculateTotalPrice()).isEqualTo(5000);
+    }
+
+    @DisplayName("상품을 붙이면 재고 대상 상품의 인덱스를 상품번호 순으로 모아 둔다.")
+    @Test
+    void bindProductsWithStockProducts() {
+        // given
+        OrderLineItems lineItems = OrderLineItems.of(List.of("003", "002", "001", "004"));
+
+        // when
+        lineItems.bindProducts(List.of(
+                createProduct("001", BOTTLE, 1000),
+                createProduct("002", HANDMADE, 1000),
+                createProduct("003", BAKERY, 1000),
+                createProduct("004", BOTTLE, 1000)
+        ));
+
+        // then
+        assertThat(lineItems.stockCount()).isEqualTo(3);
+        assertThat(lineItems.getProductNumber(lineItems.getStockIndex(0))).isEqualTo("001");
+        assertThat(lineItems.getProductNumber(lineItems.getStockIndex(1))).isEqualTo("003");
+        assertThat(lineItems.getProductNumber(lineItems.getStockIndex(2))).isEqualTo("004");
+    }
+
+    @DisplayName("처음 크기보다 많은 상품번호를 더해도 상품번호의 인덱스를 찾을 수 있다.")
+    @Test
+    void addOverExpectedSize() {
+        // given
+        OrderLineItems lineItems = new OrderLineItems(1);
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            lineItems.add(String.format("%03d", i), i + 1);
+        }
+
+        // then
+        assertThat(lineItems.size()).isEqualTo(100);
+        assertThat(lineItems.indexOf("000")).isZero();
+        assertThat(lineItems.indexOf("099")).isEqualTo(99);
+        assertThat(lineItems.getQuantity(lineItems.indexOf("050"))).isEqualTo(51);
+        assertThat(lineItems.indexOf("100")).isEqualTo(-1);
+    }
+
+    @DisplayName("조회되지 않은 상품번호가 있으면 예외가 발생한다.")
+    @Test
+    void bindProductsWithMissingProduct() {
+        // given
+        OrderLineItems lineItems = OrderLineItems.of(List.of("001", "002"));
+
+        // when // then
+        assertThatThrownBy(() -> lineItems.bindProducts(List.of(createProduct("001", 1000))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("존재하지 않는 상품이 있습니다.");
+    }
+
+    @DisplayName("수량을 더한 값이 int 범위를 넘으면 예외가 발생한다.")
+    @Test
+    void addWithQuantityOverflow() {
+        // given
+        OrderLineItems lineItems = OrderLineItems.of(List.of("001"));
+
+        // when // then
+        assertThatThrownBy(() -> lineItems.add("001", Integer.MAX_VALUE))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("주문 수량이 너무 많습니다.");
+    }
+
+    @DisplayName("총 금액이 int 범위를 넘으면 상품을 붙일 때 예외가 발생한다.")
+    @Test
+    void bindProductsWithTotalPriceOverflow() {
+        // given
+        OrderLineItems lineItems = new OrderLineItems(1);
+        lineItems.add("001", 1_000_000);
+
+        // when // then
+        assertThatThrownBy(() -> lineItems.bindProducts(List.of(createProduct("001", 4000))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("주문 금액이 너무 큽니다.");
+    }
+
+    private Product createProduct(String productNumber, int price) {
+        return createProduct(productNumber, HANDMADE, price);
+    }
+
+    private Product createProduct(String productNumber, ProductType type, int price) {
+        return Product.builder()
+                .productNumber(productNumber)
+                .type(type)
+                .sellingStatus(SELLING)
+                .name("메뉴 이름")
+                .price(price)
+                .build();
+    }
+
+}
@@ -0,0 +1,80 @@
+package sample.cafekiosk.spring.domain.order;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+import static sample.cafekiosk.spring.domain.order.OrderStatus.*;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.*;
+
+@ActiveProfiles("test")
+@DataJpaTest
+class OrderRepositoryTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @DisplayName("기간 내 원하는 상태의 주문에서 상품별 판매 수량을 많이 팔린 순서로 조회한다.")
+    @Test
+    public void summarizeProductSalesBy() {
+        // given
+        Product product1 = createProduct("001", HANDMADE, 1000);
+        Product product2 = createProduct("002", BOTTLE, 2000);
+        Product product3 = createProduct("003", BAKERY, 3000);
+        productRepository.saveAll(List.of(product1, product2, product3));
+        orderRepository.saveAll(List.of(
+                createOrder(List.of(product1, product2, product2), PAYMENT_COMPLETED, LocalDateTime.of(2023, 3, 5, 9, 0)),
+                createOrder(List.of(product2, product3), PAYMENT_COMPLETED, LocalDateTime.of(2023, 3, 5, 10, 0)),
+                createOrder(List.of(product3, product3, product3), INIT, LocalDateTime.of(2023, 3, 5, 11, 0))
+        ));
+
+        // when
+        List<ProductSalesSummary> summaries = orderRepository.summarizeProductSalesBy(
+                LocalDateTime.of(2023, 3, 5, 0, 0),
+                LocalDateTime.of(2023, 3, 6, 0, 0),
+                PAYMENT_COMPLETED
+        );
+
+        // then
+        assertThat(summaries)
+                .extracting(ProductSalesSummary::getProductNumber, ProductSalesSummary::getType, ProductSalesSummary::getItemCount)
+                .containsExactly(
+                        tuple("002", BOTTLE, 3L),
+                        tuple("001", HANDMADE, 1L),
+                        tuple("003", BAKERY, 1L)
+                );
+    }
+
+    private Order createOrder(List<Product> products, OrderStatus orderStatus, LocalDateTime registeredDateTime) {
+        return Order.builder()
+                .products(products)
+                .orderStatus(orderStatus)
+                .registeredDateTime(registeredDateTime)
+                .build();
+    }
+
+    private Product createProduct(String productNumber, ProductType type, int price) {
+        return Product.builder()
+                .productNumber(productNumber)
+                .type(type)
+                .sellingStatus(SELLING)
+                .name("메뉴 이름")
+                .price(price)
+                .build();
+    }
+
+}
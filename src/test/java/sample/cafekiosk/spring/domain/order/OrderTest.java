@@ -9,6 +9,8 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
 import static org.junit.jupiter.api.Assertions.*;
 import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
 
@@ -30,6 +32,26 @@ class OrderTest {
         assertThat(order.getTotalPrice()).isEqualTo(3000);
     }
 
+    @DisplayName("주문 생성 시 같은 상품은 하나의 주문상품으로 합치고, 총 금액은 상품 가격과 수량으로 계산한다.")
+    @Test
+    public void collapseDuplicateProducts() {
+        // given
+        Product americano = createProduct("001", 1000);
+        Product latte = createProduct("002", 2000);
+
+        // when
+        Order order = Order.create(List.of(americano, latte, americano, americano), LocalDateTime.now());
+
+        // then
+        assertThat(order.getOrderProducts())
+                .extracting("product.productNumber", "quantity")
+                .containsExactly(
+                        tuple("001", 3),
+                        tuple("002", 1)
+                );
+        assertThat(order.getTotalPrice()).isEqualTo(5000);
+    }
+
     @DisplayName("주문 생성 시 주문 상태는 INIT 이다.")
     @Test
     public void init() {
@@ -63,6 +85,35 @@ class OrderTest {
         assertThat(order.getRegisteredDateTime()).isEqualTo(registeredDateTime);
     }
 
+    @DisplayName("주문생성 상태의 주문을 결제 완료 처리하면 결제완료 이벤트가 등록된다.")
+    @Test
+    public void completePayment() {
+        // given
+        LocalDateTime registeredDateTime = LocalDateTime.of(2023, 3, 5, 10, 30);
+        Order order = Order.create(List.of(createProduct("001", 1000)), registeredDateTime);
+
+        // when
+        order.completePayment();
+
+        // then
+        assertThat(order.getOrderStatus()).isEqualByComparingTo(OrderStatus.PAYMENT_COMPLETED);
+        assertThat(order.domainEvents())
+                .containsExactly(new OrderPaymentCompletedEvent(registeredDateTime, 1000));
+    }
+
+    @DisplayName("이미 결제완료된 주문은 다시 결제 완료 처리할 수 없다.")
+    @Test
+    public void completePaymentTwice() {
+        // given
+        Order order = Order.create(List.of(createProduct("001", 1000)), LocalDateTime.now());
+        order.completePayment();
+
+        // when // then
+        assertThatThrownBy(order::completePayment)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("주문생성 상태의 주문만 결제 완료 처리할 수 있습니다.");
+    }
+
     private Product createProduct(String productNumber, int price) {
         return Product.builder()
                 .type(ProductType.HANDMADE)
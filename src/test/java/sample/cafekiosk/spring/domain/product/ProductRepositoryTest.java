@@ -69,30 +69,34 @@ class ProductRepositoryTest {
                 );
     }
 
-    @DisplayName("가장 마지막으로 저장한 상품의 상품번호를 알아온다.")
+    @DisplayName("가장 큰 상품번호를 숫자로 읽어온다. 숫자가 아닌 상품번호는 건너뛴다.")
     @Test
-    public void getLatestProductNumber() {
+    public void getMaxProductNumber() {
         // given
-        Product product1 = createProduct("001", HANDMADE, SELLING, "아메리카노", 4000);
-        Product product2 = createProduct("002", HANDMADE, HOLD, "카페라떼", 4500);
-        Product targetProductNumber = createProduct("003", HANDMADE, STOP_SELLING, "팥빙수", 7000);
-        productRepository.saveAll(List.of(product1, product2, targetProductNumber));
+        productRepository.saveAll(List.of(
+                createProduct("009", HANDMADE, SELLING, "아메리카노", 4000),
+                createProduct("1000", HANDMADE, HOLD, "카페라떼", 4500),
+                createProduct("SEASON-01", HANDMADE, STOP_SELLING, "팥빙수", 7000)
+        ));
 
         // when
-        String latestProduct = productRepository.getLatestProductNumber();
+        Long maxProductNumber = productRepository.getMaxProductNumber();
 
         // then
-        assertThat(latestProduct).isEqualTo("003");
+        assertThat(maxProductNumber).isEqualTo(1000L);
     }
 
-    @DisplayName("가장 마지막으로 저장한 상품의 상품번호를 읽어올 때, 상품이 하나도 없는 경우에는 null 을 반환한다.")
+    @DisplayName("가장 큰 상품번호를 읽어올 때, 숫자로 된 상품번호가 하나도 없는 경우에는 null 을 반환한다.")
     @Test
-    public void getLatestProductNumberWhenProductIsEmpty() {
+    public void getMaxProductNumberWhenProductIsEmpty() {
+        // given
+        productRepository.save(createProduct("SEASON-01", HANDMADE, SELLING, "팥빙수", 7000));
+
         // when
-        String latestProduct = productRepository.getLatestProductNumber();
+        Long maxProductNumber = productRepository.getMaxProductNumber();
 
         // then
-        assertThat(latestProduct).isNull();
+        assertThat(maxProductNumber).isNull();
     }
 
     private static Product createProduct(String productNumber, ProductType type, ProductSellingStatus sellingStatus, String name, int price) {
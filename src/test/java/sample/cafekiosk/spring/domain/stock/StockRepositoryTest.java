@@ -1,5 +1,6 @@
 package sample.cafekiosk.spring.domain.stock;
 
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,6 +21,9 @@ class StockRepositoryTest {
     @Autowired
     private StockRepository stockRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     @DisplayName("상품번호 리스트로 재고를 조회한다.")
     @Test
     public void findAllByProductNumberIn() {
@@ -41,4 +45,40 @@ class StockRepositoryTest {
                 );
     }
 
-}
\ No newline at end of file
+    @DisplayName("재고가 충분하면 UPDATE 한 번으로 재고를 차감하고, 차감된 row 수를 반환한다.")
+    @Test
+    public void deductQuantityIfEnough() {
+        // given
+        Stock stock = Stock.create("001", 2);
+        stockRepository.save(stock);
+
+        // when
+        int deductedCount = stockRepository.deductQuantityIfEnough("001", 2);
+
+        // then
+        entityManager.clear();
+        assertThat(deductedCount).isEqualTo(1);
+        assertThat(stockRepository.findAllByProductNumberIn(List.of("001")))
+                .extracting("productNumber", "quantity")
+                .containsExactly(tuple("001", 0));
+    }
+
+    @DisplayName("재고가 부족하면 재고를 차감하지 않고 0 을 반환한다.")
+    @Test
+    public void deductQuantityIfEnoughWithNoStock() {
+        // given
+        Stock stock = Stock.create("001", 1);
+        stockRepository.save(stock);
+
+        // when
+        int deductedCount = stockRepository.deductQuantityIfEnough("001", 2);
+
+        // then
+        entityManager.clear();
+        assertThat(deductedCount).isZero();
+        assertThat(stockRepository.findAllByProductNumberIn(List.of("001")))
+                .extracting("productNumber", "quantity")
+                .containsExactly(tuple("001", 1));
+    }
+
+}
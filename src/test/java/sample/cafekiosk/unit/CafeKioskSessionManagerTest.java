@@ -0,0 +1,204 @@
+package sample.cafekiosk.unit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import sample.cafekiosk.unit.beverage.Americano;
+import sample.cafekiosk.unit.beverage.Latte;
+import sample.cafekiosk.unit.order.Order;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CafeKioskSessionManagerTest {
+
+    private static final LocalDateTime ORDER_DATE_TIME = LocalDateTime.of(2024, 3, 19, 10, 0);
+
+    private final Americano americano = new Americano();
+    private final Latte latte = new Latte();
+
+    @DisplayName("세션마다 장바구니가 따로 있어서 한 세션에 담은 음료는 다른 세션의 총 금액에 포함되지 않는다.")
+    @Test
+    public void addToSeparateSessions() {
+        // given
+        CafeKioskSessionManager sessionManager = new CafeKioskSessionManager(Duration.ofMinutes(10));
+
+        // when
+        sessionManager.add("terminal-1", americano, 2);
+        sessionManager.add("terminal-2", latte);
+
+        // then
+        assertThat(sessionManager.calculateTotalPrice("terminal-1")).isEqualTo(8000);
+        assertThat(sessionManager.calculateTotalPrice("terminal-2")).isEqualTo(4500);
+        assertThat(sessionManager.getSessionCount()).isEqualTo(2);
+    }
+
+    @DisplayName("주문은 그 시점 장바구니의 스냅샷이라서 주문 후에 장바구니를 바꿔도 주문의 음료는 바뀌지 않는다.")
+    @Test
+    public void createOrderTakesSnapshot() {
+        // given
+        CafeKioskSessionManager sessionManager = new CafeKioskSessionManager(Duration.ofMinutes(10));
+        sessionManager.add("terminal-1", americano);
+
+        // when
+        Order order = sessionManager.createOrder("terminal-1", ORDER_DATE_TIME);
+        sessionManager.add("terminal-1", latte);
+        sessionManager.remove("terminal-1", americano);
+
+        // then
+        assertThat(order.getBeverages()).containsExactly(americano);
+        assertThatThrownBy(() -> order.getBeverages().add(latte))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @DisplayName("마지막 사용 후 유지 시간이 지난 세션은 지워지고, 지워진 세션으로는 주문할 수 없다.")
+    @Test
+    public void evictExpiredSessions() {
+        // given
+        MutableClock clock = new MutableClock();
+        CafeKioskSessionManager sessionManager = new CafeKioskSessionManager(Duration.ofMinutes(10), clock);
+        sessionManager.add("terminal-1", americano);
+        sessionManager.add("terminal-2", latte);
+        clock.advance(Duration.ofMinutes(6));
+        sessionManager.add("terminal-2", latte);
+        clock.advance(Duration.ofMinutes(5));
+
+        // when
+        int evictedCount = sessionManager.evictExpiredSessions();
+
+        // then
+        assertThat(evictedCount).isEqualTo(1);
+        assertThat(sessionManager.getSessionCount()).isEqualTo(1);
+        assertThat(sessionManager.calculateTotalPrice("terminal-2")).isEqualTo(9000);
+        assertThatThrownBy(() -> sessionManager.createOrder("terminal-1", ORDER_DATE_TIME))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("존재하지 않거나 만료된 세션입니다.");
+    }
+
+    @DisplayName("만료된 세션에 다시 음료를 담으면 빈 장바구니에서 새로 시작한다.")
+    @Test
+    public void addToExpiredSession() {
+        // given
+        MutableClock clock = new MutableClock();
+        CafeKioskSessionManager sessionManager = new CafeKioskSessionManager(Duration.ofMinutes(10), clock);
+        sessionManager.add("terminal-1", americano, 3);
+        clock.advance(Duration.ofMinutes(10));
+
+        // when
+        sessionManager.add("terminal-1", latte);
+
+        // then
+        assertThat(sessionManager.calculateTotalPrice("terminal-1")).isEqualTo(4500);
+    }
+
+    @DisplayName("1000개 세션에서 동시에 음료를 담고 빼고 주문해도, 만료 정리가 함께 돌아도 세션마다 담은 그대로 주문된다.")
+    @Test
+    public void concurrentSessions() throws Exception {
+        // given
+        int sessionCount = 1000;
+        int tasksPerSession = 4;
+        CafeKioskSessionManager sessionManager = new CafeKioskSessionManager(Duration.ofMinutes(10));
+        ExecutorService executorService = Executors.newFixedThreadPool(32);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread sweeper = new Thread(() -> {
+            while (running.get()) {
+                sessionManager.evictExpiredSessions();
+            }
+        });
+
+        // when
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < sessionCount; i++) {
+            String sessionId = "terminal-" + i;
+            int americanoCount = i % 5 + 1;
+            for (int task = 0; task < tasksPerSession; task++) {
+                futures.add(executorService.submit(() -> {
+                    startLatch.await();
+                    sessionManager.add(sessionId, americano, americanoCount);
+                    sessionManager.add(sessionId, latte);
+                    sessionManager.add(sessionId, latte);
+                    sessionManager.remove(sessionId, latte);
+                    return sessionManager.calculateTotalPrice(sessionId);
+                }));
+            }
+        }
+        sweeper.start();
+        startLatch.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+
+        Map<String, Order> orders = new ConcurrentHashMap<>();
+        List<Future<?>> orderFutures = new ArrayList<>();
+        for (int i = 0; i < sessionCount; i++) {
+            String sessionId = "terminal-" + i;
+            orderFutures.add(executorService.submit(() -> orders.put(sessionId, sessionManager.createOrder(sessionId, ORDER_DATE_TIME))));
+        }
+        for (Future<?> future : orderFutures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        running.set(false);
+        sweeper.join();
+        executorService.shutdown();
+
+        // then
+        assertThat(sessionManager.getSessionCount()).isEqualTo(sessionCount);
+        assertThat(orders).hasSize(sessionCount);
+        for (int i = 0; i < sessionCount; i++) {
+            int americanoCount = (i % 5 + 1) * tasksPerSession;
+            Order order = orders.get("terminal-" + i);
+            assertThat(order.getBeverages()).hasSize(americanoCount + tasksPerSession);
+            assertThat(order.getBeverages().stream().filter(beverage -> beverage == latte)).hasSize(tasksPerSession);
+            assertThat(sessionManager.calculateTotalPrice("terminal-" + i))
+                    .isEqualTo(americanoCount * 4000 + tasksPerSession * 4500);
+        }
+    }
+
+    private static class MutableClock extends Clock {
+
+        private final AtomicLong millis = new AtomicLong(Instant.parse("2024-03-19T10:00:00Z").toEpochMilli());
+
+        private void advance(Duration duration) {
+            millis.addAndGet(duration.toMillis());
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis.get());
+        }
+
+        @Override
+        public long millis() {
+            return millis.get();
+        }
+    }
+
+}
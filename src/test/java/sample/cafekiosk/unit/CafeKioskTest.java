@@ -117,6 +117,42 @@ class CafeKioskTest {
         assertThat(cafeKiosk.getBeverages()).isEmpty();
     }
 
+    @DisplayName("같은 음료를 여러 잔 담고 한 잔을 빼면 잔 수와 총 금액이 한 잔만큼 줄어든다.")
+    @Test
+    public void removeOneOfSeveralBeverages() {
+        // given
+        CafeKiosk cafeKiosk = new CafeKiosk();
+        Americano americano = new Americano();
+        Latte latte = new Latte();
+        cafeKiosk.add(americano, 3);
+        cafeKiosk.add(latte);
+
+        // when
+        cafeKiosk.remove(americano);
+
+        // then
+        assertThat(cafeKiosk.getQuantity(americano)).isEqualTo(2);
+        assertThat(cafeKiosk.getBeverageCount()).isEqualTo(3);
+        assertThat(cafeKiosk.getBeverages()).containsExactly(americano, americano, latte);
+        assertThat(cafeKiosk.calculateTotalPrice()).isEqualTo(12500);
+    }
+
+    @DisplayName("담겨 있지 않은 음료를 빼면 장바구니는 그대로다.")
+    @Test
+    public void removeBeverageNotInCart() {
+        // given
+        CafeKiosk cafeKiosk = new CafeKiosk();
+        Americano americano = new Americano();
+        cafeKiosk.add(americano);
+
+        // when
+        cafeKiosk.remove(new Latte());
+
+        // then
+        assertThat(cafeKiosk.getBeverages()).containsExactly(americano);
+        assertThat(cafeKiosk.calculateTotalPrice()).isEqualTo(4000);
+    }
+
     @Test
     public void clear() {
         CafeKiosk cafeKiosk = new CafeKiosk();
@@ -129,6 +165,7 @@ class CafeKioskTest {
 
         cafeKiosk.clear();
         assertThat(cafeKiosk.getBeverages()).isEmpty();
+        assertThat(cafeKiosk.calculateTotalPrice()).isZero();
     }
 
     @DisplayName("주문 목록에 담긴 상품들의 총 금액을 계산할 수 있다.")